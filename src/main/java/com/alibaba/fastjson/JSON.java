@@ -15,9 +15,13 @@
  */
 package com.alibaba.fastjson;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.io.Writer;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
@@ -32,6 +36,7 @@ import java.util.*;
 import com.alibaba.fastjson.parser.DefaultJSONParser;
 import com.alibaba.fastjson.parser.Feature;
 import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
 import com.alibaba.fastjson.parser.JSONToken;
 import com.alibaba.fastjson.parser.ParserConfig;
 import com.alibaba.fastjson.parser.deserializer.ExtraProcessor;
@@ -39,8 +44,10 @@ import com.alibaba.fastjson.parser.deserializer.ExtraTypeProvider;
 import com.alibaba.fastjson.parser.deserializer.FieldTypeResolver;
 import com.alibaba.fastjson.parser.deserializer.ParseProcess;
 import com.alibaba.fastjson.serializer.*;
+import com.alibaba.fastjson.util.BufferPool;
 import com.alibaba.fastjson.util.IOUtils;
 import com.alibaba.fastjson.util.TypeUtils;
+import com.alibaba.fastjson.util.UTF8Writer;
 import sun.reflect.annotation.AnnotationType;
 
 /**
@@ -78,6 +85,12 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
     static final SerializeFilter[] emptyFilters         = new SerializeFilter[0];
 
     public static String           DEFFAULT_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    /**
+     * chars buffered by writeJSONString(Writer/OutputStream) before they are written to the stream
+     * @since 1.2.45
+     */
+    public static int              DEFAULT_FLUSH_THRESHOLD = 1024 * 8;
     //public static String           DEFFAULT_LOCAL_DATE_TIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS";
 
     public static int              DEFAULT_PARSER_FEATURE;
@@ -163,12 +176,20 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
     }
 
     public static Object parse(byte[] input, Feature... features) {
-        char[] chars = allocateChars(input.length);
-        int len = IOUtils.decodeUTF8(input, 0, input.length, chars);
-        if (len < 0) {
-            return null;
+        int featureValues = DEFAULT_PARSER_FEATURE;
+        for (Feature feature : features) {
+            featureValues = Feature.config(featureValues, feature, true);
         }
-        return parse(new String(chars, 0, len), features);
+
+        /** UTF-8字节直接扫描，不需要先解码成char[] */
+        DefaultJSONParser parser = new DefaultJSONParser(input, 0, input.length, ParserConfig.getGlobalInstance(), featureValues);
+        Object value = parser.parse();
+
+        parser.handleResovleTask(value);
+
+        parser.close();
+
+        return value;
     }
 
     public static Object parse(byte[] input, int off, int len, CharsetDecoder charsetDecoder, Feature... features) {
@@ -188,22 +209,26 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
         charsetDecoder.reset();
 
         int scaleLength = (int) (len * (double) charsetDecoder.maxCharsPerByte());
-        char[] chars = allocateChars(scaleLength);
-
-        ByteBuffer byteBuf = ByteBuffer.wrap(input, off, len);
-        CharBuffer charBuf = CharBuffer.wrap(chars);
-        IOUtils.decode(charsetDecoder, byteBuf, charBuf);
+        BufferPool pool = BufferPool.getDefault();
+        char[] chars = pool.allocChars(scaleLength);
+        try {
+            ByteBuffer byteBuf = ByteBuffer.wrap(input, off, len);
+            CharBuffer charBuf = CharBuffer.wrap(chars);
+            IOUtils.decode(charsetDecoder, byteBuf, charBuf);
 
-        int position = charBuf.position();
+            int position = charBuf.position();
 
-        DefaultJSONParser parser = new DefaultJSONParser(chars, position, ParserConfig.getGlobalInstance(), features);
-        Object value = parser.parse();
+            DefaultJSONParser parser = new DefaultJSONParser(chars, position, ParserConfig.getGlobalInstance(), features);
+            Object value = parser.parse();
 
-        parser.handleResovleTask(value);
+            parser.handleResovleTask(value);
 
-        parser.close();
+            parser.close();
 
-        return value;
+            return value;
+        } finally {
+            pool.freeChars(chars);
+        }
     }
 
     public static Object parse(String text, Feature... features) {
@@ -219,6 +244,111 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
         return (JSONObject) parse(text, features);
     }
 
+    /**
+     * Checks that the text is well-formed JSON without building anything, see {@link JSONValidator}.
+     *
+     * @since 1.2.45
+     */
+    public static boolean isValid(String text) {
+        if (text == null || text.length() == 0) {
+            return false;
+        }
+        return isValid(JSONValidator.from(text), null);
+    }
+
+    public static boolean isValid(char[] chars) {
+        if (chars == null || chars.length == 0) {
+            return false;
+        }
+        return isValid(JSONValidator.from(chars), null);
+    }
+
+    public static boolean isValid(byte[] utf8Bytes) {
+        if (utf8Bytes == null || utf8Bytes.length == 0) {
+            return false;
+        }
+        return isValid(JSONValidator.fromUtf8(utf8Bytes), null);
+    }
+
+    /**
+     * Reads the UTF-8 encoded stream to the end, the stream is not closed.
+     */
+    public static boolean isValid(InputStream is) {
+        if (is == null) {
+            return false;
+        }
+        return isValid(JSONValidator.fromUtf8(is), null);
+    }
+
+    public static boolean isValidObject(String text) {
+        if (text == null || text.length() == 0) {
+            return false;
+        }
+        return isValid(JSONValidator.from(text), JSONValidator.Type.Object);
+    }
+
+    public static boolean isValidObject(byte[] utf8Bytes) {
+        if (utf8Bytes == null || utf8Bytes.length == 0) {
+            return false;
+        }
+        return isValid(JSONValidator.fromUtf8(utf8Bytes), JSONValidator.Type.Object);
+    }
+
+    public static boolean isValidArray(String text) {
+        if (text == null || text.length() == 0) {
+            return false;
+        }
+        return isValid(JSONValidator.from(text), JSONValidator.Type.Array);
+    }
+
+    public static boolean isValidArray(byte[] utf8Bytes) {
+        if (utf8Bytes == null || utf8Bytes.length == 0) {
+            return false;
+        }
+        return isValid(JSONValidator.fromUtf8(utf8Bytes), JSONValidator.Type.Array);
+    }
+
+    private static boolean isValid(JSONValidator validator, JSONValidator.Type type) {
+        try {
+            return validator.validate() && (type == null || validator.getType() == type);
+        } finally {
+            validator.close();
+        }
+    }
+
+    /**
+     * Parses without building the tree up front. Objects and arrays come back as {@link JSONObject} and
+     * {@link JSONArray}, but their members are only located when first touched, and a nested object, string or number
+     * is created when it is read. The text is held until every member has been read. References ($ref) are not
+     * resolved and only the default parser features apply.
+     *
+     * @since 1.2.45
+     */
+    public static Object parseLazy(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        return JSONLazyParser.parse(text);
+    }
+
+    /**
+     * @see #parseLazy(String)
+     * @since 1.2.45
+     */
+    public static JSONObject parseLazyObject(String text) {
+        Object obj = parseLazy(text);
+        if (obj instanceof JSONObject) {
+            return (JSONObject) obj;
+        }
+
+        try {
+            return (JSONObject) JSON.toJSON(obj);
+        } catch (RuntimeException e) {
+            throw new JSONException("can not cast to JSONObject.", e);
+        }
+    }
+
     public static JSONObject parseObject(String text) {
         Object obj = parse(text);
         if (obj instanceof JSONObject) {
@@ -393,20 +523,27 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
             charset = IOUtils.UTF8;
         }
         
-        String strVal;
         if (charset == IOUtils.UTF8) {
-            char[] chars = allocateChars(bytes.length);
-            int chars_len = IOUtils.decodeUTF8(bytes, offset, len, chars);
-            if (chars_len < 0) {
-                return null;
-            }
-            strVal = new String(chars, 0, chars_len);
-        } else {
-            if (len < 0) {
-                return null;
+            int featureValues = DEFAULT_PARSER_FEATURE;
+            for (Feature feature : features) {
+                featureValues |= feature.mask;
             }
-            strVal = new String(bytes, offset, len, charset);
+
+            /** UTF-8字节直接扫描，不需要先解码成char[] */
+            DefaultJSONParser parser = new DefaultJSONParser(bytes, offset, len, ParserConfig.global, featureValues);
+            T value = (T) parser.parseObject(clazz, null);
+
+            parser.handleResovleTask(value);
+
+            parser.close();
+
+            return value;
         }
+
+        if (len < 0) {
+            return null;
+        }
+        String strVal = new String(bytes, offset, len, charset);
         return (T) parseObject(strVal, clazz, features);
     }
 
@@ -420,15 +557,19 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
         charsetDecoder.reset();
 
         int scaleLength = (int) (len * (double) charsetDecoder.maxCharsPerByte());
-        char[] chars = allocateChars(scaleLength);
-
-        ByteBuffer byteBuf = ByteBuffer.wrap(input, off, len);
-        CharBuffer charByte = CharBuffer.wrap(chars);
-        IOUtils.decode(charsetDecoder, byteBuf, charByte);
+        BufferPool pool = BufferPool.getDefault();
+        char[] chars = pool.allocChars(scaleLength);
+        try {
+            ByteBuffer byteBuf = ByteBuffer.wrap(input, off, len);
+            CharBuffer charByte = CharBuffer.wrap(chars);
+            IOUtils.decode(charsetDecoder, byteBuf, charByte);
 
-        int position = charByte.position();
+            int position = charByte.position();
 
-        return (T) parseObject(chars, position, clazz, features);
+            return (T) parseObject(chars, position, clazz, features);
+        } finally {
+            pool.freeChars(chars);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -474,22 +615,49 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
             charset = IOUtils.UTF8;
         }
         
-        byte[] bytes = allocateBytes(1024 * 64);
-        int offset = 0;
-        for (;;) {
-            int readCount = is.read(bytes, offset, bytes.length - offset);
-            if (readCount == -1) {
-                break;
+        BufferPool pool = BufferPool.getDefault();
+        byte[] bytes = pool.allocBytes(1024 * 64);
+        try {
+            int offset = 0;
+            for (;;) {
+                int readCount = is.read(bytes, offset, bytes.length - offset);
+                if (readCount == -1) {
+                    /** 小于缓冲区的输入直接按字节解析 */
+                    return (T) parseObject(bytes, 0, offset, charset, type, features);
+                }
+                offset += readCount;
+                if (offset == bytes.length) {
+                    break;
+                }
             }
-            offset += readCount;
-            if (offset == bytes.length) {
-                byte[] newBytes = new byte[bytes.length * 3 / 2];
-                System.arraycopy(bytes, 0, newBytes, 0, bytes.length);
-                bytes = newBytes;
+
+            /**
+             * 大输入不再整体读入内存，已读取的部分和剩余的流一起，通过固定大小的缓冲区边解码边解析，
+             * 调用方负责关闭输入流
+             */
+            InputStream rest = new FilterInputStream(is) {
+                public void close() {
+                }
+            };
+            InputStream in = new SequenceInputStream(new ByteArrayInputStream(bytes, 0, offset), rest);
+
+            int featureValues = DEFAULT_PARSER_FEATURE;
+            for (Feature feature : features) {
+                featureValues |= feature.mask;
             }
+
+            JSONReaderScanner lexer = new JSONReaderScanner(new InputStreamReader(in, charset), featureValues);
+            DefaultJSONParser parser = new DefaultJSONParser(lexer, ParserConfig.global);
+            T value = (T) parser.parseObject(type, null);
+
+            parser.handleResovleTask(value);
+
+            parser.close();
+
+            return value;
+        } finally {
+            pool.freeBytes(bytes);
         }
-        
-        return (T) parseObject(bytes, 0, offset, charset, type, features);
     }
 
     public static <T> T parseObject(String text, Class<T> clazz) {
@@ -790,7 +958,7 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
      * @since 1.2.11 
      */
     public static void writeJSONString(Writer writer, Object object, int defaultFeatures, SerializerFeature... features) {
-        SerializeWriter out = new SerializeWriter(writer, defaultFeatures, features);
+        SerializeWriter out = new SerializeWriter(writer, DEFAULT_FLUSH_THRESHOLD, defaultFeatures, features);
 
         try {
             JSONSerializer serializer = new JSONSerializer(out);
@@ -853,7 +1021,13 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
                                              String dateFormat, //
                                              int defaultFeatures, //
                                              SerializerFeature... features) throws IOException {
-        SerializeWriter writer = new SerializeWriter(null, defaultFeatures, features);
+        /** UTF-8按DEFAULT_FLUSH_THRESHOLD分段编码写到流中，其它编码先序列化到内存 */
+        UTF8Writer utf8Writer = charset == IOUtils.UTF8 || "UTF-8".equals(charset.name()) //
+            ? new UTF8Writer(os) //
+            : null;
+        SerializeWriter writer = utf8Writer != null //
+            ? new SerializeWriter(utf8Writer, DEFAULT_FLUSH_THRESHOLD, defaultFeatures, features) //
+            : new SerializeWriter(null, defaultFeatures, features);
 
         try {
             JSONSerializer serializer = new JSONSerializer(writer, config);
@@ -870,7 +1044,12 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
             }
             
             serializer.write(object);
-            
+
+            if (utf8Writer != null) {
+                writer.flush();
+                return (int) utf8Writer.getSize();
+            }
+
             int len = writer.writeToEx(os, charset);
             return len;
         } finally {
@@ -1046,42 +1225,6 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
         return TypeUtils.cast(this, type, ParserConfig.getGlobalInstance());
     }
     
-    private final static ThreadLocal<byte[]> bytesLocal = new ThreadLocal<byte[]>();
-    private static byte[] allocateBytes(int length) {
-        byte[] chars = bytesLocal.get();
-
-        if (chars == null) {
-            if (length <= 1024 * 64) {
-                chars = new byte[1024 * 64];
-                bytesLocal.set(chars);
-            } else {
-                chars = new byte[length];
-            }
-        } else if (chars.length < length) {
-            chars = new byte[length];
-        }
-
-        return chars;
-    }
-    
-    private final static ThreadLocal<char[]> charsLocal = new ThreadLocal<char[]>();
-    private static char[] allocateChars(int length) {
-        char[] chars = charsLocal.get();
-
-        if (chars == null) {
-            if (length <= 1024 * 64) {
-                chars = new char[1024 * 64];
-                charsLocal.set(chars);
-            } else {
-                chars = new char[length];
-            }
-        } else if (chars.length < length) {
-            chars = new char[length];
-        }
-
-        return chars;
-    }
-
     public static <T> void handleResovleTask(DefaultJSONParser parser, T value) {
         parser.handleResovleTask(value);
     }
@@ -0,0 +1,337 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.ParserConfig;
+
+/**
+ * Non-blocking parser for UTF-8 input that arrives in chunks, e.g. from NIO channels. Bytes are pushed in with
+ * {@link #feed(ByteBuffer)}; every top-level value that becomes complete is parsed right away and can be taken with
+ * {@link #next()}. Several top-level values may follow each other, separated by whitespace (newline delimited JSON).
+ *
+ * <pre>
+ * JSONFeedParser parser = new JSONFeedParser(Order.class);
+ * while (channel.read(buffer) != -1) {
+ *     buffer.flip();
+ *     parser.feed(buffer);
+ *     buffer.clear();
+ *     while (parser.hasNext()) {
+ *         handle((Order) parser.next());
+ *     }
+ * }
+ * parser.finish();
+ * </pre>
+ *
+ * This is a value framer, not a resumable tokenizer: the bytes are only scanned for brackets, quotes and comments to
+ * find where each top-level value ends, and the complete value is then parsed in one go by {@link DefaultJSONParser}.
+ * No tokens are handed out before a value is complete. Only the bytes of the value that is still incomplete are kept
+ * between calls; a top-level value is buffered whole until it is complete, so a single very large value is held in
+ * memory like with {@link JSON#parse(byte[], Feature...)}. A value that fails to parse throws from the call that
+ * completed it and is dropped, feeding can go on with the next value. <code>//</code> and <code>/* *&#47;</code>
+ * comments are skipped, inside values and between them. Instances are not thread safe.
+ *
+ * @since 1.2.45
+ */
+public class JSONFeedParser {
+
+    private final static int     STATE_IDLE      = 0;
+    private final static int     STATE_CONTAINER = 1;
+    private final static int     STATE_STRING    = 2;
+    private final static int     STATE_SCALAR    = 3;
+    /** 读到了'/'，还不知道是哪种注释 */
+    private final static int     STATE_SLASH     = 4;
+    private final static int     STATE_LINE_COMMENT  = 5;
+    private final static int     STATE_BLOCK_COMMENT = 6;
+
+    private final Type           type;
+    private final ParserConfig   config;
+    private final int            featureValues;
+
+    private final LinkedList<Object> values   = new LinkedList<Object>();
+
+    private byte[]               buf          = new byte[1024 * 8];
+    private int                  count;
+
+    /** 下一个待检查的字节位置 */
+    private int                  pos;
+    /** 当前未完成值的起始位置 */
+    private int                  start;
+
+    private int                  state        = STATE_IDLE;
+    private int                  depth;
+    private byte                 quote;
+    private boolean              escape;
+    /** 当前字符串是否在对象或数组内部 */
+    private boolean              containerString;
+    /** 注释结束后回到的状态，STATE_IDLE或STATE_CONTAINER */
+    private int                  commentState;
+    /** 块注释中上一个字节是'*' */
+    private boolean              star;
+
+    public JSONFeedParser(){
+        this(null, ParserConfig.getGlobalInstance());
+    }
+
+    public JSONFeedParser(Type type, Feature... features){
+        this(type, ParserConfig.getGlobalInstance(), features);
+    }
+
+    public JSONFeedParser(Type type, ParserConfig config, Feature... features){
+        this.type = type;
+        this.config = config;
+
+        int featureValues = JSON.DEFAULT_PARSER_FEATURE;
+        for (Feature feature : features) {
+            featureValues |= feature.mask;
+        }
+        this.featureValues = featureValues;
+    }
+
+    /**
+     * Consumes all remaining bytes of the buffer.
+     */
+    public void feed(ByteBuffer buffer) {
+        int len = buffer.remaining();
+        ensureCapacity(len);
+
+        buffer.get(buf, count, len);
+        count += len;
+
+        scan();
+    }
+
+    public void feed(byte[] bytes, int off, int len) {
+        ensureCapacity(len);
+
+        System.arraycopy(bytes, off, buf, count, len);
+        count += len;
+
+        scan();
+    }
+
+    /**
+     * Signals the end of input. A trailing top-level number or literal becomes complete here.
+     *
+     * @throws JSONException if the input stops inside a value
+     */
+    public void finish() {
+        // 之前解析出错时剩下没扫描的字节
+        scan();
+
+        if (state == STATE_LINE_COMMENT && commentState == STATE_IDLE) {
+            // 最后一行是注释，没有换行
+            state = STATE_IDLE;
+            compact();
+        } else if (state == STATE_SCALAR) {
+            try {
+                complete(count);
+            } finally {
+                compact();
+            }
+        } else if (state != STATE_IDLE) {
+            throw new JSONException("unexpected end of input, unclosed value at offset " + start);
+        }
+    }
+
+    /**
+     * @return true when a complete top-level value is ready
+     */
+    public boolean hasNext() {
+        return !values.isEmpty();
+    }
+
+    /**
+     * @return the next complete top-level value, parsed to the type given at construction
+     */
+    public Object next() {
+        if (values.isEmpty()) {
+            throw new JSONException("no complete value, feed more input");
+        }
+        return values.removeFirst();
+    }
+
+    /**
+     * @return number of bytes held for the value that is not complete yet
+     */
+    public int pending() {
+        return count - start;
+    }
+
+    private void scan() {
+        try {
+            scan(buf, pos);
+        } finally {
+            compact();
+        }
+    }
+
+    private void scan(final byte[] buf, int i) {
+        for (; i < count; ++i) {
+            byte b = buf[i];
+
+            switch (state) {
+                case STATE_IDLE:
+                    // 值之间的空白，以及流开头的UTF-8 BOM
+                    if (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == '\b'
+                        || b == (byte) 0xEF || b == (byte) 0xBB || b == (byte) 0xBF) {
+                        break;
+                    }
+
+                    start = i;
+                    if (b == '/') {
+                        state = STATE_SLASH;
+                        commentState = STATE_IDLE;
+                    } else if (b == '{' || b == '[') {
+                        state = STATE_CONTAINER;
+                        depth = 1;
+                    } else if (b == '"' || b == '\'') {
+                        state = STATE_STRING;
+                        quote = b;
+                        containerString = false;
+                    } else {
+                        state = STATE_SCALAR;
+                    }
+                    break;
+                case STATE_CONTAINER:
+                    if (b == '"' || b == '\'') {
+                        state = STATE_STRING;
+                        quote = b;
+                        containerString = true;
+                    } else if (b == '/') {
+                        state = STATE_SLASH;
+                        commentState = STATE_CONTAINER;
+                    } else if (b == '{' || b == '[') {
+                        depth++;
+                    } else if (b == '}' || b == ']') {
+                        if (--depth == 0) {
+                            complete(i + 1);
+                        }
+                    }
+                    break;
+                case STATE_STRING:
+                    if (escape) {
+                        escape = false;
+                    } else if (b == '\\') {
+                        escape = true;
+                    } else if (b == quote) {
+                        if (containerString) {
+                            state = STATE_CONTAINER;
+                        } else {
+                            complete(i + 1);
+                        }
+                    }
+                    break;
+                case STATE_SLASH:
+                    if (b == '/') {
+                        state = STATE_LINE_COMMENT;
+                    } else if (b == '*') {
+                        state = STATE_BLOCK_COMMENT;
+                        star = false;
+                    } else {
+                        // 不是注释，当作值的一部分交给解析器报错
+                        state = commentState == STATE_IDLE ? STATE_SCALAR : commentState;
+                        --i;
+                    }
+                    break;
+                case STATE_LINE_COMMENT:
+                    if (b == '\n') {
+                        state = commentState;
+                    }
+                    break;
+                case STATE_BLOCK_COMMENT:
+                    if (star && b == '/') {
+                        state = commentState;
+                    } else {
+                        star = b == '*';
+                    }
+                    break;
+                default: // STATE_SCALAR
+                    if (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == '\b') {
+                        complete(i);
+                    } else if (b == '{' || b == '[' || b == '"' || b == '\'' || b == '/') {
+                        complete(i);
+                        --i; // 重新处理，作为下一个值的开始
+                    }
+                    break;
+            }
+        }
+
+        pos = i;
+    }
+
+    private void complete(int end) {
+        int off = start;
+
+        // 先越过这个值，解析出错时不会在下次反复解析它
+        state = STATE_IDLE;
+        start = end;
+        pos = end;
+
+        DefaultJSONParser parser = new DefaultJSONParser(buf, off, end - off, config, featureValues);
+
+        Object value;
+        if (type == null) {
+            value = parser.parse();
+        } else {
+            value = parser.parseObject(type, null);
+        }
+        parser.handleResovleTask(value);
+        parser.close();
+
+        values.add(value);
+    }
+
+    /**
+     * 丢弃已经解析过的字节，只保留未完成的值
+     */
+    private void compact() {
+        if (state == STATE_IDLE) {
+            start = pos;
+        }
+
+        if (start == 0) {
+            return;
+        }
+
+        int rest = count - start;
+        if (rest > 0) {
+            System.arraycopy(buf, start, buf, 0, rest);
+        }
+        count = rest;
+        pos -= start;
+        start = 0;
+    }
+
+    private void ensureCapacity(int len) {
+        int minCapacity = count + len;
+        if (minCapacity > buf.length) {
+            int newCapacity = buf.length + (buf.length >> 1);
+            if (newCapacity < minCapacity) {
+                newCapacity = minCapacity;
+            }
+
+            byte[] newBuf = new byte[newCapacity];
+            System.arraycopy(buf, 0, newBuf, 0, count);
+            buf = newBuf;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.RandomAccess;
+
+import com.alibaba.fastjson.JSONLazyParser.Slice;
+import com.alibaba.fastjson.parser.JSONStructuralIndex;
+
+/**
+ * Inner list of a lazily parsed {@link JSONArray}. Elements are located in the index on first use and materialized
+ * when they are read. The index is released once every element has been materialized.
+ *
+ * @since 1.2.45
+ */
+final class JSONLazyList extends AbstractList<Object> implements RandomAccess, Serializable {
+
+    private static final long       serialVersionUID = 1L;
+
+    private final ArrayList<Object> list             = new ArrayList<Object>();
+
+    private transient JSONStructuralIndex index;
+    private transient int                 entry;
+    private transient boolean             scanned;
+    /** 还没有解析的元素的个数 */
+    private transient int                 pending;
+
+    JSONLazyList(JSONStructuralIndex index, int entry){
+        this.index = index;
+        this.entry = entry;
+    }
+
+    private void scan() {
+        if (scanned) {
+            return;
+        }
+        scanned = true;
+
+        final JSONStructuralIndex index = this.index;
+        int e = entry + 1;
+        while (index.kind(e) != ']') {
+            char ch = index.kind(e);
+            if (ch == '}' || ch == ':' || ch == ',') {
+                throw new JSONException("syntax error, unexpected '" + ch + "', pos " + index.position(e));
+            }
+            list.add(new Slice(e));
+            pending++;
+
+            e = index.next(e);
+            ch = index.kind(e);
+            if (ch == ',') {
+                ++e;
+            } else if (ch != ']') {
+                throw new JSONException("syntax error, expect ',' or ']', pos " + index.position(e));
+            }
+        }
+
+        if (pending == 0) {
+            this.index = null;
+        }
+    }
+
+    private Object resolve(int i, Object value) {
+        if (!(value instanceof Slice)) {
+            return value;
+        }
+
+        Object resolved = JSONLazyParser.resolve(index, ((Slice) value).entry);
+        list.set(i, resolved);
+
+        if (--pending == 0) {
+            index = null;
+        }
+        return resolved;
+    }
+
+    public Object get(int index) {
+        scan();
+        return resolve(index, list.get(index));
+    }
+
+    public int size() {
+        scan();
+        return list.size();
+    }
+
+    public Object set(int index, Object element) {
+        Object old = get(index);
+        list.set(index, element);
+        return old;
+    }
+
+    public void add(int index, Object element) {
+        scan();
+        modCount++;
+        list.add(index, element);
+    }
+
+    public Object remove(int index) {
+        Object old = get(index);
+        modCount++;
+        list.remove(index);
+        return old;
+    }
+
+    private Object writeReplace() {
+        return new ArrayList<Object>(this);
+    }
+}
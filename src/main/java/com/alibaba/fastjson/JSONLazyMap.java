@@ -0,0 +1,213 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.alibaba.fastjson.JSONLazyParser.Slice;
+import com.alibaba.fastjson.parser.JSONStructuralIndex;
+
+/**
+ * Inner map of a lazily parsed {@link JSONObject}. Member names are read from the index on first use, values stay as
+ * index entries until they are read. The index is released once every value has been materialized.
+ *
+ * @since 1.2.45
+ */
+final class JSONLazyMap implements Map<String, Object>, Serializable {
+
+    private static final long                   serialVersionUID = 1L;
+
+    private final LinkedHashMap<String, Object> map              = new LinkedHashMap<String, Object>();
+
+    private transient JSONStructuralIndex       index;
+    private transient int                       entry;
+    private transient boolean                   scanned;
+    /** 还没有解析的值的个数 */
+    private transient int                       pending;
+
+    JSONLazyMap(JSONStructuralIndex index, int entry){
+        this.index = index;
+        this.entry = entry;
+    }
+
+    private void scan() {
+        if (scanned) {
+            return;
+        }
+        scanned = true;
+
+        final JSONStructuralIndex index = this.index;
+        int e = entry + 1;
+        while (index.kind(e) != '}') {
+            String key = index.key(e);
+            if (index.kind(e + 1) != ':') {
+                throw new JSONException("syntax error, expect ':', pos " + index.position(e + 1));
+            }
+
+            int valueEntry = e + 2;
+            char ch = index.kind(valueEntry);
+            if (ch == '}' || ch == ']' || ch == ':' || ch == ',') {
+                throw new JSONException("syntax error, unexpected '" + ch + "', pos " + index.position(valueEntry));
+            }
+            if (map.put(key, new Slice(valueEntry)) == null) {
+                pending++;
+            }
+
+            e = index.next(valueEntry);
+            ch = index.kind(e);
+            if (ch == ',') {
+                ++e;
+            } else if (ch != '}') {
+                throw new JSONException("syntax error, expect ',' or '}', pos " + index.position(e));
+            }
+        }
+
+        if (pending == 0) {
+            this.index = null;
+        }
+    }
+
+    private Object resolve(Object key, Object value) {
+        if (!(value instanceof Slice)) {
+            return value;
+        }
+
+        Object resolved = JSONLazyParser.resolve(index, ((Slice) value).entry);
+        map.put((String) key, resolved);
+
+        if (--pending == 0) {
+            index = null;
+        }
+        return resolved;
+    }
+
+    private void resolveAll() {
+        scan();
+        if (pending == 0) {
+            return;
+        }
+
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Slice) {
+                entry.setValue(JSONLazyParser.resolve(index, ((Slice) value).entry));
+            }
+        }
+        pending = 0;
+        index = null;
+    }
+
+    public int size() {
+        scan();
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        scan();
+        return map.isEmpty();
+    }
+
+    public boolean containsKey(Object key) {
+        scan();
+        return map.containsKey(key);
+    }
+
+    public boolean containsValue(Object value) {
+        resolveAll();
+        return map.containsValue(value);
+    }
+
+    public Object get(Object key) {
+        scan();
+        return resolve(key, map.get(key));
+    }
+
+    public Object put(String key, Object value) {
+        scan();
+        Object old = map.put(key, value);
+        if (old instanceof Slice) {
+            old = JSONLazyParser.resolve(index, ((Slice) old).entry);
+            if (--pending == 0) {
+                index = null;
+            }
+        }
+        return old;
+    }
+
+    public Object remove(Object key) {
+        scan();
+        Object old = map.remove(key);
+        if (old instanceof Slice) {
+            old = JSONLazyParser.resolve(index, ((Slice) old).entry);
+            if (--pending == 0) {
+                index = null;
+            }
+        }
+        return old;
+    }
+
+    public void putAll(Map<? extends String, ? extends Object> m) {
+        for (Map.Entry<? extends String, ? extends Object> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void clear() {
+        map.clear();
+        scanned = true;
+        pending = 0;
+        index = null;
+    }
+
+    public Set<String> keySet() {
+        resolveAll();
+        return map.keySet();
+    }
+
+    public Collection<Object> values() {
+        resolveAll();
+        return map.values();
+    }
+
+    public Set<Map.Entry<String, Object>> entrySet() {
+        resolveAll();
+        return map.entrySet();
+    }
+
+    public boolean equals(Object obj) {
+        resolveAll();
+        return map.equals(obj);
+    }
+
+    public int hashCode() {
+        resolveAll();
+        return map.hashCode();
+    }
+
+    public String toString() {
+        resolveAll();
+        return map.toString();
+    }
+
+    private Object writeReplace() {
+        resolveAll();
+        return map;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson;
+
+import com.alibaba.fastjson.parser.JSONStructuralIndex;
+
+/**
+ * Glue between {@link JSON#parseLazy(String)} and {@link JSONStructuralIndex}. The whole text is indexed up front,
+ * members are located by walking the index; nothing is built until a value is resolved.
+ *
+ * @since 1.2.45
+ */
+final class JSONLazyParser {
+
+    /**
+     * Index entry of a value that has not been materialized yet.
+     */
+    static final class Slice {
+
+        final int entry;
+
+        Slice(int entry){
+            this.entry = entry;
+        }
+    }
+
+    private JSONLazyParser(){
+    }
+
+    static Object parse(String text) {
+        JSONStructuralIndex index = new JSONStructuralIndex(text);
+        if (index.size() == 0) {
+            return null;
+        }
+
+        char ch = index.kind(0);
+        if (ch != '{' && ch != '[') {
+            return index.parse();
+        }
+
+        int next = index.next(0);
+        if (next != index.size()) {
+            throw new JSONException("syntax error, not close json text, pos " + index.position(next));
+        }
+        return resolve(index, 0);
+    }
+
+    static Object resolve(JSONStructuralIndex index, int entry) {
+        switch (index.kind(entry)) {
+            case '{':
+                return new JSONObject(new JSONLazyMap(index, entry));
+            case '[':
+                return new JSONArray(new JSONLazyList(index, entry));
+            default:
+                return index.parseValue(entry);
+        }
+    }
+}
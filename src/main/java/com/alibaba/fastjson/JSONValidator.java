@@ -0,0 +1,228 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONLexerBase;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.JSONUTF8Scanner;
+import com.alibaba.fastjson.util.IOUtils;
+
+/**
+ * Checks that the input is well-formed JSON by running the lexer over it. No values are created, no member names are
+ * interned and no parse context is kept; only the nesting of objects and arrays is tracked.
+ * <p>
+ * The lexer runs in strict mode, so numbers and strings must follow the JSON grammar: no '+' sign, leading zeros,
+ * type suffixes (<code>1L</code>) or empty fraction and exponent parts, only the escapes defined by JSON, and no raw
+ * control characters inside strings. Single quotes, trailing commas and the <code>new Date()</code> style extensions
+ * are rejected as well; comments are skipped. All inputs (String, char[], UTF-8 bytes and streams) are held to the
+ * same rules.
+ *
+ * <pre>
+ * JSONValidator validator = JSONValidator.from(text);
+ * if (!validator.validate()) {
+ *     log.warn("bad json at " + validator.getErrorOffset());
+ * }
+ * </pre>
+ *
+ * @since 1.2.45
+ */
+public class JSONValidator implements Closeable {
+
+    public enum Type {
+        Object, Array, Value
+    }
+
+    private final JSONLexer lexer;
+
+    private Boolean         valid;
+    private Type            type;
+    private int             errorOffset = -1;
+
+    /** 每一层是否是对象，true为对象，false为数组 */
+    private boolean[]       stack       = new boolean[16];
+    private int             depth;
+
+    protected JSONValidator(JSONLexer lexer){
+        this.lexer = lexer;
+
+        if (lexer instanceof JSONLexerBase) {
+            ((JSONLexerBase) lexer).setStrict(true);
+        }
+    }
+
+    public static JSONValidator from(String text) {
+        return new JSONValidator(new JSONScanner(text, 0));
+    }
+
+    public static JSONValidator from(char[] chars) {
+        return new JSONValidator(new JSONScanner(chars, chars.length, 0));
+    }
+
+    public static JSONValidator fromUtf8(byte[] bytes) {
+        return fromUtf8(bytes, 0, bytes.length);
+    }
+
+    public static JSONValidator fromUtf8(byte[] bytes, int offset, int length) {
+        return new JSONValidator(new JSONUTF8Scanner(bytes, offset, length, 0));
+    }
+
+    /**
+     * The stream is read through a fixed size buffer and is not closed.
+     */
+    public static JSONValidator fromUtf8(InputStream is) {
+        InputStream in = new FilterInputStream(is) {
+            public void close() {
+            }
+        };
+        return new JSONValidator(new JSONReaderScanner(new InputStreamReader(in, IOUtils.UTF8), 0));
+    }
+
+    public boolean validate() {
+        if (valid != null) {
+            return valid.booleanValue();
+        }
+
+        try {
+            valid = Boolean.valueOf(validateInternal());
+        } catch (JSONException ex) {
+            valid = Boolean.FALSE;
+        } catch (NumberFormatException ex) {
+            valid = Boolean.FALSE;
+        }
+
+        if (!valid.booleanValue()) {
+            errorOffset = lexer.pos();
+        }
+        return valid.booleanValue();
+    }
+
+    /**
+     * @return type of the root value, null if the input was not validated or is not valid
+     */
+    public Type getType() {
+        return valid == Boolean.TRUE ? type : null;
+    }
+
+    /**
+     * @return offset of the token where validation failed, -1 if the input is valid
+     */
+    public int getErrorOffset() {
+        return errorOffset;
+    }
+
+    private boolean validateInternal() {
+        final JSONLexer lexer = this.lexer;
+
+        lexer.nextToken();
+        switch (lexer.token()) {
+            case JSONToken.LBRACE:
+                type = Type.Object;
+                break;
+            case JSONToken.LBRACKET:
+                type = Type.Array;
+                break;
+            default:
+                type = Type.Value;
+                break;
+        }
+
+        for (;;) {
+            // 读一个值，结束后token是值后面的token
+            switch (lexer.token()) {
+                case JSONToken.LBRACE:
+                    lexer.nextToken();
+                    if (lexer.token() == JSONToken.RBRACE) {
+                        lexer.nextToken();
+                        break;
+                    }
+                    push(true);
+                    if (!readName()) {
+                        return false;
+                    }
+                    continue;
+                case JSONToken.LBRACKET:
+                    lexer.nextToken();
+                    if (lexer.token() == JSONToken.RBRACKET) {
+                        lexer.nextToken();
+                        break;
+                    }
+                    push(false);
+                    continue;
+                case JSONToken.LITERAL_STRING:
+                case JSONToken.LITERAL_INT:
+                case JSONToken.LITERAL_FLOAT:
+                case JSONToken.TRUE:
+                case JSONToken.FALSE:
+                case JSONToken.NULL:
+                    lexer.nextToken();
+                    break;
+                default:
+                    return false;
+            }
+
+            // 值后面只能是逗号或者所在容器的结束符
+            for (;;) {
+                if (depth == 0) {
+                    return lexer.token() == JSONToken.EOF;
+                }
+
+                boolean object = stack[depth - 1];
+                int token = lexer.token();
+                if (token == JSONToken.COMMA) {
+                    lexer.nextToken();
+                    if (object && !readName()) {
+                        return false;
+                    }
+                    break;
+                }
+                if (token != (object ? JSONToken.RBRACE : JSONToken.RBRACKET)) {
+                    return false;
+                }
+                depth--;
+                lexer.nextToken();
+            }
+        }
+    }
+
+    private boolean readName() {
+        if (lexer.token() != JSONToken.LITERAL_STRING) {
+            return false;
+        }
+        lexer.nextTokenWithColon();
+        return true;
+    }
+
+    private void push(boolean object) {
+        if (depth == stack.length) {
+            boolean[] newStack = new boolean[depth << 1];
+            System.arraycopy(stack, 0, newStack, 0, depth);
+            stack = newStack;
+        }
+        stack[depth++] = object;
+    }
+
+    public void close() {
+        lexer.close();
+    }
+}
@@ -5,10 +5,9 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import com.alibaba.fastjson.util.ParameterizedTypeImpl;
+import com.alibaba.fastjson.util.TypeInterner;
 import com.alibaba.fastjson.util.TypeUtils;
 
 /** 
@@ -27,8 +26,6 @@ import com.alibaba.fastjson.util.TypeUtils;
  * parameters, such as {@code Class<?>} or {@code List<? extends CharSequence>}.
  */
 public class TypeReference<T> {
-    static ConcurrentMap<Type, Type> classTypeCache
-            = new ConcurrentHashMap<Type, Type>(16, 0.75f, 1);
 
     protected final Type type;
 
@@ -45,13 +42,8 @@ public class TypeReference<T> {
 
         Type type = ((ParameterizedType) superClass).getActualTypeArguments()[0];
 
-        Type cachedType = classTypeCache.get(type);
-        if (cachedType == null) {
-            classTypeCache.putIfAbsent(type, type);
-            cachedType = classTypeCache.get(type);
-        }
-
-        this.type = cachedType;
+        /** 同样的泛型类型共用一个实例，ParserConfig里缓存的反序列化器才能命中 */
+        this.type = TypeInterner.intern(type);
     }
 
     /**
@@ -79,14 +71,7 @@ public class TypeReference<T> {
             }
         }
 
-        Type key = new ParameterizedTypeImpl(argTypes, thisClass, rawType);
-        Type cachedType = classTypeCache.get(key);
-        if (cachedType == null) {
-            classTypeCache.putIfAbsent(key, key);
-            cachedType = classTypeCache.get(key);
-        }
-
-        type = cachedType;
+        type = TypeInterner.intern(new ParameterizedTypeImpl(argTypes, thisClass, rawType));
 
     }
     
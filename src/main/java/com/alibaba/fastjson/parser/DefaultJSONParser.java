@@ -32,6 +32,7 @@ import java.util.*;
 import com.alibaba.fastjson.*;
 import com.alibaba.fastjson.parser.deserializer.*;
 import com.alibaba.fastjson.serializer.*;
+import com.alibaba.fastjson.util.IOUtils;
 import com.alibaba.fastjson.util.TypeUtils;
 
 /**
@@ -137,6 +138,13 @@ public class DefaultJSONParser implements Closeable {
         this(input, new JSONScanner(input, length, features), config);
     }
 
+    /**
+     * @since 1.2.45
+     */
+    public DefaultJSONParser(final byte[] input, int offset, int length, final ParserConfig config, int features){
+        this(input, new JSONUTF8Scanner(input, offset, length, features), config);
+    }
+
     public DefaultJSONParser(final JSONLexer lexer){
         this(lexer, ParserConfig.getGlobalInstance());
     }
@@ -171,6 +179,9 @@ public class DefaultJSONParser implements Closeable {
         if (input instanceof char[]) {
             return new String((char[]) input);
         }
+        if (input instanceof byte[]) {
+            return new String((byte[]) input, IOUtils.UTF8);
+        }
         return input.toString();
     }
 
@@ -308,7 +319,8 @@ public class DefaultJSONParser implements Closeable {
 
                 lexer.resetStringPosition();
 
-                if (key == JSON.DEFAULT_TYPE_KEY
+                // 类型key在setDefaultTypeKey之前创建的SymbolTable中不是同一个实例，==不成立时再用equals
+                if ((key == JSON.DEFAULT_TYPE_KEY || JSON.DEFAULT_TYPE_KEY.equals(key))
                         && !lexer.isEnabled(Feature.DisableSpecialKeyDetect)) {
                     String typeName = lexer.scanSymbol(symbolTable, '"');
 
@@ -467,7 +479,7 @@ public class DefaultJSONParser implements Closeable {
                     if (lexer.isEnabled(Feature.AllowISO8601DateFormat)) {
                         JSONScanner iso8601Lexer = new JSONScanner(strValue);
                         if (iso8601Lexer.scanISO8601DateIfMatch()) {
-                            value = iso8601Lexer.getCalendar().getTime();
+                            value = new Date(iso8601Lexer.getDateMillis());
                         }
                         iso8601Lexer.close();
                     }
@@ -1170,7 +1182,7 @@ public class DefaultJSONParser implements Closeable {
                         if (lexer.isEnabled(Feature.AllowISO8601DateFormat)) {
                             JSONScanner iso8601Lexer = new JSONScanner(stringLiteral);
                             if (iso8601Lexer.scanISO8601DateIfMatch()) {
-                                value = iso8601Lexer.getCalendar().getTime();
+                                value = new Date(iso8601Lexer.getDateMillis());
                             } else {
                                 value = stringLiteral;
                             }
@@ -1399,7 +1411,7 @@ public class DefaultJSONParser implements Closeable {
                     JSONScanner iso8601Lexer = new JSONScanner(stringLiteral);
                     try {
                         if (iso8601Lexer.scanISO8601DateIfMatch()) {
-                            return iso8601Lexer.getCalendar().getTime();
+                            return new Date(iso8601Lexer.getDateMillis());
                         }
                     } finally {
                         iso8601Lexer.close();
@@ -1597,6 +1609,19 @@ public class DefaultJSONParser implements Closeable {
                 type = extraProvider.getExtraType(object, key);
             }
         }
+
+        // 没有人接收这个值，直接跳过，不创建对象
+        if (type == null //
+            && !(object instanceof ExtraProcessable) //
+            && (extraProcessors == null || extraProcessors.isEmpty())) {
+            int token = lexer.token();
+            if (lexer instanceof JSONLexerBase //
+                && token != JSONToken.NEW && token != JSONToken.SET && token != JSONToken.TREE_SET) {
+                ((JSONLexerBase) lexer).skipValue(config);
+                return;
+            }
+        }
+
         Object value = type == null //
             ? parse() // skip
             : parseObject(type);
@@ -1697,7 +1722,7 @@ public class DefaultJSONParser implements Closeable {
 
                 lexer.resetStringPosition();
 
-                if (key == JSON.DEFAULT_TYPE_KEY && !lexer.isEnabled(Feature.DisableSpecialKeyDetect)) {
+                if ((key == JSON.DEFAULT_TYPE_KEY || JSON.DEFAULT_TYPE_KEY.equals(key)) && !lexer.isEnabled(Feature.DisableSpecialKeyDetect)) {
                     String typeName = lexer.scanSymbol(symbolTable, '"');
 
                     Class<?> clazz = config.checkAutoType(typeName, null, lexer.getFeatures());
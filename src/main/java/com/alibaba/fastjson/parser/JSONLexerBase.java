@@ -26,7 +26,9 @@ import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.annotation.JSONType;
 import com.alibaba.fastjson.serializer.CollectionCodec;
+import com.alibaba.fastjson.util.BufferPool;
 import com.alibaba.fastjson.util.FieldInfo;
+import com.alibaba.fastjson.util.DoubleParser;
 import com.alibaba.fastjson.util.IOUtils;
 import com.alibaba.fastjson.util.TypeUtils;
 
@@ -71,14 +73,15 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     protected boolean                        hasSpecial;
 
+    /** 只接受JSON规范的数字和字符串写法，JSONValidator使用 */
+    protected boolean                        strict;
+
     protected Calendar                       calendar           = null;
     protected TimeZone                       timeZone           = JSON.defaultTimeZone;
     protected Locale                         locale             = JSON.defaultLocale;
 
     public int                               matchStat          = UNKNOWN;
 
-    private final static ThreadLocal<char[]> SBUF_LOCAL         = new ThreadLocal<char[]>();
-
     protected String                         stringDefaultValue = null;
 
     public JSONLexerBase(int features){
@@ -88,11 +91,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
             stringDefaultValue = "";
         }
 
-        sbuf = SBUF_LOCAL.get();
-
-        if (sbuf == null) {
-            sbuf = new char[512];
-        }
+        sbuf = BufferPool.getDefault().allocChars(512);
     }
 
     public final int matchStat() {
@@ -219,6 +218,9 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     token = DOT;
                     return;
                 case '+':
+                    if (strict) {
+                        throw new JSONException("illegal number, pos " + bp);
+                    }
                     next();
                     scanNumber();
                     return;
@@ -411,6 +413,189 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         nextTokenWithChar(':');
     }
 
+    /**
+     * 跳过当前token开始的值，不创建任何对象。按token校验语法，接受的输入和parse()一致。config不为null时，
+     * 嵌套对象中的类型key和parse()一样经过config.checkAutoType检查，被拒绝的类型照样抛异常
+     *
+     * @since 1.2.45
+     */
+    public void skipValue(ParserConfig config) {
+        switch (token) {
+            case JSONToken.LBRACE:
+                skipObject(config);
+                return;
+            case JSONToken.LBRACKET:
+                skipArray(config);
+                return;
+            case JSONToken.LITERAL_INT:
+            case JSONToken.LITERAL_FLOAT:
+                checkNumber();
+                nextToken();
+                return;
+            case JSONToken.LITERAL_STRING:
+            case JSONToken.TRUE:
+            case JSONToken.FALSE:
+            case JSONToken.NULL:
+            case JSONToken.UNDEFINED:
+            case JSONToken.LITERAL_ISO8601_DATE:
+            case JSONToken.HEX:
+                nextToken();
+                return;
+            case JSONToken.IDENTIFIER:
+                if ("NaN".equals(stringVal())) {
+                    nextToken();
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        throw new JSONException("syntax error, unexpected " + JSONToken.name(token) + ", " + info());
+    }
+
+    private void skipObject(ParserConfig config) {
+        nextKeyToken();
+        for (;;) {
+            if (token == JSONToken.COMMA && isEnabled(Feature.AllowArbitraryCommas)) {
+                nextKeyToken();
+                continue;
+            }
+            if (token == JSONToken.RBRACE) {
+                nextToken();
+                return;
+            }
+
+            boolean typeKey = false;
+            switch (token) {
+                case JSONToken.LITERAL_STRING:
+                    // 只有长度相同时才取出字符串比较
+                    typeKey = config != null //
+                              && sp == JSON.DEFAULT_TYPE_KEY.length() //
+                              && JSON.DEFAULT_TYPE_KEY.equals(stringVal()) //
+                              && !isEnabled(Feature.DisableSpecialKeyDetect);
+                    nextToken();
+                    break;
+                case JSONToken.LITERAL_INT:
+                case JSONToken.LITERAL_FLOAT:
+                    checkNumber();
+                    nextToken();
+                    break;
+                case JSONToken.LBRACE:
+                case JSONToken.LBRACKET:
+                    skipValue(config);
+                    break;
+                case JSONToken.IDENTIFIER:
+                case JSONToken.TRUE:
+                case JSONToken.FALSE:
+                case JSONToken.NULL:
+                case JSONToken.UNDEFINED:
+                    if (!isEnabled(Feature.AllowUnQuotedFieldNames)) {
+                        throw new JSONException("syntax error, " + info());
+                    }
+                    nextToken();
+                    break;
+                default:
+                    throw new JSONException("syntax error, unexpected " + JSONToken.name(token) + ", " + info());
+            }
+
+            if (token != JSONToken.COLON) {
+                throw new JSONException("expect ':', actual " + JSONToken.name(token) + ", " + info());
+            }
+            nextToken();
+            if (typeKey && token == JSONToken.LITERAL_STRING) {
+                config.checkAutoType(stringVal(), null, features);
+            }
+            skipValue(config);
+
+            if (token == JSONToken.COMMA) {
+                nextKeyToken();
+                continue;
+            }
+            if (token == JSONToken.RBRACE) {
+                nextToken();
+                return;
+            }
+            throw new JSONException("syntax error, unexpected " + JSONToken.name(token) + ", " + info());
+        }
+    }
+
+    /**
+     * 读取字段名，允许不带引号的字段名时按标识符扫描
+     */
+    private void nextKeyToken() {
+        if (isEnabled(Feature.AllowUnQuotedFieldNames)) {
+            nextIdent();
+        } else {
+            nextToken();
+        }
+    }
+
+    private void skipArray(ParserConfig config) {
+        nextToken();
+        for (;;) {
+            if (token == JSONToken.COMMA && isEnabled(Feature.AllowArbitraryCommas)) {
+                nextToken();
+                continue;
+            }
+            if (token == JSONToken.RBRACKET) {
+                nextToken();
+                return;
+            }
+            if (token == JSONToken.EOF) {
+                throw new JSONException("unclosed jsonArray");
+            }
+
+            skipValue(config);
+
+            // 和parseArray一样，值之间的逗号可以省略
+            if (token == JSONToken.COMMA) {
+                nextToken();
+            }
+        }
+    }
+
+    /**
+     * scanNumber只负责切出token，这里补上parse()转换数值时才会做的检查：整数或小数部分至少有一位数字，指数部分也要有数字
+     */
+    private void checkNumber() {
+        int i = np == -1 ? 0 : np;
+        int end = i + sp;
+        char last = charAt(end - 1);
+        if (last == 'L' || last == 'S' || last == 'B' || last == 'F' || last == 'D') {
+            end--;
+        }
+
+        char c = charAt(i);
+        if (c == '-' || c == '+') {
+            i++;
+        }
+
+        int digits = 0;
+        boolean exp = false;
+        for (; i < end; ++i) {
+            c = charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == 'e' || c == 'E') {
+                if (digits == 0 || exp) {
+                    break;
+                }
+                exp = true;
+                digits = 0;
+                c = charAt(i + 1);
+                if (c == '-' || c == '+') {
+                    i++;
+                }
+            } else if (c != '.' || exp) {
+                break;
+            }
+        }
+
+        if (digits == 0 || i != end) {
+            throw new JSONException("illegal number, " + info());
+        }
+    }
+
     public final void nextTokenWithChar(char expect) {
         sp = 0;
 
@@ -556,21 +741,220 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
     }
 
     public float floatValue() {
-        /** numberString获取到的不包含数字后缀类型，但是包括负数符号(如果有) */
-        String strVal = numberString();
-        float floatValue = Float.parseFloat(strVal);
-        /** 如果是0或者正无穷大，首字母是0-9 代表溢出 */
+        /** 直接从缓冲区转换，不经过numberString，数字后缀类型会被忽略 */
+        int start = np < 0 ? 0 : np;
+        float floatValue = parseFloat(start, sp);
+        /** 如果是0或者正无穷大，首字母是1-9 代表超出float的范围 */
         if (floatValue == 0 || floatValue == Float.POSITIVE_INFINITY) {
-            char c0 = strVal.charAt(0);
+            char c0 = charAt(start);
             if (c0 > '0' && c0 <= '9') {
-                throw new JSONException("float overflow : " + strVal);
+                throw new JSONException((floatValue == 0 ? "float underflow : " : "float overflow : ") + numberString());
             }
         }
         return floatValue;
     }
 
     public double doubleValue() {
-        return Double.parseDouble(numberString());
+        return parseDouble(np < 0 ? 0 : np, sp);
+    }
+
+    /**
+     * 把[start, start + count)之间的数字直接转换成double，不构造字符串
+     *
+     * @since 1.2.45
+     */
+    protected final double parseDouble(int start, int count) {
+        return parseFloating(start, count, false);
+    }
+
+    /**
+     * @since 1.2.45
+     */
+    protected final float parseFloat(int start, int count) {
+        return (float) parseFloating(start, count, true);
+    }
+
+    /**
+     * 有效数字最多取19位交给DoubleParser；截掉了非0数字并且无法确定舍入，或者格式不是普通的十进制数时，回退到Double.parseDouble
+     */
+    private double parseFloating(final int start, int count, boolean asFloat) {
+        char ch = charAt(start + count - 1);
+        if (ch == 'L' || ch == 'S' || ch == 'B' || ch == 'F' || ch == 'D') {
+            count--;
+        }
+        final int end = start + count;
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && ((ch = charAt(i)) == '-' || ch == '+')) {
+            negative = ch == '-';
+            ++i;
+        }
+
+        long significand = 0;
+        int digits = 0, exp10 = 0;
+        boolean truncated = false;
+
+        final int intStart = i;
+        for (; i < end; ++i) {
+            ch = charAt(i);
+            if (ch < '0' || ch > '9') {
+                break;
+            }
+            if (digits < 19) {
+                significand = significand * 10 + (ch - '0');
+                if (significand != 0) {
+                    digits++;
+                }
+            } else {
+                exp10++;
+                truncated |= ch != '0';
+            }
+        }
+        int digitCount = i - intStart;
+
+        if (i < end && charAt(i) == '.') {
+            final int fractionStart = ++i;
+            for (; i < end; ++i) {
+                ch = charAt(i);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                if (digits < 19) {
+                    significand = significand * 10 + (ch - '0');
+                    if (significand != 0) {
+                        digits++;
+                    }
+                    exp10--;
+                } else {
+                    truncated |= ch != '0';
+                }
+            }
+            digitCount += i - fractionStart;
+        }
+
+        boolean valid = digitCount > 0;
+        if (valid && i < end && ((ch = charAt(i)) == 'e' || ch == 'E')) {
+            ++i;
+            boolean negativeExp = false;
+            if (i < end && ((ch = charAt(i)) == '+' || ch == '-')) {
+                negativeExp = ch == '-';
+                ++i;
+            }
+            final int expStart = i;
+            int exp = 0;
+            for (; i < end; ++i) {
+                ch = charAt(i);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                if (exp < 100000) {
+                    exp = exp * 10 + (ch - '0');
+                }
+            }
+            valid = i > expStart;
+            exp10 += negativeExp ? -exp : exp;
+        }
+
+        if (valid && i == end) {
+            if (asFloat) {
+                float value = DoubleParser.toFloat(significand, exp10, negative);
+                if (!truncated || value == DoubleParser.toFloat(significand + 1, exp10, negative)) {
+                    return value;
+                }
+            } else {
+                double value = DoubleParser.toDouble(significand, exp10, negative);
+                if (!truncated || value == DoubleParser.toDouble(significand + 1, exp10, negative)) {
+                    return value;
+                }
+            }
+        }
+
+        String text = this.subString(start, count);
+        return asFloat ? Float.parseFloat(text) : Double.parseDouble(text);
+    }
+
+    /**
+     * 把[start, start + count)之间的数字转换成BigDecimal。不超过18位有效数字时直接用BigDecimal.valueOf(unscaled, scale)，
+     * 不构造字符串，否则回退到BigDecimal的字符数组构造函数
+     *
+     * @since 1.2.45
+     */
+    protected final BigDecimal parseDecimal(final int start, int count) {
+        char ch = charAt(start + count - 1);
+        if (ch == 'L' || ch == 'S' || ch == 'B' || ch == 'F' || ch == 'D') {
+            count--;
+        }
+        final int end = start + count;
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && ((ch = charAt(i)) == '-' || ch == '+')) {
+            negative = ch == '-';
+            ++i;
+        }
+
+        long unscaled = 0;
+        int digits = 0, scale = 0, digitCount = 0;
+        boolean fraction = false;
+        for (; i < end; ++i) {
+            ch = charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                unscaled = unscaled * 10 + (ch - '0');
+                if (unscaled != 0) {
+                    digits++;
+                }
+                digitCount++;
+                if (fraction) {
+                    scale++;
+                }
+            } else if (ch == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+
+        boolean valid = digitCount > 0 && digits <= 18;
+        if (valid && i < end && ((ch = charAt(i)) == 'e' || ch == 'E')) {
+            ++i;
+            boolean negativeExp = false;
+            if (i < end && ((ch = charAt(i)) == '+' || ch == '-')) {
+                negativeExp = ch == '-';
+                ++i;
+            }
+            final int expStart = i;
+            int exp = 0;
+            for (; i < end; ++i) {
+                ch = charAt(i);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                exp = exp * 10 + (ch - '0');
+                if (exp > 100000) {
+                    // 指数太大，交给BigDecimal处理溢出
+                    valid = false;
+                }
+            }
+            valid &= i > expStart;
+            scale += negativeExp ? exp : -exp;
+        }
+
+        if (valid && i == end) {
+            return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+        }
+
+        return new BigDecimal(sub_chars(start, count), 0, count);
+    }
+
+    /**
+     * Scans numbers and strings by the JSON grammar only: no '+' sign, leading zeros, type suffixes or empty fraction
+     * and exponent parts in numbers, only the escapes defined by JSON and no raw control characters in strings.
+     * 
+     * @since 1.2.45
+     */
+    public void setStrict(boolean strict) {
+        this.strict = strict;
     }
 
     public void config(Feature feature, boolean state) {
@@ -699,7 +1083,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     protected abstract void arrayCopy(int srcPos, char[] dest, int destPos, int length);
 
-    public final String scanSymbol(final SymbolTable symbolTable, final char quote) {
+    public String scanSymbol(final SymbolTable symbolTable, final char quote) {
         int hash = 0;
 
         /** bp代表字符串或流当前位置，np记录的是token开始的索引位置 */
@@ -897,7 +1281,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         return "";
     }
 
-    public final String scanSymbolUnQuoted(final SymbolTable symbolTable) {
+    public String scanSymbolUnQuoted(final SymbolTable symbolTable) {
         if (token == JSONToken.ERROR && pos == 0 && bp == 1) {
             bp = 0; // adjust
         }
@@ -957,7 +1341,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     protected abstract void copyTo(int offset, int count, char[] dest);
 
-    public final void scanString() {
+    public void scanString() {
         /** 记录当前流中token的开始位置, np指向引号的索引 */
         np = bp;
         hasSpecial = false;
@@ -972,6 +1356,10 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 break;
             }
 
+            if (ch < ' ' && strict && !(ch == EOI && isEOF())) {
+                throw new JSONException("illegal control character in string, pos " + bp);
+            }
+
             if (ch == EOI) {
                 /** 如果遇到了结束符EOI，但是没有遇到流的结尾，添加EOI结束符 */
                 if (!isEOF()) {
@@ -1007,6 +1395,11 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 /** 读取转译字符\下一个字符 */
                 ch = next();
 
+                if (strict && !isStrictEscape(ch)) {
+                    this.ch = ch;
+                    throw new JSONException("invalid escape character \\" + ch);
+                }
+
                 /** 转换ascii字符，请参考：https://baike.baidu.com/item/ASCII/309296?fr=aladdin */
                 switch (ch) {
                     case '0':
@@ -1099,6 +1492,9 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                         char u2 = ch = next();
                         char u3 = ch = next();
                         char u4 = ch = next();
+                        if (strict && !(isHex(u1) && isHex(u2) && isHex(u3) && isHex(u4))) {
+                            throw new JSONException("invalid escape character \\u");
+                        }
                         int val = Integer.parseInt(new String(new char[] { u1, u2, u3, u4 }), 16);
                         putChar((char) val);
                         break;
@@ -1209,9 +1605,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
     public abstract byte[] bytesValue();
 
     public void close() {
-        if (sbuf.length <= 1024 * 8) {
-            SBUF_LOCAL.set(sbuf);
-        }
+        BufferPool.getDefault().freeChars(sbuf);
         this.sbuf = null;
     }
 
@@ -1406,9 +1800,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                  *  chars_len = 16 - (0 + 6 + 1) = 9, == value\\\"
                  */
                 int chars_len = endIndex - (bp + fieldName.length + 1);
-                char[] chars = sub_chars( bp + fieldName.length + 1, chars_len);
-
-                stringVal = readString(chars, chars_len);
+                stringVal = readEscapedString(bp + fieldName.length + 1, chars_len);
             }
 
             /** 偏移到json串字段值" 下一个字符 */
@@ -1519,9 +1911,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     }
 
                     int chars_len = endIndex - startIndex;
-                    char[] chars = sub_chars(bp + 1, chars_len);
-
-                    stringVal = readString(chars, chars_len);
+                    stringVal = readEscapedString(bp + 1, chars_len);
                 }
 
                 offset += (endIndex - startIndex + 1);
@@ -1796,9 +2186,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     }
 
                     int chars_len = endIndex - (bp + offset);
-                    char[] chars = sub_chars(bp + offset, chars_len);
-
-                    stringVal = readString(chars, chars_len);
+                    stringVal = readEscapedString(bp + offset, chars_len);
                 }
 
                 offset += (endIndex - (bp + offset) + 1);
@@ -1935,9 +2323,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     }
 
                     int chars_len = endIndex - startIndex;
-                    char[] chars = sub_chars(bp + offset, chars_len);
-
-                    stringVal = readString(chars, chars_len);
+                    stringVal = readEscapedString(bp + offset, chars_len);
                 }
 
                 offset += (endIndex - (bp + offset) + 1);
@@ -2735,14 +3121,14 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 count = bp + offset - start - 1;
             }
 
-            if (!exp && count < 20) {
+            if (!exp && count < 10 && intVal <= 1 << 24) {
+                /** 尾数和10的幂都能精确表示，一次除法就是正确舍入的结果 */
                 value = ((float) intVal) / power;
                 if (negative) {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Float.parseFloat(text);
+                value = parseFloat(start, count);
             }
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
@@ -2918,14 +3304,14 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 count = bp + offset - start - 1;
             }
 
-            if (!exp && count < 20) {
+            if (!exp && count < 10 && intVal <= 1 << 24) {
+                /** 尾数和10的幂都能精确表示，一次除法就是正确舍入的结果 */
                 value = ((float) intVal) / power;
                 if (negative) {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Float.parseFloat(text);
+                value = parseFloat(start, count);
             }
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
@@ -3061,14 +3447,14 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 count = bp + offset - start - 1;
             }
 
-            if (!exp && count < 20) {
+            if (!exp && count < 20 && intVal >= 0 && intVal <= 1L << 53) {
+                /** 尾数和10的幂都能精确表示，一次除法就是正确舍入的结果 */
                 value = ((double) intVal) / power;
                 if (negative) {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Double.parseDouble(text);
+                value = parseDouble(start, count);
             }
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
@@ -3196,9 +3582,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 count = bp + offset - start - 1;
             }
 
-            char[] chars = this.sub_chars(start, count);
-            /** 直接读取字符串，用BigDecimal构造函数初始化 */
-            value = new BigDecimal(chars);
+            value = parseDecimal(start, count);
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
             value = null;
@@ -3355,14 +3739,13 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 int count = bp + offset - start - 1;
 
                 float value;
-                if (!exp && count < 10) {
+                if (!exp && count < 10 && intVal <= 1 << 24) {
                     value = ((float) intVal) / power;
                     if (negative) {
                         value = -value;
                     }
                 } else {
-                    String text = this.subString(start, count);
-                    value = Float.parseFloat(text);
+                    value = parseFloat(start, count);
                 }
 
                 if (arrayIndex >= array.length) {
@@ -3518,14 +3901,13 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
                         int count = bp + offset - start - 1;
                         float value;
-                        if (!exp && count < 10) {
+                        if (!exp && count < 10 && intVal <= 1 << 24) {
                             value = ((float) intVal) / power;
                             if (negative) {
                                 value = -value;
                             }
                         } else {
-                            String text = this.subString(start, count);
-                            value = Float.parseFloat(text);
+                            value = parseFloat(start, count);
                         }
 
                         if (arrayIndex >= array.length) {
@@ -3703,14 +4085,14 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 count = bp + offset - start - 1;
             }
 
-            if (!exp && count < 20) {
+            if (!exp && count < 20 && intVal >= 0 && intVal <= 1L << 53) {
+                /** 尾数和10的幂都能精确表示，一次除法就是正确舍入的结果 */
                 value = ((double) intVal) / power;
                 if (negative) {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Double.parseDouble(text);
+                value = parseDouble(start, count);
             }
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
@@ -3866,8 +4248,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 count = bp + offset - start - 1;
             }
 
-            char[] chars = this.sub_chars(start, count);
-            value = new BigDecimal(chars);
+            value = parseDecimal(start, count);
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
             value = null;
@@ -4115,9 +4496,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 }
 
                 int chars_len = endIndex - (bp + fieldName.length + 1);
-                char[] chars = sub_chars( bp + fieldName.length + 1, chars_len);
-
-                stringVal = readString(chars, chars_len);
+                stringVal = readEscapedString(bp + fieldName.length + 1, chars_len);
             }
 
             offset += (endIndex - (bp + fieldName.length + 1) + 1);
@@ -4126,8 +4505,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
             JSONScanner dateLexer = new JSONScanner(stringVal);
             try {
                 if (dateLexer.scanISO8601DateIfMatch(false)) {
-                    Calendar calendar = dateLexer.getCalendar();
-                    dateVal = calendar.getTime();
+                    dateVal = new java.util.Date(dateLexer.getDateMillis());
                 } else {
                     matchStat = NOT_MATCH;
                     return null;
@@ -4242,9 +4620,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 }
 
                 int chars_len = endIndex - (bp + 1);
-                char[] chars = sub_chars( bp + 1, chars_len);
-
-                stringVal = readString(chars, chars_len);
+                stringVal = readEscapedString(bp + 1, chars_len);
             }
 
             offset += (endIndex - (bp + 1) + 1);
@@ -4253,8 +4629,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
             JSONScanner dateLexer = new JSONScanner(stringVal);
             try {
                 if (dateLexer.scanISO8601DateIfMatch(false)) {
-                    Calendar calendar = dateLexer.getCalendar();
-                    dateVal = calendar.getTime();
+                    dateVal = new java.util.Date(dateLexer.getDateMillis());
                 } else {
                     matchStat = NOT_MATCH;
                     return null;
@@ -4909,6 +5284,14 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     protected abstract char[] sub_chars(int offset, int count);
 
+    /**
+     * 读取包含转义字符的字符串值，offset和count是输入中不包括引号的位置和长度
+     */
+    protected String readEscapedString(int offset, int count) {
+        char[] chars = sub_chars(offset, count);
+        return readString(chars, count);
+    }
+
     public static String readString(char[] chars, int chars_len) {
         char[] sbuf = new char[chars_len];
         int len = 0;
@@ -5012,7 +5395,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         return true;
     }
 
-    public final void skipWhitespace() {
+    public void skipWhitespace() {
         for (;;) {
             if (ch <= '/') {
                 if (ch == ' ' || ch == '\r' || ch == '\n' || ch == '\t' || ch == '\f' || ch == '\b') {
@@ -5030,7 +5413,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         }
     }
 
-    private void scanStringSingleQuote() {
+    protected void scanStringSingleQuote() {
         np = bp;
         hasSpecial = false;
         char chLocal;
@@ -5197,6 +5580,11 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
     }
 
     public final void scanNumber() {
+        if (strict) {
+            scanStrictNumber();
+            return;
+        }
+
         /** 记录当前流中token的开始位置, np指向数字字符索引 */
         np = bp;
 
@@ -5288,6 +5676,74 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         }
     }
 
+    /**
+     * 按JSON规范扫描数字：-?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?，没有类型后缀
+     */
+    private void scanStrictNumber() {
+        np = bp;
+
+        if (ch == '-') {
+            sp++;
+            next();
+        }
+
+        if (ch == '0') {
+            sp++;
+            next();
+        } else {
+            scanStrictDigits();
+        }
+
+        boolean isDouble = false;
+        if (ch == '.') {
+            sp++;
+            next();
+            scanStrictDigits();
+            isDouble = true;
+        }
+
+        if (ch == 'e' || ch == 'E') {
+            sp++;
+            next();
+            if (ch == '+' || ch == '-') {
+                sp++;
+                next();
+            }
+            scanStrictDigits();
+            isDouble = true;
+        }
+
+        // 前导0后面的数字、类型后缀等
+        if ((ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') //
+            || ch == '.' || ch == '+' || ch == '-') {
+            throw new JSONException("illegal number, pos " + bp);
+        }
+
+        token = isDouble ? JSONToken.LITERAL_FLOAT : JSONToken.LITERAL_INT;
+    }
+
+    /**
+     * 至少一位数字
+     */
+    private void scanStrictDigits() {
+        if (ch < '0' || ch > '9') {
+            throw new JSONException("illegal number, pos " + bp);
+        }
+        do {
+            sp++;
+            next();
+        } while (ch >= '0' && ch <= '9');
+    }
+
+    protected static boolean isStrictEscape(char ch) {
+        return ch == '"' || ch == '\\' || ch == '/' || ch == 'b' || ch == 'f' || ch == 'n' || ch == 'r' || ch == 't'
+               || ch == 'u';
+    }
+
+    protected static boolean isHex(char ch) {
+        return (ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'f') || (ch >= 'A' && ch <= 'F');
+    }
+
     public final long longValue() throws NumberFormatException {
         long result = 0;
         boolean negative = false;
@@ -5363,7 +5819,9 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         }
     }
 
-    public abstract BigDecimal decimalValue();
+    public BigDecimal decimalValue() {
+        return parseDecimal(np < 0 ? 0 : np, sp);
+    }
 
     public static boolean isWhitespace(char ch) {
         // 专门调整了判断顺序
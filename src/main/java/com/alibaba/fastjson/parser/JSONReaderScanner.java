@@ -19,10 +19,10 @@ import java.io.CharArrayReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
-import java.math.BigDecimal;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.util.BufferPool;
 import com.alibaba.fastjson.util.IOUtils;
 
 //这个类，为了性能优化做了很多特别处理，一切都是为了性能！！！
@@ -32,8 +32,6 @@ import com.alibaba.fastjson.util.IOUtils;
  */
 public final class JSONReaderScanner extends JSONLexerBase {
 
-    private final static ThreadLocal<char[]> BUF_LOCAL = new ThreadLocal<char[]>();
-
     private Reader                           reader;
     private char[]                           buf;
     private int                              bufLength;
@@ -58,14 +56,7 @@ public final class JSONReaderScanner extends JSONLexerBase {
         super(features);
         this.reader = reader;
 
-        buf = BUF_LOCAL.get();
-        if (buf != null) {
-            BUF_LOCAL.set(null);
-        }
-
-        if (buf == null) {
-            buf = new char[1024 * 16];
-        }
+        buf = BufferPool.getDefault().allocChars(1024 * 16);
 
         try {
             bufLength = reader.read(buf);
@@ -284,27 +275,10 @@ public final class JSONReaderScanner extends JSONLexerBase {
         return value;
     }
 
-    public final BigDecimal decimalValue() {
-        int offset = np;
-        if (offset == -1) {
-            offset = 0;
-        }
-        char chLocal = charAt(offset + sp - 1);
-
-        int sp = this.sp;
-        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
-            sp--;
-        }
-
-        return new BigDecimal(buf, offset, sp);
-    }
-
     public void close() {
         super.close();
 
-        if (buf.length <= 1024 * 64) {
-            BUF_LOCAL.set(buf);
-        }
+        BufferPool.getDefault().freeChars(buf);
         this.buf = null;
 
         IOUtils.close(reader);
@@ -16,10 +16,10 @@
 package com.alibaba.fastjson.parser;
 
 import java.lang.reflect.Type;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.TimeZone;
 
@@ -28,6 +28,7 @@ import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.annotation.JSONType;
 import com.alibaba.fastjson.serializer.SerializeWriter;
 import com.alibaba.fastjson.util.ASMUtils;
+import com.alibaba.fastjson.util.DateDecoder;
 import com.alibaba.fastjson.util.IOUtils;
 import com.alibaba.fastjson.util.TypeUtils;
 
@@ -41,6 +42,14 @@ public final class JSONScanner extends JSONLexerBase {
     private final String text;
     private final int    len;
 
+    /** 缓存下一个反斜杠的位置，避免对每个字符串都重新查找 */
+    private int          escapeFrom = Integer.MAX_VALUE;
+    private int          escapeIndex;
+
+    /** 快速路径解析出的日期，Calendar在用到时才创建 */
+    private long         dateMillis = DateDecoder.NOT_MATCH;
+    private int          dateOffset;
+
     public JSONScanner(String input){
         this(input, JSON.DEFAULT_PARSER_FEATURE);
     }
@@ -106,6 +115,62 @@ public final class JSONScanner extends JSONLexerBase {
         return charArrayCompare(text, bp, chars);
     }
 
+    /**
+     * 返回from之后第一个反斜杠的位置，没有则返回len。String.indexOf在JDK中是向量化的intrinsic，
+     * 结果会被缓存，整个文本最多只被扫描一遍
+     */
+    private int indexOfEscape(int from) {
+        if (from < escapeFrom || from > escapeIndex) {
+            int index = text.indexOf('\\', from);
+            escapeFrom = from;
+            escapeIndex = index == -1 ? len : index;
+        }
+        return escapeIndex;
+    }
+
+    /**
+     * 没有转义字符的字符串整段跳过，不再逐个字符调用next()
+     */
+    public void scanString() {
+        int start = bp + 1;
+        int quote = text.indexOf('"', start);
+        if (quote == -1 || quote > indexOfEscape(start)) {
+            super.scanString();
+            return;
+        }
+        if (strict) {
+            // 有控制字符时走逐个字符扫描，由它报错
+            for (int i = start; i < quote; ++i) {
+                if (text.charAt(i) < ' ') {
+                    super.scanString();
+                    return;
+                }
+            }
+        }
+
+        np = bp;
+        hasSpecial = false;
+        sp = quote - start;
+        token = JSONToken.LITERAL_STRING;
+
+        bp = quote;
+        next();
+    }
+
+    public void skipWhitespace() {
+        int index = bp;
+        char ch = this.ch;
+        while (ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t' || ch == '\f' || ch == '\b') {
+            ch = ++index >= len ? EOI : text.charAt(index);
+        }
+        bp = index;
+        this.ch = ch;
+
+        if (ch == '/') {
+            super.skipWhitespace();
+        }
+    }
+
     public final int indexOf(char ch, int startIndex) {
         return text.indexOf(ch, startIndex);
     }
@@ -188,25 +253,6 @@ public final class JSONScanner extends JSONLexerBase {
         return this.subString(np, sp);
     }
 
-    public final BigDecimal decimalValue() {
-        char chLocal = charAt(np + sp - 1);
-
-        int sp = this.sp;
-        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
-            sp--;
-        }
-
-        int offset = np, count = sp;
-        if (count < sbuf.length) {
-            text.getChars(offset, offset + count, sbuf, 0);
-            return new BigDecimal(sbuf, 0, count);
-        } else {
-            char[] chars = new char[count];
-            text.getChars(offset, offset + count, chars, 0);
-            return new BigDecimal(chars);
-        }
-    }
-
     public boolean scanISO8601DateIfMatch() {
         return scanISO8601DateIfMatch(true);
     }
@@ -221,6 +267,18 @@ public final class JSONScanner extends JSONLexerBase {
             return false;
         }
 
+        dateMillis = DateDecoder.parse(text, bp, rest, strict, timeZone, locale);
+        if (dateMillis != DateDecoder.NOT_MATCH) {
+            calendar = null;
+            int zoneStart = rest > 19 && text.charAt(bp + 19) == '.' ? 23 : 19;
+            dateOffset = rest > zoneStart //
+                ? DateDecoder.zoneOffset(text, bp + zoneStart, rest - zoneStart) //
+                : DateDecoder.NO_OFFSET;
+            ch = charAt(bp += rest);
+            token = JSONToken.LITERAL_ISO8601_DATE;
+            return true;
+        }
+
         char c0 = charAt(bp);
         char c1 = charAt(bp + 1);
         char c2 = charAt(bp + 2);
@@ -630,6 +688,35 @@ public final class JSONScanner extends JSONLexerBase {
         return true;
     }
 
+    /**
+     * @return time of the date matched by the last successful {@link #scanISO8601DateIfMatch()}, no Calendar is created
+     * when the fast path decoded it
+     * @since 1.2.45
+     */
+    public long getDateMillis() {
+        if (dateMillis != DateDecoder.NOT_MATCH) {
+            return dateMillis;
+        }
+        return calendar.getTimeInMillis();
+    }
+
+    @Override
+    public Calendar getCalendar() {
+        if (calendar == null && dateMillis != DateDecoder.NOT_MATCH) {
+            Calendar calendar = Calendar.getInstance(timeZone, locale);
+            // 和原来一样，带偏移量的日期使用对应偏移量的时区
+            if (dateOffset != DateDecoder.NO_OFFSET && timeZone.getRawOffset() != dateOffset) {
+                String[] timeZoneIDs = TimeZone.getAvailableIDs(dateOffset);
+                if (timeZoneIDs.length > 0) {
+                    calendar.setTimeZone(TimeZone.getTimeZone(timeZoneIDs[0]));
+                }
+            }
+            calendar.setTimeInMillis(dateMillis);
+            this.calendar = calendar;
+        }
+        return calendar;
+    }
+
     protected void setTime(char h0, char h1, char m0, char m1, char s0, char s1) {
         int hour = (h0 - '0') * 10 + (h1 - '0');
         int minute = (m0 - '0') * 10 + (m1 - '0');
@@ -915,8 +1002,10 @@ public final class JSONScanner extends JSONLexerBase {
                 throw new JSONException("unclosed str");
             }
 
-            String stringVal = subString(startIndex, endIndex - startIndex);
-            if (stringVal.indexOf('\\') != -1) {
+            String stringVal;
+            if (endIndex < indexOfEscape(startIndex)) {
+                stringVal = subString(startIndex, endIndex - startIndex);
+            } else {
                 for (;;) {
                     int slashCount = 0;
                     for (int i = endIndex - 1; i >= 0; --i) {
@@ -1011,7 +1100,7 @@ public final class JSONScanner extends JSONLexerBase {
             int rest = endIndex - startIndex;
             bp = index;
             if (scanISO8601DateIfMatch(false, rest)) {
-                dateVal = calendar.getTime();
+                dateVal = new Date(getDateMillis());
             } else {
                 bp = startPos;
                 matchStat = NOT_MATCH;
@@ -1774,14 +1863,13 @@ public final class JSONScanner extends JSONLexerBase {
                 count = offset - start - 1;
             }
 
-            if (!exp && count < 20) {
+            if (!exp && count < 20 && intVal >= 0 && intVal <= 1L << 53) {
                 value = ((double) intVal) / power;
                 if (negative) {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Double.parseDouble(text);
+                value = parseDouble(start, count);
             }
         } else if (chLocal == 'n'
                 && charAt(offset++) == 'u'
@@ -1954,7 +2042,7 @@ public final class JSONScanner extends JSONLexerBase {
             int rest = endIndex - startIndex;
             bp = index;
             if (scanISO8601DateIfMatch(false, rest)) {
-                dateVal = calendar.getTime();
+                dateVal = new Date(getDateMillis());
             } else {
                 bp = startPos;
                 this.ch = startChar;
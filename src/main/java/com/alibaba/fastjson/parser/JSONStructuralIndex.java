@@ -0,0 +1,383 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.util.TypeUtils;
+
+/**
+ * Two pass parser behind {@link JSON#parseLazy(String)}. The constructor walks the text once and records every structural token
+ * (braces, brackets, colons, commas, strings and scalars) in a flat index; containers are linked to their closing
+ * entry, so a value of any size can be skipped in O(1) with {@link #next(int)}. {@link #parse()} then builds the tree
+ * from the index without going through the lexer.
+ * <p>
+ * Standard JSON plus single quoted strings and unquoted member names is supported, comments are not. The index is
+ * immutable once built and may be shared between threads.
+ *
+ * @since 1.2.45
+ */
+public final class JSONStructuralIndex {
+
+    private final char[]      chars;
+    private final int         len;
+    private final SymbolTable symbolTable;
+
+    /**
+     * 每个entry占两个int：文本中的起始位置，以及link。容器的开始entry的link是对应结束entry的下标，结束entry指回开始entry；
+     * 字符串的link是结束引号的位置，含转义时取反；其他值的link是值结束的位置
+     */
+    private int[]             tape;
+    private int               size;
+
+    public JSONStructuralIndex(String text){
+        this(text.toCharArray(), text.length());
+    }
+
+    public JSONStructuralIndex(char[] chars, int len){
+        this(chars, len, ParserConfig.getGlobalInstance());
+    }
+
+    public JSONStructuralIndex(char[] chars, int len, ParserConfig config){
+        this.chars = chars;
+        this.len = len;
+        this.symbolTable = config.symbolTable;
+
+        tape = new int[((len >> 2) + 16) << 1];
+        build();
+    }
+
+    private void build() {
+        final char[] chars = this.chars;
+        final int len = this.len;
+
+        int[] stack = new int[32];
+        int depth = 0;
+
+        for (int i = 0; i < len; ++i) {
+            char ch = chars[i];
+            switch (ch) {
+                case ' ':
+                case '\n':
+                case '\r':
+                case '\t':
+                case '\f':
+                case '\b':
+                    break;
+                case '{':
+                case '[':
+                    if (depth == stack.length) {
+                        int[] newStack = new int[depth << 1];
+                        System.arraycopy(stack, 0, newStack, 0, depth);
+                        stack = newStack;
+                    }
+                    stack[depth++] = size;
+                    add(i, 0);
+                    break;
+                case '}':
+                case ']': {
+                    if (depth == 0) {
+                        throw new JSONException("syntax error, unexpected '" + ch + "', pos " + i);
+                    }
+                    int open = stack[--depth];
+                    char openCh = chars[tape[open << 1]];
+                    if ((openCh == '{') != (ch == '}')) {
+                        throw new JSONException("syntax error, expect " + (openCh == '{' ? '}' : ']') + ", pos " + i);
+                    }
+                    tape[(open << 1) + 1] = size;
+                    add(i, open);
+                    break;
+                }
+                case ':':
+                case ',':
+                    add(i, 0);
+                    break;
+                case '"':
+                case '\'': {
+                    boolean escaped = false;
+                    int j = i + 1;
+                    char c;
+                    while (j < len && (c = chars[j]) != ch) {
+                        if (c == '\\') {
+                            escaped = true;
+                            ++j;
+                        }
+                        ++j;
+                    }
+                    if (j >= len) {
+                        throw new JSONException("unclosed string : " + ch);
+                    }
+                    add(i, escaped ? ~j : j);
+                    i = j;
+                    break;
+                }
+                default: {
+                    int j = i + 1;
+                    for (; j < len; ++j) {
+                        char c = chars[j];
+                        // 空白字符都不大于' '
+                        if (c == ',' || c == '}' || c == ']' || c == ':' || c <= ' ') {
+                            break;
+                        }
+                    }
+                    add(i, j);
+                    i = j - 1;
+                    break;
+                }
+            }
+        }
+
+        if (depth != 0) {
+            throw new JSONException("unclosed json text");
+        }
+    }
+
+    private void add(int position, int link) {
+        int i = size << 1;
+        if (i == tape.length) {
+            int[] newTape = new int[i + (i >> 1) + 32];
+            System.arraycopy(tape, 0, newTape, 0, i);
+            tape = newTape;
+        }
+        tape[i] = position;
+        tape[i + 1] = link;
+        size++;
+    }
+
+    /**
+     * @return number of entries in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return position of the entry in the source text
+     */
+    public int position(int entry) {
+        return tape[entry << 1];
+    }
+
+    /**
+     * @return first character of the entry, one of <code>{ } [ ] : , " '</code> or the first character of a scalar
+     */
+    public char kind(int entry) {
+        if (entry >= size) {
+            throw new JSONException("unexpected end of json text");
+        }
+        return chars[tape[entry << 1]];
+    }
+
+    /**
+     * @return the entry following the value that starts at <code>entry</code>
+     */
+    public int next(int entry) {
+        char ch = kind(entry);
+        if (ch == '{' || ch == '[') {
+            return tape[(entry << 1) + 1] + 1;
+        }
+        return entry + 1;
+    }
+
+    /**
+     * Parses the whole document, the text must hold exactly one value.
+     */
+    public Object parse() {
+        if (size == 0) {
+            return null;
+        }
+
+        Object value = parseValue(0);
+        if (next(0) != size) {
+            throw new JSONException("syntax error, not close json text, pos " + position(next(0)));
+        }
+        return value;
+    }
+
+    public <T> T parseObject(Type type) {
+        return TypeUtils.cast(parse(), type, ParserConfig.getGlobalInstance());
+    }
+
+    public Object parseValue(int entry) {
+        char ch = kind(entry);
+        switch (ch) {
+            case '{':
+                return parseObject(entry);
+            case '[':
+                return parseArray(entry);
+            case '"':
+            case '\'':
+                return stringValue(entry);
+            case '}':
+            case ']':
+            case ':':
+            case ',':
+                throw new JSONException("syntax error, unexpected '" + ch + "', pos " + position(entry));
+            default:
+                return scalarValue(entry);
+        }
+    }
+
+    // 括号已经配对过，容器内的entry都不会越界，这里直接读tape
+    private JSONObject parseObject(int entry) {
+        final char[] chars = this.chars;
+        final int[] tape = this.tape;
+        final int end = tape[(entry << 1) + 1];
+
+        JSONObject object = new JSONObject();
+        int e = entry + 1;
+        while (e < end) {
+            String key = key(e);
+            if (chars[tape[(e + 1) << 1]] != ':') {
+                throw new JSONException("syntax error, expect ':', pos " + tape[(e + 1) << 1]);
+            }
+            int valueEntry = e + 2;
+            object.put(key, parseValue(valueEntry));
+
+            char ch = chars[tape[valueEntry << 1]];
+            e = ch == '{' || ch == '[' ? tape[(valueEntry << 1) + 1] + 1 : valueEntry + 1;
+            if (e < end) {
+                if (chars[tape[e << 1]] != ',') {
+                    throw new JSONException("syntax error, expect ',' or '}', pos " + tape[e << 1]);
+                }
+                ++e;
+            }
+        }
+        return object;
+    }
+
+    private JSONArray parseArray(int entry) {
+        final char[] chars = this.chars;
+        final int[] tape = this.tape;
+        final int end = tape[(entry << 1) + 1];
+
+        JSONArray array = new JSONArray();
+        int e = entry + 1;
+        while (e < end) {
+            array.add(parseValue(e));
+
+            char ch = chars[tape[e << 1]];
+            e = ch == '{' || ch == '[' ? tape[(e << 1) + 1] + 1 : e + 1;
+            if (e < end) {
+                if (chars[tape[e << 1]] != ',') {
+                    throw new JSONException("syntax error, expect ',' or ']', pos " + tape[e << 1]);
+                }
+                ++e;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * @return member name at <code>entry</code>, quoted or not
+     */
+    public String key(int entry) {
+        char ch = kind(entry);
+        int start = tape[entry << 1];
+        if (ch == '"' || ch == '\'') {
+            int link = tape[(entry << 1) + 1];
+            if (link >= 0) {
+                return symbolTable.addSymbol(chars, start + 1, link - start - 1);
+            }
+            return readEscaped(start + 1, ~link);
+        }
+
+        if (ch == '{' || ch == '[' || ch == '}' || ch == ']' || ch == ':' || ch == ',') {
+            throw new JSONException("syntax error, unexpected '" + ch + "', pos " + start);
+        }
+        return symbolTable.addSymbol(chars, start, tape[(entry << 1) + 1] - start);
+    }
+
+    private String stringValue(int entry) {
+        int start = tape[entry << 1] + 1;
+        int link = tape[(entry << 1) + 1];
+        if (link >= 0) {
+            return new String(chars, start, link - start);
+        }
+        return readEscaped(start, ~link);
+    }
+
+    private String readEscaped(int start, int end) {
+        int len = end - start;
+        char[] text = new char[len];
+        System.arraycopy(chars, start, text, 0, len);
+        return JSONLexerBase.readString(text, len);
+    }
+
+    private Object scalarValue(int entry) {
+        final char[] chars = this.chars;
+        final int start = tape[entry << 1];
+        final int end = tape[(entry << 1) + 1];
+        final int count = end - start;
+        char ch = chars[start];
+
+        if (ch == 't' && count == 4 && chars[start + 1] == 'r' && chars[start + 2] == 'u' && chars[start + 3] == 'e') {
+            return Boolean.TRUE;
+        }
+        if (ch == 'f' && count == 5 && chars[start + 1] == 'a' && chars[start + 2] == 'l' && chars[start + 3] == 's'
+            && chars[start + 4] == 'e') {
+            return Boolean.FALSE;
+        }
+        if (ch == 'n' && count == 4 && chars[start + 1] == 'u' && chars[start + 2] == 'l' && chars[start + 3] == 'l') {
+            return null;
+        }
+
+        if ((ch >= '0' && ch <= '9') || ch == '-') {
+            boolean negative = ch == '-';
+            int i = negative ? start + 1 : start;
+            boolean decimal = false;
+            long value = 0;
+            for (; i < end; ++i) {
+                ch = chars[i];
+                if (ch >= '0' && ch <= '9') {
+                    value = value * 10 + (ch - '0');
+                } else if (ch == '.' || ch == 'e' || ch == 'E' || ch == '+' || ch == '-') {
+                    decimal = true;
+                } else {
+                    break;
+                }
+            }
+
+            if (i == end) {
+                int digits = negative ? count - 1 : count;
+                if (!decimal && digits > 0 && digits <= 18) {
+                    if (negative) {
+                        value = -value;
+                    }
+                    if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                        return (int) value;
+                    }
+                    return value;
+                }
+                if (decimal) {
+                    try {
+                        return new BigDecimal(chars, start, count);
+                    } catch (NumberFormatException ex) {
+                        throw new JSONException("syntax error, pos " + start, ex);
+                    }
+                }
+            }
+        }
+
+        // NaN、大整数、带类型后缀的数字等少见的写法交给lexer
+        return JSON.parse(new String(chars, start, count));
+    }
+}
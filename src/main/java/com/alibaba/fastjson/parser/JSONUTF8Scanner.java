@@ -0,0 +1,646 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.util.IOUtils;
+
+//这个类直接扫描UTF-8字节，不需要先解码成char[]，只有字符串值才按需解码
+
+/**
+ * Lexer over UTF-8 encoded bytes. Structural characters, numbers and literals are all ASCII, so they are read straight
+ * from the byte array; only string values are decoded, and only when they are materialized.
+ *
+ * @since 1.2.45
+ */
+public final class JSONUTF8Scanner extends JSONLexerBase {
+
+    private final static long ONES        = 0x0101010101010101L;
+    private final static long HIGHS       = 0x8080808080808080L;
+    private final static long QUOTES      = '"' * ONES;
+    private final static long BACKSLASHES = '\\' * ONES;
+
+    private final byte[]      buf;
+    private final int         start;
+    private final int         end;
+
+    /** 按小端序一次读取8个字节，用于SWAR方式查找引号和反斜杠 */
+    private final ByteBuffer  words;
+
+    public JSONUTF8Scanner(byte[] input){
+        this(input, 0, input.length, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONUTF8Scanner(byte[] input, int features){
+        this(input, 0, input.length, features);
+    }
+
+    public JSONUTF8Scanner(byte[] input, int offset, int length, int features){
+        super(features);
+
+        buf = input;
+        start = offset;
+        end = offset + length;
+        bp = offset - 1;
+        words = ByteBuffer.wrap(input).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (length >= 3 //
+            && input[offset] == (byte) 0xEF //
+            && input[offset + 1] == (byte) 0xBB //
+            && input[offset + 2] == (byte) 0xBF) { // utf-8 bom
+            bp += 3;
+        }
+
+        next();
+    }
+
+    public final char charAt(int index) {
+        if (index >= end) {
+            return EOI;
+        }
+
+        return (char) (buf[index] & 0xFF);
+    }
+
+    public final char next() {
+        int index = ++bp;
+        return ch = (index >= end //
+            ? EOI //
+            : (char) (buf[index] & 0xFF));
+    }
+
+    /**
+     * 扫描双引号字符串，只记录位置，转义字符和非ASCII字符在stringVal()时才解码
+     */
+    public void scanString() {
+        scanQuoted('"');
+    }
+
+    protected void scanStringSingleQuote() {
+        scanQuoted('\'');
+    }
+
+    private void scanQuoted(char quote) {
+        np = bp;
+        hasSpecial = false;
+
+        final long quotes = quote == '"' ? QUOTES : quote * ONES;
+
+        int index = bp + 1;
+        for (;;) {
+            index = indexOfQuoteOrEscape(index, quote, quotes);
+            if (index >= end) {
+                bp = end;
+                ch = EOI;
+                throw new JSONException(quote == '"' //
+                    ? "unclosed string : " + EOI //
+                    : "unclosed single-quote string");
+            }
+
+            if (buf[index] == quote) {
+                break;
+            }
+
+            hasSpecial = true;
+            index = skipEscape(index);
+        }
+
+        if (strict) {
+            for (int i = bp + 1; i < index; ++i) {
+                byte b = buf[i];
+                if (b >= 0 && b < ' ') {
+                    bp = i;
+                    throw new JSONException("illegal control character in string, pos " + i);
+                }
+            }
+        }
+
+        sp = index - np - 1;
+        token = JSONToken.LITERAL_STRING;
+
+        bp = index;
+        next();
+    }
+
+    public String scanSymbol(final SymbolTable symbolTable, final char quote) {
+        np = bp;
+
+        int offset = bp + 1;
+        int hash = 0;
+        boolean special = false;
+
+        int index = offset;
+        for (;; ++index) {
+            if (index >= end) {
+                throw new JSONException("unclosed.str");
+            }
+
+            byte b = buf[index];
+            if (b == quote) {
+                break;
+            }
+
+            if (b == '\\') {
+                special = true;
+                ++index;
+                continue;
+            }
+
+            if (b < 0) {
+                special = true;
+            }
+
+            hash = 31 * hash + b;
+        }
+
+        token = JSONToken.LITERAL_STRING;
+
+        String value;
+        if (!special) {
+            value = symbolTable.addSymbol(buf, offset, index - offset, hash);
+        } else {
+            String str = readEscapedString(offset, index - offset);
+            value = symbolTable.addSymbol(str, 0, str.length(), str.hashCode());
+        }
+
+        sp = 0;
+        bp = index;
+        next();
+
+        return value;
+    }
+
+    /**
+     * 按字节扫描没有引号的标识符。ASCII字符的规则和char路径相同，非ASCII字符按解码后的字符判断：char路径中
+     * U+0100以上的字符都可以出现在标识符中，U+0080到U+00FF不可以
+     */
+    public String scanSymbolUnQuoted(final SymbolTable symbolTable) {
+        final boolean[] firstIdentifierFlags = IOUtils.firstIdentifierFlags;
+        final boolean[] identifierFlags = IOUtils.identifierFlags;
+
+        final char first = ch;
+        if (first < 0x80 ? !firstIdentifierFlags[first] : !isIdentifierByte(bp)) {
+            throw new JSONException("illegal identifier : " + ch //
+                    + info());
+        }
+
+        int hash = first;
+        np = bp;
+
+        int index = bp + 1;
+        for (; index < end; ++index) {
+            byte b = buf[index];
+            if (b >= 0 ? !identifierFlags[b] : !isIdentifierByte(index)) {
+                break;
+            }
+            hash = 31 * hash + b;
+        }
+
+        sp = index - np;
+        bp = index;
+        this.ch = charAt(index);
+        token = JSONToken.IDENTIFIER;
+
+        /** 当前扫描到字符是没有引号的 null */
+        if (sp == 4 && buf[np] == 'n' && buf[np + 1] == 'u' && buf[np + 2] == 'l' && buf[np + 3] == 'l') {
+            return null;
+        }
+
+        if (symbolTable == null) {
+            return subString(np, sp);
+        }
+
+        // 包含非ASCII字节时addSymbol会先解码，hash只对ASCII有效
+        return this.addSymbol(np, sp, hash, symbolTable);
+    }
+
+    /**
+     * 0xC2、0xC3开头的两字节序列是U+0080到U+00FF，其余的非ASCII字节都属于U+0100以上的字符，非法的字节解码为U+FFFD
+     */
+    private boolean isIdentifierByte(int index) {
+        int b = buf[index] & 0xFF;
+        return (b != 0xC2 && b != 0xC3) //
+               || index + 1 >= end //
+               || (buf[index + 1] & 0xC0) != 0x80;
+    }
+
+    public long scanFieldSymbol(char[] fieldName) {
+        // 枚举名的hash是按char计算的，包含非ASCII字符时走普通的符号扫描
+        if (charArrayCompare(fieldName)) {
+            int index = bp + fieldName.length;
+            if (index < end && buf[index] == '"') {
+                for (++index; index < end && buf[index] != '"'; ++index) {
+                    if (buf[index] < 0) {
+                        matchStat = NOT_MATCH;
+                        return 0;
+                    }
+                }
+            }
+        }
+
+        return super.scanFieldSymbol(fieldName);
+    }
+
+    public final String addSymbol(int offset, int len, int hash, final SymbolTable symbolTable) {
+        for (int i = offset, end = offset + len; i < end; ++i) {
+            if (buf[i] < 0) {
+                String str = subString(offset, len);
+                return symbolTable.addSymbol(str, 0, str.length(), str.hashCode());
+            }
+        }
+
+        return symbolTable.addSymbol(buf, offset, len, hash);
+    }
+
+    /**
+     * 字段名只在ASCII范围内逐字节比较，非ASCII字段名不匹配，交给符号表处理
+     */
+    public final boolean charArrayCompare(char[] chars) {
+        final int destLen = chars.length;
+        if (bp + destLen > end) {
+            return false;
+        }
+
+        for (int i = 0; i < destLen; ++i) {
+            if (chars[i] != buf[bp + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public final int indexOf(char ch, int startIndex) {
+        if (ch >= 0x80) {
+            return -1;
+        }
+
+        final long pattern = ch == '"' ? QUOTES : ch * ONES;
+
+        int i = startIndex;
+        for (int limit = end - 8; i <= limit; i += 8) {
+            long word = words.getLong(i) ^ pattern;
+            long mask = (word - ONES) & ~word & HIGHS;
+            if (mask != 0) {
+                return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+            }
+        }
+
+        for (; i < end; ++i) {
+            if (buf[i] == ch) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * 查找from之后第一个quote或者反斜杠，没有则返回end。每次检查8个字节，某个字节等于目标时
+     * (x - 0x01..) & ~x & 0x80..中对应字节的最高位为1，最低的那个标记位置是准确的
+     */
+    private int indexOfQuoteOrEscape(int from, char quote, long quotes) {
+        int i = from;
+        for (int limit = end - 8; i <= limit; i += 8) {
+            long word = words.getLong(i);
+            long q = word ^ quotes;
+            long e = word ^ BACKSLASHES;
+            long mask = ((q - ONES) & ~q | (e - ONES) & ~e) & HIGHS;
+            if (mask != 0) {
+                return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+            }
+        }
+
+        for (; i < end; ++i) {
+            byte b = buf[i];
+            if (b == quote || b == '\\') {
+                return i;
+            }
+        }
+
+        return end;
+    }
+
+    protected final void copyTo(int offset, int count, char[] dest) {
+        arrayCopy(offset, dest, 0, count);
+    }
+
+    protected final void arrayCopy(int srcPos, char[] dest, int destPos, int length) {
+        for (int i = 0; i < length; ++i) {
+            dest[destPos + i] = (char) (buf[srcPos + i] & 0xFF);
+        }
+    }
+
+    public byte[] bytesValue() {
+        if (token == JSONToken.HEX) {
+            /** @see SerializeWriter#writeHex(byte[]) */
+            int start = np + 1, len = sp;
+            if (len % 2 != 0) {
+                throw new JSONException("illegal state. " + len);
+            }
+
+            byte[] bytes = new byte[len / 2];
+            for (int i = 0; i < bytes.length; ++i) {
+                int c0 = buf[start + i * 2];
+                int c1 = buf[start + i * 2 + 1];
+
+                int b0 = c0 - (c0 <= 57 ? 48 : 55);
+                int b1 = c1 - (c1 <= 57 ? 48 : 55);
+                bytes[i] = (byte) ((b0 << 4) | b1);
+            }
+
+            return bytes;
+        }
+
+        return IOUtils.decodeBase64(sub_chars(np + 1, sp), 0, sp);
+    }
+
+    /**
+     * The value of a literal token, recorded as a string. For integers, leading 0x and 'l' suffixes are suppressed.
+     */
+    public final String stringVal() {
+        if (!hasSpecial) {
+            return subString(np + 1, sp);
+        } else {
+            return readEscapedString(np + 1, sp);
+        }
+    }
+
+    public final String subString(int offset, int count) {
+        if (count < 0) {
+            throw new StringIndexOutOfBoundsException(count);
+        }
+        return new String(buf, offset, count, IOUtils.UTF8);
+    }
+
+    public final char[] sub_chars(int offset, int count) {
+        if (count < 0) {
+            throw new StringIndexOutOfBoundsException(count);
+        }
+
+        char[] chars = count < sbuf.length ? sbuf : new char[count];
+        arrayCopy(offset, chars, 0, count);
+        return chars;
+    }
+
+    /**
+     * 同时处理转义字符和UTF-8多字节字符，非法的UTF-8序列替换为U+FFFD，和new String(bytes, UTF8)一致
+     */
+    protected String readEscapedString(int offset, int count) {
+        // 转义字符和多字节字符解码后只会变短
+        char[] chars = new char[count];
+        int len = 0;
+
+        for (int i = offset, end = offset + count; i < end;) {
+            int b = buf[i++];
+
+            if (b == '\\') {
+                if (i >= end) {
+                    throw new JSONException("unclosed string : \\");
+                }
+                char ch = (char) buf[i++];
+                switch (ch) {
+                    case '0':
+                        chars[len++] = '\0';
+                        break;
+                    case '1':
+                        chars[len++] = '\1';
+                        break;
+                    case '2':
+                        chars[len++] = '\2';
+                        break;
+                    case '3':
+                        chars[len++] = '\3';
+                        break;
+                    case '4':
+                        chars[len++] = '\4';
+                        break;
+                    case '5':
+                        chars[len++] = '\5';
+                        break;
+                    case '6':
+                        chars[len++] = '\6';
+                        break;
+                    case '7':
+                        chars[len++] = '\7';
+                        break;
+                    case 'b': // 8
+                        chars[len++] = '\b';
+                        break;
+                    case 't': // 9
+                        chars[len++] = '\t';
+                        break;
+                    case 'n': // 10
+                        chars[len++] = '\n';
+                        break;
+                    case 'v': // 11
+                        chars[len++] = '\u000B';
+                        break;
+                    case 'f': // 12
+                    case 'F':
+                        chars[len++] = '\f';
+                        break;
+                    case 'r': // 13
+                        chars[len++] = '\r';
+                        break;
+                    case '"': // 34
+                        chars[len++] = '"';
+                        break;
+                    case '\'': // 39
+                        chars[len++] = '\'';
+                        break;
+                    case '/': // 47
+                        chars[len++] = '/';
+                        break;
+                    case '\\': // 92
+                        chars[len++] = '\\';
+                        break;
+                    case 'x': {
+                        // scanSymbol不经过skipEscape，后面的数字要自己检查，不能读到字符串外面
+                        int x1, x2;
+                        if (i + 2 > end || (x1 = hexValue(buf[i])) < 0 || (x2 = hexValue(buf[i + 1])) < 0) {
+                            throw new JSONException("invalid escape character \\x");
+                        }
+                        chars[len++] = (char) (x1 * 16 + x2);
+                        i += 2;
+                        break;
+                    }
+                    case 'u': {
+                        int val = 0;
+                        for (int j = 0; j < 4; ++j) {
+                            int digit;
+                            if (i >= end || (digit = hexValue(buf[i++])) < 0) {
+                                throw new JSONException("invalid escape character \\u");
+                            }
+                            val = val * 16 + digit;
+                        }
+                        chars[len++] = (char) val;
+                        break;
+                    }
+                    default:
+                        this.ch = ch;
+                        throw new JSONException("unclosed string : " + ch);
+                }
+                continue;
+            }
+
+            if (b >= 0) {
+                chars[len++] = (char) b;
+                continue;
+            }
+
+            int b2, b3, b4;
+            if ((b & 0xE0) == 0xC0 //
+                && i < end //
+                && ((b2 = buf[i]) & 0xC0) == 0x80) {
+                chars[len++] = (char) (((b & 0x1F) << 6) | (b2 & 0x3F));
+                i += 1;
+            } else if ((b & 0xF0) == 0xE0 //
+                       && i + 1 < end //
+                       && ((b2 = buf[i]) & 0xC0) == 0x80 //
+                       && ((b3 = buf[i + 1]) & 0xC0) == 0x80) {
+                chars[len++] = (char) (((b & 0x0F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F));
+                i += 2;
+            } else if ((b & 0xF8) == 0xF0 //
+                       && i + 2 < end //
+                       && ((b2 = buf[i]) & 0xC0) == 0x80 //
+                       && ((b3 = buf[i + 1]) & 0xC0) == 0x80 //
+                       && ((b4 = buf[i + 2]) & 0xC0) == 0x80) {
+                int uc = ((b & 0x07) << 18) | ((b2 & 0x3F) << 12) | ((b3 & 0x3F) << 6) | (b4 & 0x3F);
+                chars[len++] = (char) ((uc >>> 10)
+                                       + (Character.MIN_HIGH_SURROGATE
+                                          - (Character.MIN_SUPPLEMENTARY_CODE_POINT >>> 10)));
+                chars[len++] = (char) ((uc & 0x3FF) + Character.MIN_LOW_SURROGATE);
+                i += 3;
+            } else {
+                chars[len++] = '\uFFFD';
+            }
+        }
+
+        return new String(chars, 0, len);
+    }
+
+    /**
+     * 校验index处的转义，返回转义之后的位置。不校验的话跳过的字符串里的非法转义不会报错
+     */
+    private int skipEscape(int index) {
+        if (index + 1 >= end) {
+            bp = end;
+            ch = EOI;
+            throw new JSONException("unclosed string : " + EOI);
+        }
+
+        byte b = buf[index + 1];
+        if (strict && !isStrictEscape((char) b)) {
+            throw new JSONException("invalid escape character \\" + (char) b);
+        }
+
+        int digits;
+        switch (b) {
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case 'b':
+            case 't':
+            case 'n':
+            case 'v':
+            case 'f':
+            case 'F':
+            case 'r':
+            case '"':
+            case '\'':
+            case '/':
+            case '\\':
+                return index + 2;
+            case 'x':
+                digits = 2;
+                break;
+            case 'u':
+                digits = 4;
+                break;
+            default:
+                throw new JSONException("unclosed string : " + (char) b);
+        }
+
+        for (int i = index + 2, last = index + 2 + digits; i < last; ++i) {
+            if (i >= end || hexValue(buf[i]) < 0) {
+                throw new JSONException("invalid escape character \\" + (char) b);
+            }
+        }
+        return index + 2 + digits;
+    }
+
+    private static int hexValue(byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        return -1;
+    }
+
+    public final String numberString() {
+        char chLocal = charAt(np + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        return this.subString(np, sp);
+    }
+
+    public boolean isBlankInput() {
+        for (int i = start;; ++i) {
+            char chLocal = charAt(i);
+            if (chLocal == EOI) {
+                token = JSONToken.EOF;
+                break;
+            }
+
+            if (!isWhitespace(chLocal)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isEOF() {
+        return bp == end || ch == EOI && bp + 1 == end;
+    }
+
+    public String info() {
+        int len = end - start;
+        return "pos " + bp //
+                + ", json : " //
+                + subString(start, len < 65536 ? len : 65536);
+    }
+}
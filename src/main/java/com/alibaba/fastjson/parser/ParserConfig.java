@@ -118,6 +118,10 @@ public class ParserConfig {
     private long[]                                          denyHashCodes;
     private long[]                                          acceptHashCodes;
 
+    private final static int                                AUTO_TYPE_DECISION_CACHE_SIZE = 1024 * 4;
+    /** 配置变化时整个换掉，正在进行的判断写到旧的map里，不会留下过时的结果 */
+    private volatile ConcurrentMap<String, AutoTypeDecision> autoTypeDecisions = new ConcurrentHashMap<String, AutoTypeDecision>(16, 0.75f, 1);
+
 
     public final boolean                                    fieldBased;
 
@@ -327,6 +331,7 @@ public class ParserConfig {
                 this.autoTypeSupport = false;
             }
         }
+        clearAutoTypeDecisions();
     }
     
     private void addItemsToDeny(final String[] items){
@@ -357,6 +362,7 @@ public class ParserConfig {
 
     public void setAutoTypeSupport(boolean autoTypeSupport) {
         this.autoTypeSupport = autoTypeSupport;
+        clearAutoTypeDecisions();
     }
 
     public boolean isAsmEnable() {
@@ -447,6 +453,18 @@ public class ParserConfig {
             return derializer;
         }
 
+        if (type != clazz) {
+            /** 结构相同的泛型类型用同一个实例做key，新创建的Type实例也能命中 */
+            Type canonicalType = TypeInterner.intern(type);
+            if (canonicalType != type) {
+                derializer = deserializers.get(canonicalType);
+                if (derializer != null) {
+                    return derializer;
+                }
+                type = canonicalType;
+            }
+        }
+
         /** 获取class名称，进行类型匹配(可以支持高版本jdk和三方库) */
         String className = clazz.getName();
         className = className.replace('$', '.');
@@ -714,7 +732,7 @@ public class ParserConfig {
                 JSONField annotation = fieldInfo.getAnnotation();
                 if (annotation != null //
                     && ((!ASMUtils.checkName(annotation.name())) //
-                        || annotation.format().length() != 0 //
+                        || (annotation.format().length() != 0 && !isAsmFormatField(fieldClass, annotation.format())) //
                         || annotation.deserializeUsing() != Void.class //
                         || annotation.unwrapped())
                         || (fieldInfo.method != null && fieldInfo.method.getParameterTypes().length > 1)) {
@@ -781,7 +799,7 @@ public class ParserConfig {
     }
 
     public void putDeserializer(Type type, ObjectDeserializer deserializer) {
-        deserializers.put(type, deserializer);
+        deserializers.put(TypeInterner.intern(type), deserializer);
     }
 
     public ObjectDeserializer getDeserializer(FieldInfo fieldInfo) {
@@ -795,6 +813,16 @@ public class ParserConfig {
         return isPrimitive2(clazz);
     }
 
+    /**
+     * java.time类型的format由Jdk8DateCodec处理，asm生成的代码会把format传给它
+     */
+    private boolean isAsmFormatField(Class<?> fieldClass, String format) {
+        return ASMUtils.checkConstant(format) //
+               && fieldClass.getName().startsWith("java.time.") //
+               && Modifier.isFinal(fieldClass.getModifiers()) //
+               && this.getDeserializer(fieldClass) instanceof ContextObjectDeserializer;
+    }
+
     /**
      * @deprecated  internal method, dont call
      */
@@ -882,6 +910,7 @@ public class ParserConfig {
 
     public void setDefaultClassLoader(ClassLoader defaultClassLoader) {
         this.defaultClassLoader = defaultClassLoader;
+        clearAutoTypeDecisions();
     }
 
     public void addDeny(String name) {
@@ -899,6 +928,7 @@ public class ParserConfig {
         System.arraycopy(this.denyHashCodes, 0, hashCodes, 0, this.denyHashCodes.length);
         Arrays.sort(hashCodes);
         this.denyHashCodes = hashCodes;
+        clearAutoTypeDecisions();
     }
 
     public void addAccept(String name) {
@@ -916,6 +946,7 @@ public class ParserConfig {
         System.arraycopy(this.acceptHashCodes, 0, hashCodes, 0, this.acceptHashCodes.length);
         Arrays.sort(hashCodes);
         this.acceptHashCodes = hashCodes;
+        clearAutoTypeDecisions();
     }
 
     public Class<?> checkAutoType(String typeName, Class<?> expectClass) {
@@ -927,6 +958,75 @@ public class ParserConfig {
             return null;
         }
 
+        final int mask = Feature.SupportAutoType.mask;
+        final boolean supportAutoType = ((features | JSON.DEFAULT_PARSER_FEATURE) & mask) != 0;
+
+        ConcurrentMap<String, AutoTypeDecision> decisions = this.autoTypeDecisions;
+        AutoTypeDecision head = decisions.get(typeName);
+        for (AutoTypeDecision decision = head; decision != null; decision = decision.next) {
+            if (decision.expectClass != expectClass || decision.supportAutoType != supportAutoType) {
+                continue;
+            }
+
+            if (decision.clazz != null) {
+                return decision.clazz;
+            }
+
+            // 之后加载过的类或者新建了deserializer的类不再拒绝，要重新判断
+            if (decision.deserializerCount == deserializers.size()
+                    && TypeUtils.getClassFromMapping(typeName) == null) {
+                if (decision.error != null) {
+                    throw new JSONException(decision.error);
+                }
+                return null;
+            }
+            break;
+        }
+
+        int deserializerCount = deserializers.size();
+        Class<?> clazz;
+        try {
+            clazz = checkAutoType0(typeName, expectClass, features);
+        } catch (JSONException ex) {
+            putAutoTypeDecision(decisions, typeName, head,
+                                new AutoTypeDecision(expectClass, supportAutoType, null, ex.getMessage(), deserializerCount));
+            throw ex;
+        }
+        putAutoTypeDecision(decisions, typeName, head,
+                            new AutoTypeDecision(expectClass, supportAutoType, clazz, null, deserializerCount));
+        return clazz;
+    }
+
+    private void putAutoTypeDecision(ConcurrentMap<String, AutoTypeDecision> decisions, String typeName,
+                                     AutoTypeDecision head, AutoTypeDecision decision) {
+        if (head == null && decisions.size() >= AUTO_TYPE_DECISION_CACHE_SIZE) {
+            if (decisions == autoTypeDecisions) {
+                autoTypeDecisions = new ConcurrentHashMap<String, AutoTypeDecision>(16, 0.75f, 1);
+            }
+            return;
+        }
+
+        // 同一个typeName的不同expectClass串成链表，替换掉相同条件的旧结果
+        AutoTypeDecision newHead = decision;
+        for (AutoTypeDecision entry = head; entry != null; entry = entry.next) {
+            if (entry.expectClass != decision.expectClass || entry.supportAutoType != decision.supportAutoType) {
+                newHead = new AutoTypeDecision(entry, newHead);
+            }
+        }
+
+        // 并发写丢失只是少缓存一次
+        if (head == null) {
+            decisions.putIfAbsent(typeName, newHead);
+        } else {
+            decisions.replace(typeName, head, newHead);
+        }
+    }
+
+    private void clearAutoTypeDecisions() {
+        this.autoTypeDecisions = new ConcurrentHashMap<String, AutoTypeDecision>(16, 0.75f, 1);
+    }
+
+    private Class<?> checkAutoType0(String typeName, Class<?> expectClass, int features) {
         if (typeName.length() >= 128 || typeName.length() < 3) {
             throw new JSONException("autoType is not support. " + typeName);
         }
@@ -1057,5 +1157,39 @@ public class ParserConfig {
     public void clearDeserializers() {
         this.deserializers.clear();
         this.initDeserializers();
+        clearAutoTypeDecisions();
+    }
+
+    /**
+     * checkAutoType的结果，clazz和error都为null表示返回null
+     */
+    private static final class AutoTypeDecision {
+
+        final Class<?>         expectClass;
+        final boolean          supportAutoType;
+        final Class<?>         clazz;
+        final String           error;
+        final int              deserializerCount;
+        final AutoTypeDecision next;
+
+        AutoTypeDecision(Class<?> expectClass, boolean supportAutoType, Class<?> clazz, String error,
+                         int deserializerCount){
+            this(expectClass, supportAutoType, clazz, error, deserializerCount, null);
+        }
+
+        AutoTypeDecision(AutoTypeDecision decision, AutoTypeDecision next){
+            this(decision.expectClass, decision.supportAutoType, decision.clazz, decision.error,
+                 decision.deserializerCount, next);
+        }
+
+        private AutoTypeDecision(Class<?> expectClass, boolean supportAutoType, Class<?> clazz, String error,
+                                 int deserializerCount, AutoTypeDecision next){
+            this.expectClass = expectClass;
+            this.supportAutoType = supportAutoType;
+            this.clazz = clazz;
+            this.error = error;
+            this.deserializerCount = deserializerCount;
+            this.next = next;
+        }
     }
 }
@@ -16,19 +16,54 @@
 package com.alibaba.fastjson.parser;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.util.IOUtils;
 
 /**
+ * Canonicalizes the field names read by the lexers, so that a key seen again is not allocated again.
+ * <p>
+ * Every slot holds a small bucket of up to <code>maxBucketSize</code> symbols, the table grows bucket by bucket until
+ * <code>tableSize * maxBucketSize</code> symbols. Reads do not lock; a bucket is an immutable array that is replaced
+ * under the table lock when a symbol is added. A symbol whose bucket is already full is returned as a new string
+ * without locking. Symbols are not {@link String#intern() interned}, only the ones added in the constructor are the
+ * string constants themselves.
+ *
  * @author wenshao[szujobs@hotmail.com]
  */
 public class SymbolTable {
 
-    private final String[] symbols;
-    private final int      indexMask;
-    
+    /**
+     * @since 1.2.45
+     */
+    public final static int  DEFAULT_MAX_BUCKET_SIZE = 8;
+
+    private final String[][] symbols;
+    private final int        indexMask;
+    private final int        maxBucketSize;
+
+    // 统计默认关闭，打开后不加锁计数，并发时是近似值
+    private boolean          statEnabled;
+    private long             hitCount;
+    private long             missCount;
+    private long             collisionCount;
+
     public SymbolTable(int tableSize){
+        this(tableSize, DEFAULT_MAX_BUCKET_SIZE);
+    }
+
+    /**
+     * @param tableSize number of buckets, must be a power of two
+     * @param maxBucketSize maximum number of symbols in one bucket
+     * @since 1.2.45
+     */
+    public SymbolTable(int tableSize, int maxBucketSize){
+        if (maxBucketSize < 1) {
+            throw new IllegalArgumentException("maxBucketSize " + maxBucketSize);
+        }
         this.indexMask = tableSize - 1;
-        this.symbols = new String[tableSize];
-        
+        this.symbols = new String[tableSize][];
+        this.maxBucketSize = maxBucketSize;
+
+        // DefaultJSONParser等先用==比较这两个key，放入常量本身走快速路径
         this.addSymbol("$ref", 0, 4, "$ref".hashCode());
         this.addSymbol(JSON.DEFAULT_TYPE_KEY, 0, JSON.DEFAULT_TYPE_KEY.length(), JSON.DEFAULT_TYPE_KEY.hashCode());
     }
@@ -49,67 +84,163 @@ public class SymbolTable {
      * @param len The length of the new symbol in the buffer.
      */
     public String addSymbol(char[] buffer, int offset, int len, int hash) {
-        final int bucket = hash & indexMask;
-        
-        String symbol = symbols[bucket];
-        if (symbol != null) {
-            boolean eq = true;
-            if (hash == symbol.hashCode() // 
-                    && len == symbol.length()) {
-                for (int i = 0; i < len; i++) {
-                    if (buffer[offset + i] != symbol.charAt(i)) {
-                        eq = false;
-                        break;
+        final String[] bucket = symbols[hash & indexMask];
+        if (bucket != null) {
+            for (int i = 0; i < bucket.length; ++i) {
+                String symbol = bucket[i];
+                if (symbol != null //
+                        && hash == symbol.hashCode() //
+                        && len == symbol.length() //
+                        && regionEquals(buffer, offset, symbol)) {
+                    if (statEnabled) {
+                        hitCount++;
                     }
+                    return symbol;
                 }
-            } else {
-                eq = false;
             }
-            
-            if (eq) {
-                return symbol;
-            } else {
-                return new String(buffer, offset, len);    
+
+            if (bucket.length >= maxBucketSize) {
+                if (statEnabled) {
+                    collisionCount++;
+                }
+                return new String(buffer, offset, len);
             }
         }
-        
-        symbol = new String(buffer, offset, len).intern();
-        symbols[bucket] = symbol;
-        return symbol;
+
+        return put(new String(buffer, offset, len), hash, false);
+    }
+
+    /**
+     * Adds a symbol held as ASCII bytes, such as a field name read directly from UTF-8 input. The hash must be computed
+     * over the bytes in the same way as {@link #hash(char[], int, int)}.
+     */
+    public String addSymbol(byte[] buffer, int offset, int len, int hash) {
+        final String[] bucket = symbols[hash & indexMask];
+        if (bucket != null) {
+            for (int i = 0; i < bucket.length; ++i) {
+                String symbol = bucket[i];
+                if (symbol != null //
+                        && hash == symbol.hashCode() //
+                        && len == symbol.length() //
+                        && regionEquals(buffer, offset, symbol)) {
+                    if (statEnabled) {
+                        hitCount++;
+                    }
+                    return symbol;
+                }
+            }
+
+            if (bucket.length >= maxBucketSize) {
+                if (statEnabled) {
+                    collisionCount++;
+                }
+                return new String(buffer, offset, len, IOUtils.UTF8);
+            }
+        }
+
+        return put(new String(buffer, offset, len, IOUtils.UTF8), hash, false);
     }
 
     public String addSymbol(String buffer, int offset, int len, int hash) {
         return addSymbol(buffer, offset, len, hash, false);
     }
 
+    /**
+     * @param replace when the bucket is full, replace its last symbol with the new one
+     */
     public String addSymbol(String buffer, int offset, int len, int hash, boolean replace) {
-        final int bucket = hash & indexMask;
+        final String[] bucket = symbols[hash & indexMask];
+        if (bucket != null) {
+            for (int i = 0; i < bucket.length; ++i) {
+                String symbol = bucket[i];
+                if (symbol != null //
+                        && hash == symbol.hashCode() //
+                        && len == symbol.length() //
+                        && buffer.startsWith(symbol, offset)) {
+                    if (statEnabled) {
+                        hitCount++;
+                    }
+                    return symbol;
+                }
+            }
 
-        String symbol = symbols[bucket];
-        if (symbol != null) {
-            if (hash == symbol.hashCode() // 
-                    && len == symbol.length() //
-                    && buffer.startsWith(symbol, offset)) {
-                return symbol;
+            if (bucket.length >= maxBucketSize && !replace) {
+                if (statEnabled) {
+                    collisionCount++;
+                }
+                return subString(buffer, offset, len);
             }
+        }
 
-            String str = subString(buffer, offset, len);
+        String symbol = len == buffer.length() //
+            ? buffer //
+            : subString(buffer, offset, len);
+        return put(symbol, hash, replace);
+    }
+
+    private synchronized String put(String symbol, int hash, boolean replace) {
+        final int index = hash & indexMask;
+
+        // 锁内看到的桶是完整的，无锁读可能没看到别的线程刚加进来的
+        String[] bucket = symbols[index];
+        int size = 0;
+        if (bucket != null) {
+            size = bucket.length;
+            for (int i = 0; i < size; ++i) {
+                String item = bucket[i];
+                if (hash == item.hashCode() && symbol.equals(item)) {
+                    if (statEnabled) {
+                        hitCount++;
+                    }
+                    return item;
+                }
+            }
 
-            if (replace) {
-                symbols[bucket] = str;
+            if (size >= maxBucketSize) {
+                if (statEnabled) {
+                    collisionCount++;
+                }
+                // 第一个留给构造函数里加的常量
+                if (replace && size > 1) {
+                    String[] newBucket = bucket.clone();
+                    newBucket[size - 1] = symbol;
+                    symbols[index] = newBucket;
+                }
+                return symbol;
             }
+        }
 
-            return str;
+        String[] newBucket = new String[size + 1];
+        if (size != 0) {
+            System.arraycopy(bucket, 0, newBucket, 0, size);
+        }
+        newBucket[size] = symbol;
+        symbols[index] = newBucket;
+
+        if (statEnabled) {
+            missCount++;
         }
-        
-        symbol = len == buffer.length() //
-            ? buffer //
-            : subString(buffer, offset, len);
-        symbol = symbol.intern();
-        symbols[bucket] = symbol;
         return symbol;
     }
-    
+
+    private static boolean regionEquals(char[] buffer, int offset, String symbol) {
+        for (int i = 0, len = symbol.length(); i < len; i++) {
+            if (buffer[offset + i] != symbol.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionEquals(byte[] buffer, int offset, String symbol) {
+        for (int i = 0, len = symbol.length(); i < len; i++) {
+            if (buffer[offset + i] != symbol.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static String subString(String src, int offset, int len) {
         char[] chars = new char[len];
         src.getChars(offset, offset + len, chars, 0);
@@ -125,4 +256,63 @@ public class SymbolTable {
         }
         return h;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return number of symbols in the table
+     * @since 1.2.45
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (String[] bucket : symbols) {
+            if (bucket != null) {
+                size += bucket.length;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @since 1.2.45
+     */
+    public int getMaxSize() {
+        return symbols.length * maxBucketSize;
+    }
+
+    /**
+     * Enables the hit, miss and collision counters. They are off by default because the global table is shared by
+     * every parsing thread.
+     *
+     * @since 1.2.45
+     */
+    public void setStatEnabled(boolean statEnabled) {
+        this.statEnabled = statEnabled;
+    }
+
+    public boolean isStatEnabled() {
+        return statEnabled;
+    }
+
+    /**
+     * @return lookups that found an existing symbol
+     * @since 1.2.45
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return lookups that added a new symbol
+     * @since 1.2.45
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return lookups that did not find the symbol and could not add it because its bucket was full
+     * @since 1.2.45
+     */
+    public long getCollisionCount() {
+        return collisionCount;
+    }
+}
@@ -538,7 +538,7 @@ public class ASMDeserializerFactory implements Opcodes {
 
         mw.visitVarInsn(ALOAD, context.var("instance"));
         mw.visitInsn(ARETURN);
-        mw.visitMaxs(5, context.variantIndex);
+        mw.visitMaxs(6, context.variantIndex);
         mw.visitEnd();
     }
 
@@ -1696,6 +1696,36 @@ public class ASMDeserializerFactory implements Opcodes {
             mw.visitLabel(instanceOfElse_);
         }
 
+        if (fieldInfo.format != null) {
+            // 和DefaultFieldDeserializer一样，format传给ContextObjectDeserializer
+            Label contextElse_ = new Label();
+            mw.visitInsn(DUP);
+            mw.visitTypeInsn(INSTANCEOF, type(ContextObjectDeserializer.class));
+            mw.visitJumpInsn(IFEQ, contextElse_);
+
+            mw.visitTypeInsn(CHECKCAST, type(ContextObjectDeserializer.class)); // cast
+            mw.visitVarInsn(ALOAD, 1);
+            if (fieldInfo.fieldType instanceof Class) {
+                mw.visitLdcInsn(com.alibaba.fastjson.asm.Type.getType(desc(fieldInfo.fieldClass)));
+            } else {
+                mw.visitVarInsn(ALOAD, 0);
+                mw.visitLdcInsn(i);
+                mw.visitMethodInsn(INVOKEVIRTUAL, type(JavaBeanDeserializer.class), "getFieldType",
+                                   "(I)Ljava/lang/reflect/Type;");
+            }
+            mw.visitLdcInsn(fieldInfo.name);
+            mw.visitLdcInsn(fieldInfo.format);
+            mw.visitLdcInsn(fieldInfo.parserFeatures);
+            mw.visitMethodInsn(INVOKEVIRTUAL, type(ContextObjectDeserializer.class), "deserialze",
+                               "(L" + DefaultJSONParser + ";Ljava/lang/reflect/Type;Ljava/lang/Object;Ljava/lang/String;I)Ljava/lang/Object;");
+            mw.visitTypeInsn(CHECKCAST, type(fieldClass)); // cast
+            mw.visitVarInsn(ASTORE, context.var(fieldInfo.name + "_asm"));
+
+            mw.visitJumpInsn(GOTO, instanceOfEnd_);
+
+            mw.visitLabel(contextElse_);
+        }
+
         mw.visitVarInsn(ALOAD, 1);
         if (fieldInfo.fieldType instanceof Class) {
             mw.visitLdcInsn(com.alibaba.fastjson.asm.Type.getType(desc(fieldInfo.fieldClass)));
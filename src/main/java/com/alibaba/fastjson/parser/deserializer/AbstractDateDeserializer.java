@@ -3,10 +3,12 @@ package com.alibaba.fastjson.parser.deserializer;
 import java.lang.reflect.Type;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.TimeZone;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.parser.*;
+import com.alibaba.fastjson.util.DateDecoder;
 import com.alibaba.fastjson.util.TypeUtils;
 
 public abstract class AbstractDateDeserializer extends ContextObjectDeserializer implements ObjectDeserializer {
@@ -27,7 +29,11 @@ public abstract class AbstractDateDeserializer extends ContextObjectDeserializer
         } else if (lexer.token() == JSONToken.LITERAL_STRING) {
             String strVal = lexer.stringVal();
             
-            if (format != null) {
+            long millis;
+            if (format != null
+                    && (millis = decodeFixedLayout(format, strVal)) != DateDecoder.NOT_MATCH) {
+                val = new java.util.Date(millis);
+            } else if (format != null) {
                 SimpleDateFormat simpleDateFormat = null;
                 try {
                     simpleDateFormat = new SimpleDateFormat(format,JSON.defaultLocale);
@@ -68,7 +74,7 @@ public abstract class AbstractDateDeserializer extends ContextObjectDeserializer
                 if (lexer.isEnabled(Feature.AllowISO8601DateFormat)) {
                     JSONScanner iso8601Lexer = new JSONScanner(strVal);
                     if (iso8601Lexer.scanISO8601DateIfMatch()) {
-                        val = iso8601Lexer.getCalendar().getTime();
+                        val = new java.util.Date(iso8601Lexer.getDateMillis());
                     }
                     iso8601Lexer.close();
                 }
@@ -138,5 +144,37 @@ public abstract class AbstractDateDeserializer extends ContextObjectDeserializer
         return (T) cast(parser, clazz, fieldName, val);
     }
 
+    /**
+     * 常见的定长格式直接计算，和SimpleDateFormat一样使用默认时区
+     */
+    private static long decodeFixedLayout(String format, String strVal) {
+        int len = strVal.length();
+        char separator;
+        if (len == 10) {
+            if (!format.equals("yyyy-MM-dd")) {
+                return DateDecoder.NOT_MATCH;
+            }
+            separator = 0;
+        } else if (len == 19 || len == 23) {
+            String time = len == 19 ? "HH:mm:ss" : "HH:mm:ss.SSS";
+            if (format.length() == 11 + time.length() && format.startsWith("yyyy-MM-dd ") && format.endsWith(time)) {
+                separator = ' ';
+            } else if ((format.length() == 11 + time.length() && format.startsWith("yyyy-MM-ddT")
+                        || format.length() == 13 + time.length() && format.startsWith("yyyy-MM-dd'T'"))
+                       && format.endsWith(time)) {
+                separator = 'T';
+            } else {
+                return DateDecoder.NOT_MATCH;
+            }
+        } else {
+            return DateDecoder.NOT_MATCH;
+        }
+
+        if (separator != 0 && strVal.charAt(10) != separator) {
+            return DateDecoder.NOT_MATCH;
+        }
+        return DateDecoder.parse(strVal, 0, len, false, TimeZone.getDefault(), JSON.defaultLocale);
+    }
+
     protected abstract <T> T cast(DefaultJSONParser parser, Type clazz, Object fieldName, Object value);
 }
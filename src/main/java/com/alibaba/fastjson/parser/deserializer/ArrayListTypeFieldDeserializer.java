@@ -16,6 +16,7 @@ import com.alibaba.fastjson.parser.ParseContext;
 import com.alibaba.fastjson.parser.ParserConfig;
 import com.alibaba.fastjson.util.FieldInfo;
 import com.alibaba.fastjson.util.ParameterizedTypeImpl;
+import com.alibaba.fastjson.util.TypeInterner;
 
 public class ArrayListTypeFieldDeserializer extends FieldDeserializer {
 
@@ -106,7 +107,7 @@ public class ArrayListTypeFieldDeserializer extends FieldDeserializer {
                 }
             } else if (itemType instanceof ParameterizedType) {
                 ParameterizedType parameterizedItemType = (ParameterizedType) itemType;
-                Type[] itemActualTypeArgs = parameterizedItemType.getActualTypeArguments();
+                Type[] itemActualTypeArgs = parameterizedItemType.getActualTypeArguments().clone();
                 if (itemActualTypeArgs.length == 1 && itemActualTypeArgs[0] instanceof TypeVariable) {
                     TypeVariable typeVar = (TypeVariable) itemActualTypeArgs[0];
                     ParameterizedType paramType = (ParameterizedType) objectType;
@@ -130,7 +131,9 @@ public class ArrayListTypeFieldDeserializer extends FieldDeserializer {
 
                     if (paramIndex != -1) {
                         itemActualTypeArgs[0] = paramType.getActualTypeArguments()[paramIndex];
-                        itemType = new ParameterizedTypeImpl(itemActualTypeArgs, parameterizedItemType.getOwnerType(), parameterizedItemType.getRawType());
+                        itemType = TypeInterner.intern(new ParameterizedTypeImpl(itemActualTypeArgs,
+                                                                                 parameterizedItemType.getOwnerType(),
+                                                                                 parameterizedItemType.getRawType()));
                     }
                 }
             }
@@ -715,7 +715,7 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
                     }
 
                     if ((typeKey != null && typeKey.equals(key))
-                            || JSON.DEFAULT_TYPE_KEY == key) {
+                            || JSON.DEFAULT_TYPE_KEY == key || JSON.DEFAULT_TYPE_KEY.equals(key)) {
                         lexer.nextTokenWithColon(JSONToken.LITERAL_STRING);
                         if (lexer.token() == JSONToken.LITERAL_STRING) {
                             String typeName = lexer.stringVal();
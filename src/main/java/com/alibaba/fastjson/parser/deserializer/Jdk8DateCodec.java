@@ -14,7 +14,9 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.parser.DefaultJSONParser;
@@ -52,6 +54,48 @@ public class Jdk8DateCodec extends ContextObjectDeserializer implements ObjectSe
     private final static String formatter_iso8601_pattern     = "yyyy-MM-dd'T'HH:mm:ss";
     private final static DateTimeFormatter formatter_iso8601  = DateTimeFormatter.ofPattern(formatter_iso8601_pattern);
 
+    /** 没有指定format时按长度识别的格式，和上面的formatter一一对应 */
+    private final static DateLayout[][]          layouts          = new DateLayout[30][];
+    /** 指定了format时，format和格式完全一致才直接解析 */
+    private final static Map<String, DateLayout> formatLayouts    = new HashMap<String, DateLayout>();
+
+    static {
+        String[] patterns = { "yyyyMMdd", //
+                "yyyy-MM-dd", "yyyy/MM/dd", "MM/dd/yyyy", "dd/MM/yyyy", "dd.MM.yyyy", "dd-MM-yyyy", //
+                "yyyy-MM-dd'T'HH:mm", //
+                "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd HH:mm:ss", "yyyy/MM/dd HH:mm:ss", "MM/dd/yyyy HH:mm:ss",
+                "dd/MM/yyyy HH:mm:ss", "dd.MM.yyyy HH:mm:ss", "dd-MM-yyyy HH:mm:ss" };
+        for (String pattern : patterns) {
+            addLayout(new DateLayout(pattern), true);
+        }
+
+        // ISO_LOCAL_DATE_TIME的小数部分是1到9位
+        StringBuilder fraction = new StringBuilder("yyyy-MM-dd'T'HH:mm:ss.");
+        for (int i = 1; i <= 9; ++i) {
+            fraction.append('S');
+            addLayout(new DateLayout(fraction.toString()), true);
+        }
+
+        addLayout(new DateLayout("yyyy-MM-dd HH:mm"), false);
+        addLayout(new DateLayout("yyyy-MM-dd HH:mm:ss.SSS"), false);
+    }
+
+    private static void addLayout(DateLayout layout, boolean auto) {
+        formatLayouts.put(layout.pattern, layout);
+        if (auto) {
+            DateLayout[] items = layouts[layout.length];
+            if (items == null) {
+                items = new DateLayout[] { layout };
+            } else {
+                DateLayout[] newItems = new DateLayout[items.length + 1];
+                System.arraycopy(items, 0, newItems, 0, items.length);
+                newItems[items.length] = layout;
+                items = newItems;
+            }
+            layouts[layout.length] = items;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T deserialze(DefaultJSONParser parser, Type type, Object fieldName, String format, int feature) {
         JSONLexer lexer = parser.lexer;
@@ -78,7 +122,11 @@ public class Jdk8DateCodec extends ContextObjectDeserializer implements ObjectSe
             }
 
             if (type == LocalDateTime.class) {
-                LocalDateTime localDateTime;
+                LocalDateTime localDateTime = parseLayout(text, format, false);
+                if (localDateTime != null) {
+                    return (T) localDateTime;
+                }
+
                 if (text.length() == 10 || text.length() == 8) {
                     LocalDate localDate = parseLocalDate(text, format, formatter);
                     localDateTime = LocalDateTime.of(localDate, LocalTime.MIN);
@@ -87,6 +135,12 @@ public class Jdk8DateCodec extends ContextObjectDeserializer implements ObjectSe
                 }
                 return (T) localDateTime;
             } else if (type == LocalDate.class) {
+                // 23位的按ISO格式解析，不使用format
+                LocalDateTime dateTime = parseLayout(text, text.length() == 23 ? null : format, true);
+                if (dateTime != null) {
+                    return (T) dateTime.toLocalDate();
+                }
+
                 LocalDate localDate;
                 if (text.length() == 23) {
                     LocalDateTime localDateTime = LocalDateTime.parse(text);
@@ -161,6 +215,60 @@ public class Jdk8DateCodec extends ContextObjectDeserializer implements ObjectSe
         return null;
     }
 
+    /**
+     * 按长度和分隔符的位置识别格式，直接构造LocalDateTime，不认识或者不合法的返回null，交给DateTimeFormatter处理
+     */
+    private static LocalDateTime parseLayout(String text, String format, boolean localDate) {
+        int len = text.length();
+        DateLayout layout = null;
+        if (format != null) {
+            DateLayout item = formatLayouts.get(format);
+            if (item != null && item.length == len && item.matches(text)) {
+                layout = item;
+            }
+        } else if (len < layouts.length && layouts[len] != null) {
+            boolean ambiguous = false;
+            for (DateLayout item : layouts[len]) {
+                if (localDate && item.hour != -1 && len != 23) {
+                    continue;
+                }
+                if (item.matches(text)) {
+                    if (item.dayMonthAmbiguous) {
+                        ambiguous = true;
+                    } else {
+                        layout = item;
+                        break;
+                    }
+                }
+            }
+
+            if (layout == null && ambiguous) {
+                // mm/dd/yyyy or dd/mm/yyyy，规则和parseLocalDate一样
+                boolean dayFirst;
+                int v0 = (text.charAt(0) - '0') * 10 + (text.charAt(1) - '0');
+                int v1 = (text.charAt(3) - '0') * 10 + (text.charAt(4) - '0');
+                if (v0 > 12) {
+                    dayFirst = true;
+                } else if (v1 > 12) {
+                    dayFirst = false;
+                } else {
+                    String country = Locale.getDefault().getCountry();
+                    if (country.equals("US")) {
+                        dayFirst = false;
+                    } else if (country.equals("BR") || country.equals("AU")) {
+                        dayFirst = true;
+                    } else {
+                        return null;
+                    }
+                }
+                String pattern = (dayFirst ? "dd/MM/yyyy" : "MM/dd/yyyy") + (len == 19 ? " HH:mm:ss" : "");
+                layout = formatLayouts.get(pattern);
+            }
+        }
+
+        return layout == null ? null : layout.parse(text);
+    }
+
     protected LocalDateTime parseDateTime(String text, DateTimeFormatter formatter) {
         if (formatter == null) {
             if (text.length() == 19) {
@@ -358,6 +466,120 @@ public class Jdk8DateCodec extends ContextObjectDeserializer implements ObjectSe
                 : ZonedDateTime.parse(text, formatter);
     }
 
+    /**
+     * 定长的数字格式，字母所在的位置是数字，其它位置是分隔符
+     */
+    private static final class DateLayout {
+
+        final String pattern;
+        final int    length;
+        final char[] separators;
+        final int    year, month, day, hour, minute, second, nano, nanoLength;
+        /** MM/dd/yyyy和dd/MM/yyyy要看数值和Locale才能区分 */
+        final boolean dayMonthAmbiguous;
+
+        DateLayout(String pattern){
+            this.pattern = pattern;
+
+            StringBuilder buf = new StringBuilder();
+            int year = -1, month = -1, day = -1, hour = -1, minute = -1, second = -1, nano = -1, nanoLength = 0;
+            for (int i = 0; i < pattern.length(); ++i) {
+                char c = pattern.charAt(i);
+                int pos = buf.length();
+                if (c == '\'') {
+                    buf.append(pattern.charAt(++i));
+                    ++i;
+                    continue;
+                }
+
+                boolean first = i == 0 || pattern.charAt(i - 1) != c;
+                if (c == 'y' || c == 'M' || c == 'd' || c == 'H' || c == 'm' || c == 's' || c == 'S') {
+                    buf.append('\0');
+                    if (c == 'S') {
+                        nanoLength++;
+                    }
+                    if (!first) {
+                        continue;
+                    }
+
+                    if (c == 'y') {
+                        year = pos;
+                    } else if (c == 'M') {
+                        month = pos;
+                    } else if (c == 'd') {
+                        day = pos;
+                    } else if (c == 'H') {
+                        hour = pos;
+                    } else if (c == 'm') {
+                        minute = pos;
+                    } else if (c == 's') {
+                        second = pos;
+                    } else {
+                        nano = pos;
+                    }
+                } else {
+                    buf.append(c);
+                }
+            }
+
+            this.length = buf.length();
+            this.separators = buf.toString().toCharArray();
+            this.year = year;
+            this.month = month;
+            this.day = day;
+            this.hour = hour;
+            this.minute = minute;
+            this.second = second;
+            this.nano = nano;
+            this.nanoLength = nanoLength;
+            this.dayMonthAmbiguous = separators[2] == '/';
+        }
+
+        boolean matches(String text) {
+            for (int i = 0; i < length; ++i) {
+                char c = text.charAt(i);
+                char sep = separators[i];
+                if (sep == 0 ? (c < '0' || c > '9') : c != sep) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        LocalDateTime parse(String text) {
+            int year = digits(text, this.year, 4);
+            int month = digits(text, this.month, 2);
+            int day = digits(text, this.day, 2);
+            int hour = this.hour == -1 ? 0 : digits(text, this.hour, 2);
+            int minute = this.minute == -1 ? 0 : digits(text, this.minute, 2);
+            int second = this.second == -1 ? 0 : digits(text, this.second, 2);
+            int nano = 0;
+            if (this.nano != -1) {
+                nano = digits(text, this.nano, nanoLength);
+                for (int i = nanoLength; i < 9; ++i) {
+                    nano *= 10;
+                }
+            }
+
+            // 越界的值各个formatter的处理方式不同，交给formatter
+            if (year < 1 || month < 1 || month > 12 || day < 1 || hour > 23 || minute > 59 || second > 59) {
+                return null;
+            }
+            if (day > 28 && day > java.time.Month.of(month).length(java.time.Year.isLeap(year))) {
+                return null;
+            }
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        }
+
+        private static int digits(String text, int off, int len) {
+            int value = 0;
+            for (int i = off, end = off + len; i < end; ++i) {
+                value = value * 10 + (text.charAt(i) - '0');
+            }
+            return value;
+        }
+    }
+
     public int getFastMatchToken() {
         return JSONToken.LITERAL_STRING;
     }
@@ -150,7 +150,7 @@ public class MapDeserializer implements ObjectDeserializer {
 
                 lexer.resetStringPosition();
 
-                if (key == JSON.DEFAULT_TYPE_KEY && !lexer.isEnabled(Feature.DisableSpecialKeyDetect)) {
+                if ((key == JSON.DEFAULT_TYPE_KEY || JSON.DEFAULT_TYPE_KEY.equals(key)) && !lexer.isEnabled(Feature.DisableSpecialKeyDetect)) {
                     String typeName = lexer.scanSymbol(parser.getSymbolTable(), '"');
                     final ParserConfig config = parser.getConfig();
 
@@ -7,6 +7,7 @@ import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.annotation.JSONType;
 import com.alibaba.fastjson.parser.DefaultJSONParser;
 import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONLexerBase;
 import com.alibaba.fastjson.parser.JSONToken;
 import com.alibaba.fastjson.util.TypeUtils;
 
@@ -19,9 +20,11 @@ public class NumberDeserializer implements ObjectDeserializer {
         final JSONLexer lexer = parser.lexer;
         if (lexer.token() == JSONToken.LITERAL_INT) {
             if (clazz == double.class || clazz  == Double.class) {
-                String val = lexer.numberString();
+                double val = lexer instanceof JSONLexerBase //
+                    ? ((JSONLexerBase) lexer).doubleValue() //
+                    : Double.parseDouble(lexer.numberString());
                 lexer.nextToken(JSONToken.COMMA);
-                return (T) Double.valueOf(Double.parseDouble(val));
+                return (T) Double.valueOf(val);
             }
             
             long val = lexer.longValue();
@@ -50,9 +53,11 @@ public class NumberDeserializer implements ObjectDeserializer {
 
         if (lexer.token() == JSONToken.LITERAL_FLOAT) {
             if (clazz == double.class || clazz == Double.class) {
-                String val = lexer.numberString();
+                double val = lexer instanceof JSONLexerBase //
+                    ? ((JSONLexerBase) lexer).doubleValue() //
+                    : Double.parseDouble(lexer.numberString());
                 lexer.nextToken(JSONToken.COMMA);
-                return (T) Double.valueOf(Double.parseDouble(val));
+                return (T) Double.valueOf(val);
             }
 
             BigDecimal val = lexer.decimalValue();
@@ -5,6 +5,7 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.util.Date;
 
+import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.parser.DefaultJSONParser;
 import com.alibaba.fastjson.parser.JSONScanner;
@@ -49,8 +50,8 @@ public class SqlDateDeserializer extends AbstractDateDeserializer implements Obj
 
             JSONScanner dateLexer = new JSONScanner(strVal);
             try {
-                if (dateLexer.scanISO8601DateIfMatch()) {
-                    longVal = dateLexer.getCalendar().getTimeInMillis();
+                if (dateLexer.scanISO8601DateIfMatch(!isDefaultDateFormat(parser))) {
+                    longVal = dateLexer.getDateMillis();
                 } else {
 
                     DateFormat dateFormat = parser.getDateFormat();
@@ -99,8 +100,8 @@ public class SqlDateDeserializer extends AbstractDateDeserializer implements Obj
             long longVal;
             JSONScanner dateLexer = new JSONScanner(strVal);
             try {
-                if (dateLexer.scanISO8601DateIfMatch()) {
-                    longVal = dateLexer.getCalendar().getTimeInMillis();
+                if (dateLexer.scanISO8601DateIfMatch(!isDefaultDateFormat(parser))) {
+                    longVal = dateLexer.getDateMillis();
                 } else {
 
                     DateFormat dateFormat = parser.getDateFormat();
@@ -124,6 +125,13 @@ public class SqlDateDeserializer extends AbstractDateDeserializer implements Obj
         throw new JSONException("parse error");
     }
 
+    /**
+     * 配置了dateFormat时按严格模式匹配ISO8601，"yyyy-MM-dd HH:mm:ss"这样的文本交给配置的dateFormat解析
+     */
+    private static boolean isDefaultDateFormat(DefaultJSONParser parser) {
+        return JSON.DEFFAULT_DATE_FORMAT.equals(parser.getDateFomartPattern());
+    }
+
     public int getFastMatchToken() {
         return JSONToken.LITERAL_INT;
     }
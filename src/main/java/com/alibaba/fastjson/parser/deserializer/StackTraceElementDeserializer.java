@@ -92,7 +92,7 @@ public class StackTraceElementDeserializer implements ObjectDeserializer {
                 } else {
                     throw new JSONException("syntax error");
                 }
-            } else if (key == JSON.DEFAULT_TYPE_KEY) {
+            } else if (key == JSON.DEFAULT_TYPE_KEY || JSON.DEFAULT_TYPE_KEY.equals(key)) {
                if (lexer.token() == JSONToken.LITERAL_STRING) {
                     String elementType = lexer.stringVal();
                     if (!elementType.equals("java.lang.StackTraceElement")) {
@@ -57,8 +57,8 @@ public class TimeDeserializer implements ObjectDeserializer {
             
             long longVal;
             JSONScanner dateLexer = new JSONScanner(strVal);
-            if (dateLexer.scanISO8601DateIfMatch()) {
-                longVal = dateLexer.getCalendar().getTimeInMillis();
+            if (dateLexer.scanISO8601DateIfMatch(false)) {
+                longVal = dateLexer.getDateMillis();
             } else {
                 boolean isDigit = true;
                 for (int i = 0; i< strVal.length(); ++i) {
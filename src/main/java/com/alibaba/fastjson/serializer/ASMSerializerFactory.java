@@ -720,6 +720,10 @@ public class ASMSerializerFactory implements Opcodes {
 
                     mw.visitLabel(instanceOfElse_);
                 }
+                if (fieldInfo.getFormat() != null) {
+                    _writeWithContext(context, mw, fieldInfo, context.var("field_" + fieldInfo.fieldClass.getName()),
+                                      instanceOfEnd_);
+                }
                 mw.visitVarInsn(ALOAD, context.var("fied_ser"));
                 mw.visitVarInsn(ALOAD, Context.serializer);
                 mw.visitVarInsn(ALOAD, context.var("field_" + fieldInfo.fieldClass.getName()));
@@ -1558,6 +1562,34 @@ public class ASMSerializerFactory implements Opcodes {
         }
     }
 
+    /**
+     * 带format的字段和FieldSerializer一样，交给ContextObjectSerializer或者writeWithFormat
+     */
+    private void _writeWithContext(Context context, MethodVisitor mw, FieldInfo fieldInfo, int value, Label end) {
+        Label contextElse_ = new Label();
+        mw.visitVarInsn(ALOAD, context.var("fied_ser"));
+        mw.visitTypeInsn(INSTANCEOF, type(ContextObjectSerializer.class));
+        mw.visitJumpInsn(IFEQ, contextElse_);
+
+        mw.visitVarInsn(ALOAD, context.var("fied_ser"));
+        mw.visitTypeInsn(CHECKCAST, type(ContextObjectSerializer.class)); // cast
+        mw.visitVarInsn(ALOAD, Context.serializer);
+        mw.visitVarInsn(ALOAD, value);
+        mw.visitVarInsn(ALOAD, 0);
+        mw.visitLdcInsn(context.getFieldOrinal(fieldInfo.name));
+        mw.visitMethodInsn(INVOKEVIRTUAL, JavaBeanSerializer, "getBeanContext", "(I)" + desc(BeanContext.class));
+        mw.visitMethodInsn(INVOKEINTERFACE, type(ContextObjectSerializer.class), "write", //
+                           "(L" + JSONSerializer + ";Ljava/lang/Object;" + desc(BeanContext.class) + ")V");
+        mw.visitJumpInsn(GOTO, end);
+
+        mw.visitLabel(contextElse_);
+        mw.visitVarInsn(ALOAD, Context.serializer);
+        mw.visitVarInsn(ALOAD, value);
+        mw.visitLdcInsn(fieldInfo.getFormat());
+        mw.visitMethodInsn(INVOKEVIRTUAL, JSONSerializer, "writeWithFormat", "(Ljava/lang/Object;Ljava/lang/String;)V");
+        mw.visitJumpInsn(GOTO, end);
+    }
+
     private void _labelApply(MethodVisitor mw, FieldInfo property, Context context, Label _end) {
         mw.visitVarInsn(ALOAD, 0); // this
         mw.visitVarInsn(ALOAD, Context.serializer);
@@ -1634,6 +1666,10 @@ public class ASMSerializerFactory implements Opcodes {
 
             mw.visitLabel(instanceOfElse_);
 
+            if (format != null) {
+                _writeWithContext(context, mw, fieldInfo, context.var("object"), instanceOfEnd_);
+            }
+
             mw.visitVarInsn(ALOAD, context.var("fied_ser"));
             mw.visitVarInsn(ALOAD, Context.serializer);
             mw.visitVarInsn(ALOAD, context.var("object"));
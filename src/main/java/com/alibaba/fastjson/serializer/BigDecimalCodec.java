@@ -44,14 +44,8 @@ public class BigDecimalCodec implements ObjectSerializer, ObjectDeserializer {
         } else {
             BigDecimal val = (BigDecimal) object;
 
-            String outText;
             /** 如果序列化开启WriteBigDecimalAsPlain特性，搞定度输出不会包含指数e */
-            if (out.isEnabled(SerializerFeature.WriteBigDecimalAsPlain)) {
-                outText = val.toPlainString();
-            } else {
-                outText = val.toString();
-            }
-            out.write(outText);
+            out.writeDecimal(val, out.isEnabled(SerializerFeature.WriteBigDecimalAsPlain));
 
             if (out.isEnabled(SerializerFeature.WriteClassName) && fieldType != BigDecimal.class && val.scale() == 0) {
                 out.write('.');
@@ -19,7 +19,6 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
@@ -31,7 +30,6 @@ import com.alibaba.fastjson.parser.JSONScanner;
 import com.alibaba.fastjson.parser.JSONToken;
 import com.alibaba.fastjson.parser.deserializer.AbstractDateDeserializer;
 import com.alibaba.fastjson.parser.deserializer.ObjectDeserializer;
-import com.alibaba.fastjson.util.IOUtils;
 import com.alibaba.fastjson.util.TypeUtils;
 
 /**
@@ -40,6 +38,8 @@ import com.alibaba.fastjson.util.TypeUtils;
 public class DateCodec extends AbstractDateDeserializer implements ObjectSerializer, ObjectDeserializer {
 
     public final static DateCodec instance = new DateCodec();
+
+    private final static String ISO8601_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS";
     
     public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType, int features) throws IOException {
         SerializeWriter out = serializer.out;
@@ -58,14 +58,8 @@ public class DateCodec extends AbstractDateDeserializer implements ObjectSeriali
         }
         
         if (out.isEnabled(SerializerFeature.WriteDateUseDateFormat)) {
-            DateFormat format = serializer.getDateFormat();
-            if (format == null) {
-                format = new SimpleDateFormat(JSON.DEFFAULT_DATE_FORMAT, serializer.locale);
-                format.setTimeZone(serializer.timeZone);
-            }
             /** 格式化日期输出 */
-            String text = format.format(date);
-            out.writeString(text);
+            serializer.writeDate(date, JSON.DEFFAULT_DATE_FORMAT);
             return;
         }
         
@@ -94,48 +88,50 @@ public class DateCodec extends AbstractDateDeserializer implements ObjectSeriali
             char quote = out.isEnabled(SerializerFeature.UseSingleQuotes) ? '\'' : '\"'; 
             out.write(quote);
 
-            Calendar calendar = Calendar.getInstance(serializer.timeZone, serializer.locale);
-            calendar.setTimeInMillis(time);
-
-            int year = calendar.get(Calendar.YEAR);
-            int month = calendar.get(Calendar.MONTH) + 1;
-            int day = calendar.get(Calendar.DAY_OF_MONTH);
-            int hour = calendar.get(Calendar.HOUR_OF_DAY);
-            int minute = calendar.get(Calendar.MINUTE);
-            int second = calendar.get(Calendar.SECOND);
-            int millis = calendar.get(Calendar.MILLISECOND);
+            int year, month, day, hour, minute, second, millis;
+            /** 按秒缓存的日历字段，同一秒内的时间不用再创建Calendar */
+            DateFormatter formatter = serializer.getDateFormatter(ISO8601_PATTERN);
+            if (formatter != null) {
+                DateFormatter.Fields fields = formatter.fields(time);
+                year = fields.year;
+                month = fields.month;
+                day = fields.day;
+                hour = fields.hour;
+                minute = fields.minute;
+                second = fields.second;
+                millis = (int) (time - fields.epochSecond * 1000);
+            } else {
+                Calendar calendar = Calendar.getInstance(serializer.timeZone, serializer.locale);
+                calendar.setTimeInMillis(time);
 
-            char[] buf;
-            if (millis != 0) {
-                buf = "0000-00-00T00:00:00.000".toCharArray();
-                IOUtils.getChars(millis, 23, buf);
-                IOUtils.getChars(second, 19, buf);
-                IOUtils.getChars(minute, 16, buf);
-                IOUtils.getChars(hour, 13, buf);
-                IOUtils.getChars(day, 10, buf);
-                IOUtils.getChars(month, 7, buf);
-                IOUtils.getChars(year, 4, buf);
+                year = calendar.get(Calendar.YEAR);
+                month = calendar.get(Calendar.MONTH) + 1;
+                day = calendar.get(Calendar.DAY_OF_MONTH);
+                hour = calendar.get(Calendar.HOUR_OF_DAY);
+                minute = calendar.get(Calendar.MINUTE);
+                second = calendar.get(Calendar.SECOND);
+                millis = calendar.get(Calendar.MILLISECOND);
+            }
 
-            } else {
-                if (second == 0 && minute == 0 && hour == 0) {
-                    buf = "0000-00-00".toCharArray();
-                    IOUtils.getChars(day, 10, buf);
-                    IOUtils.getChars(month, 7, buf);
-                    IOUtils.getChars(year, 4, buf);
-                } else {
-                    buf = "0000-00-00T00:00:00".toCharArray();
-                    IOUtils.getChars(second, 19, buf);
-                    IOUtils.getChars(minute, 16, buf);
-                    IOUtils.getChars(hour, 13, buf);
-                    IOUtils.getChars(day, 10, buf);
-                    IOUtils.getChars(month, 7, buf);
-                    IOUtils.getChars(year, 4, buf);
+            writeDigits(out, year, 4);
+            out.write('-');
+            writeDigits(out, month, 2);
+            out.write('-');
+            writeDigits(out, day, 2);
+            if (millis != 0 || second != 0 || minute != 0 || hour != 0) {
+                out.write('T');
+                writeDigits(out, hour, 2);
+                out.write(':');
+                writeDigits(out, minute, 2);
+                out.write(':');
+                writeDigits(out, second, 2);
+                if (millis != 0) {
+                    out.write('.');
+                    writeDigits(out, millis, 3);
                 }
             }
-            
-            out.write(buf);
-            
-            int timeZone = calendar.getTimeZone().getRawOffset()/(3600*1000);
+
+            int timeZone = serializer.timeZone.getRawOffset()/(3600*1000);
             if (timeZone == 0) {
                 out.write('Z');
             } else {
@@ -164,6 +160,19 @@ public class DateCodec extends AbstractDateDeserializer implements ObjectSeriali
         }
     }
     
+    /**
+     * 写width位数字，不足补0
+     */
+    private static void writeDigits(SerializeWriter out, int value, int width) {
+        if (value >= 10000) {
+            out.writeInt(value);
+            return;
+        }
+        for (int divisor = width == 4 ? 1000 : width == 3 ? 100 : 10; divisor > 0; divisor /= 10) {
+            out.write((char) ('0' + (value / divisor) % 10));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T cast(DefaultJSONParser parser, Type clazz, Object fieldName, Object val) {
 
@@ -185,13 +194,11 @@ public class DateCodec extends AbstractDateDeserializer implements ObjectSeriali
                 JSONScanner dateLexer = new JSONScanner(strVal);
                 try {
                     if (dateLexer.scanISO8601DateIfMatch(false)) {
-                        Calendar calendar = dateLexer.getCalendar();
-
                         if (clazz == Calendar.class) {
-                            return (T) calendar;
+                            return (T) dateLexer.getCalendar();
                         }
 
-                        return (T) calendar.getTime();
+                        return (T) new java.util.Date(dateLexer.getDateMillis());
                     }
                 } finally {
                     dateLexer.close();
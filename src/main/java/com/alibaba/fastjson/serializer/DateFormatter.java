@@ -0,0 +1,475 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.serializer;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link java.text.SimpleDateFormat} pattern compiled into an immutable program that writes digits straight into a
+ * char buffer. Only the numeric subset is supported: <code>y M MM d H m s S Z X XX XXX</code> and literal text; for
+ * any other pattern, and for locales whose calendar is not the plain Gregorian one, {@link #forPattern} returns null
+ * and callers keep using SimpleDateFormat.
+ * <p>
+ * Instances are cached per pattern, time zone and locale and are thread safe. The calendar fields of the last second
+ * that was formatted are memoized, so consecutive timestamps within the same second skip the time zone and calendar
+ * arithmetic.
+ *
+ * @since 1.2.45
+ */
+public final class DateFormatter {
+
+    private static final int                               LITERAL            = 0;
+    private static final int                               YEAR               = 1;
+    private static final int                               YEAR_2             = 2;
+    private static final int                               MONTH              = 3;
+    private static final int                               DAY                = 4;
+    private static final int                               HOUR               = 5;
+    private static final int                               MINUTE             = 6;
+    private static final int                               SECOND             = 7;
+    private static final int                               MILLIS             = 8;
+    private static final int                               RFC822_ZONE        = 9;
+    private static final int                               ISO8601_ZONE       = 10;
+
+    /** 1582-10-15T00:00:00Z，之前是儒略历，交给Calendar计算 */
+    private static final long                              GREGORIAN_CUTOVER  = -12219292800000L;
+
+    private static final Object                            NOT_SUPPORTED      = new Object();
+    private static final int                               MAX_CACHE_SIZE     = 1024;
+    private static final ConcurrentMap<CacheKey, Object>   cache              = new ConcurrentHashMap<CacheKey, Object>();
+
+    private final String                                   pattern;
+    private final TimeZone                                 timeZone;
+    private final Locale                                   locale;
+
+    /** 每条指令两个int：类型和宽度；字面量的宽度是literals中的结束位置 */
+    private final int[]                                    program;
+    private final char[]                                   literals;
+    private final int                                      maxLength;
+    /** 字面量都是不需要转义的字符时，可以不经过writeString直接写 */
+    private final boolean                                  plain;
+
+    private volatile Fields                                memo;
+
+    private DateFormatter(String pattern, TimeZone timeZone, Locale locale, int[] program, char[] literals,
+                          int maxLength, boolean plain){
+        this.pattern = pattern;
+        this.timeZone = timeZone;
+        this.locale = locale;
+        this.program = program;
+        this.literals = literals;
+        this.maxLength = maxLength;
+        this.plain = plain;
+    }
+
+    /**
+     * @return the compiled pattern, or null if the pattern or the locale is not supported
+     */
+    public static DateFormatter forPattern(String pattern, TimeZone timeZone, Locale locale) {
+        CacheKey key = new CacheKey(pattern, timeZone, locale);
+        Object formatter = cache.get(key);
+        if (formatter == null) {
+            formatter = compile(pattern, timeZone, locale);
+            if (formatter == null) {
+                formatter = NOT_SUPPORTED;
+            }
+            if (cache.size() >= MAX_CACHE_SIZE) {
+                cache.clear();
+            }
+            cache.putIfAbsent(key, formatter);
+        }
+        return formatter == NOT_SUPPORTED ? null : (DateFormatter) formatter;
+    }
+
+    private static DateFormatter compile(String pattern, TimeZone timeZone, Locale locale) {
+        // 泰国、日本等locale的Calendar不是公历，年份不同
+        if (Calendar.getInstance(timeZone, locale).getClass() != GregorianCalendar.class) {
+            return null;
+        }
+
+        final int len = pattern.length();
+        int[] program = new int[len * 2];
+        char[] literals = new char[len];
+        int size = 0, literalCount = 0, maxLength = 0;
+        boolean plain = true;
+
+        for (int i = 0; i < len;) {
+            char ch = pattern.charAt(i);
+            if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                int count = 1;
+                while (i + count < len && pattern.charAt(i + count) == ch) {
+                    count++;
+                }
+                i += count;
+
+                int type, width;
+                switch (ch) {
+                    case 'y':
+                        type = count == 2 ? YEAR_2 : YEAR;
+                        width = count == 2 ? 2 : 9;
+                        break;
+                    case 'M':
+                        if (count > 2) {
+                            return null;
+                        }
+                        type = MONTH;
+                        width = 2;
+                        break;
+                    case 'd':
+                        type = DAY;
+                        width = 2;
+                        break;
+                    case 'H':
+                        type = HOUR;
+                        width = 2;
+                        break;
+                    case 'm':
+                        type = MINUTE;
+                        width = 2;
+                        break;
+                    case 's':
+                        type = SECOND;
+                        width = 2;
+                        break;
+                    case 'S':
+                        type = MILLIS;
+                        width = 3;
+                        break;
+                    case 'Z':
+                        type = RFC822_ZONE;
+                        width = 5;
+                        break;
+                    case 'X':
+                        if (count > 3) {
+                            return null;
+                        }
+                        type = ISO8601_ZONE;
+                        width = 6;
+                        break;
+                    default:
+                        // 文本类的字段依赖locale，不支持
+                        return null;
+                }
+
+                program[size++] = type;
+                program[size++] = count;
+                maxLength += Math.max(width, count);
+                continue;
+            }
+
+            // 字面量，单引号中的内容原样输出，两个单引号表示一个单引号
+            int start = literalCount;
+            if (ch == '\'') {
+                if (i + 1 < len && pattern.charAt(i + 1) == '\'') {
+                    literals[literalCount++] = '\'';
+                    i += 2;
+                } else {
+                    int end = ++i;
+                    for (;;) {
+                        if (end >= len) {
+                            return null;
+                        }
+                        char c = pattern.charAt(end);
+                        if (c == '\'') {
+                            if (end + 1 < len && pattern.charAt(end + 1) == '\'') {
+                                literals[literalCount++] = '\'';
+                                end += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        literals[literalCount++] = c;
+                        end++;
+                    }
+                    i = end + 1;
+                }
+            } else {
+                literals[literalCount++] = ch;
+                i++;
+            }
+
+            for (int j = start; j < literalCount; ++j) {
+                plain &= isPlain(literals[j]);
+            }
+            maxLength += literalCount - start;
+            if (size > 0 && program[size - 2] == LITERAL) {
+                program[size - 1] = literalCount;
+            } else {
+                program[size++] = LITERAL;
+                program[size++] = literalCount;
+            }
+        }
+
+        int[] compact = new int[size];
+        System.arraycopy(program, 0, compact, 0, size);
+        char[] compactLiterals = new char[literalCount];
+        System.arraycopy(literals, 0, compactLiterals, 0, literalCount);
+        return new DateFormatter(pattern, timeZone, locale, compact, compactLiterals, maxLength, plain);
+    }
+
+    private static boolean isPlain(char ch) {
+        return (ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || ch == ' '
+               || ch == '-' || ch == ':' || ch == '.' || ch == ',' || ch == '_' || ch == '+';
+    }
+
+    boolean matches(String pattern, TimeZone timeZone, Locale locale) {
+        return this.timeZone == timeZone && this.locale == locale && this.pattern.equals(pattern);
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public String format(long millis) {
+        char[] chars = new char[maxLength];
+        int len = format(millis, chars, 0);
+        return new String(chars, 0, len);
+    }
+
+    /**
+     * Writes at most {@link #getMaxLength()} chars into <code>chars</code> starting at <code>off</code>.
+     *
+     * @return number of chars written
+     */
+    public int format(long millis, char[] chars, int off) {
+        final Fields fields = fields(millis);
+        final int[] program = this.program;
+        int pos = off, literalStart = 0;
+        for (int i = 0; i < program.length; i += 2) {
+            int count = program[i + 1];
+            switch (program[i]) {
+                case LITERAL:
+                    System.arraycopy(literals, literalStart, chars, pos, count - literalStart);
+                    pos += count - literalStart;
+                    literalStart = count;
+                    break;
+                case YEAR:
+                    pos = writeNumber(fields.year, count, chars, pos);
+                    break;
+                case YEAR_2:
+                    pos = writeNumber(fields.year % 100, 2, chars, pos);
+                    break;
+                case MONTH:
+                    pos = writeNumber(fields.month, count, chars, pos);
+                    break;
+                case DAY:
+                    pos = writeNumber(fields.day, count, chars, pos);
+                    break;
+                case HOUR:
+                    pos = writeNumber(fields.hour, count, chars, pos);
+                    break;
+                case MINUTE:
+                    pos = writeNumber(fields.minute, count, chars, pos);
+                    break;
+                case SECOND:
+                    pos = writeNumber(fields.second, count, chars, pos);
+                    break;
+                case MILLIS: {
+                    int ms = (int) (millis % 1000);
+                    pos = writeNumber(ms < 0 ? ms + 1000 : ms, count, chars, pos);
+                    break;
+                }
+                case RFC822_ZONE: {
+                    int minutes = fields.offset / 60000;
+                    chars[pos++] = minutes < 0 ? '-' : '+';
+                    minutes = Math.abs(minutes);
+                    pos = writeNumber(minutes / 60, 2, chars, pos);
+                    pos = writeNumber(minutes % 60, 2, chars, pos);
+                    break;
+                }
+                default: {
+                    int minutes = fields.offset / 60000;
+                    if (minutes == 0) {
+                        chars[pos++] = 'Z';
+                        break;
+                    }
+                    chars[pos++] = minutes < 0 ? '-' : '+';
+                    minutes = Math.abs(minutes);
+                    pos = writeNumber(minutes / 60, 2, chars, pos);
+                    if (count == 3) {
+                        chars[pos++] = ':';
+                    }
+                    if (count > 1) {
+                        pos = writeNumber(minutes % 60, 2, chars, pos);
+                    }
+                    break;
+                }
+            }
+        }
+        return pos - off;
+    }
+
+    /**
+     * 补零到width位
+     */
+    private static int writeNumber(int value, int width, char[] chars, int pos) {
+        int end = pos + width;
+        if (value < 100 && width <= 2) {
+            if (width == 2 || value >= 10) {
+                chars[pos++] = (char) ('0' + value / 10);
+            }
+            chars[pos++] = (char) ('0' + value % 10);
+            return pos;
+        }
+
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        if (digits > width) {
+            end = pos + digits;
+        }
+        for (int i = end - 1; i >= pos; --i) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Writes the formatted date as a JSON string.
+     */
+    public void writeString(SerializeWriter out, long millis) {
+        if (!plain) {
+            out.writeString(format(millis));
+            return;
+        }
+
+        final char quote = out.isEnabled(SerializerFeature.UseSingleQuotes) ? '\'' : '"';
+        int newcount = out.count + maxLength + 2;
+        if (newcount > out.buf.length) {
+            // 写到Writer的先输出缓冲区，仍然不够时再扩容
+            out.flushBuffer();
+            newcount = out.count + maxLength + 2;
+            if (newcount > out.buf.length) {
+                out.expandCapacity(newcount);
+            }
+        }
+
+        final char[] buf = out.buf;
+        int pos = out.count;
+        buf[pos++] = quote;
+        pos += format(millis, buf, pos);
+        buf[pos++] = quote;
+        out.count = pos;
+    }
+
+    /**
+     * 按秒缓存的日历字段，同一秒内的时间只需要算毫秒
+     */
+    Fields fields(long millis) {
+        long epochSecond = millis / 1000;
+        if (millis % 1000 < 0) {
+            epochSecond--;
+        }
+
+        Fields fields = memo;
+        if (fields != null && fields.epochSecond == epochSecond) {
+            return fields;
+        }
+
+        long secondMillis = epochSecond * 1000;
+        int offset = timeZone.getOffset(secondMillis);
+        if (secondMillis < GREGORIAN_CUTOVER) {
+            Calendar calendar = Calendar.getInstance(timeZone, locale);
+            calendar.setTimeInMillis(secondMillis);
+            fields = new Fields(epochSecond, calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                                calendar.get(Calendar.DAY_OF_MONTH), calendar.get(Calendar.HOUR_OF_DAY),
+                                calendar.get(Calendar.MINUTE), calendar.get(Calendar.SECOND), offset);
+        } else {
+            long localMillis = secondMillis + offset;
+            long epochDay = localMillis / 86400000;
+            if (localMillis % 86400000 < 0) {
+                epochDay--;
+            }
+            int secondOfDay = (int) ((localMillis - epochDay * 86400000) / 1000);
+
+            // 公历的年月日，见Howard Hinnant的civil_from_days
+            long z = epochDay + 719468;
+            long era = (z >= 0 ? z : z - 146096) / 146097;
+            int dayOfEra = (int) (z - era * 146097);
+            int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+            int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+            int mp = (5 * dayOfYear + 2) / 153;
+            int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+            int month = mp < 10 ? mp + 3 : mp - 9;
+            int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+            fields = new Fields(epochSecond, year, month, day, secondOfDay / 3600, (secondOfDay / 60) % 60,
+                                secondOfDay % 60, offset);
+        }
+
+        memo = fields;
+        return fields;
+    }
+
+    static final class Fields {
+
+        final long epochSecond;
+        final int  year;
+        final int  month;
+        final int  day;
+        final int  hour;
+        final int  minute;
+        final int  second;
+        /** 时区偏移，包括夏令时，毫秒 */
+        final int  offset;
+
+        Fields(long epochSecond, int year, int month, int day, int hour, int minute, int second, int offset){
+            this.epochSecond = epochSecond;
+            this.year = year;
+            this.month = month;
+            this.day = day;
+            this.hour = hour;
+            this.minute = minute;
+            this.second = second;
+            this.offset = offset;
+        }
+    }
+
+    private static final class CacheKey {
+
+        private final String   pattern;
+        private final TimeZone timeZone;
+        private final Locale   locale;
+
+        CacheKey(String pattern, TimeZone timeZone, Locale locale){
+            this.pattern = pattern;
+            this.timeZone = timeZone;
+            this.locale = locale;
+        }
+
+        public int hashCode() {
+            return pattern.hashCode() * 31 + timeZone.getID().hashCode() * 17 + locale.hashCode();
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return pattern.equals(other.pattern) && timeZone.equals(other.timeZone) && locale.equals(other.locale);
+        }
+    }
+}
@@ -41,6 +41,8 @@ public class JSONSerializer extends SerializeFilterable {
 
     private String                                   dateFormatPattern;
     private DateFormat                               dateFormat;
+    /** 上一次用到的DateFormatter，序列化一批日期时通常是同一个格式 */
+    private DateFormatter                            dateFormatter;
 
     protected IdentityHashMap<Object, SerialContext> references  = null;
     protected SerialContext                          context;
@@ -97,6 +99,43 @@ public class JSONSerializer extends SerializeFilterable {
         }
     }
 
+    /**
+     * 按设置的日期格式输出，没有设置时用<code>format</code>；格式能编译成DateFormatter时直接写到out中
+     */
+    final void writeDate(Date date, String format) {
+        String pattern = dateFormatPattern;
+        if (pattern == null && dateFormat == null) {
+            pattern = format;
+        }
+
+        if (pattern != null) {
+            DateFormatter formatter = getDateFormatter(pattern);
+            if (formatter != null) {
+                formatter.writeString(out, date.getTime());
+                return;
+            }
+        }
+
+        DateFormat dateFormat = this.getDateFormat();
+        if (dateFormat == null) {
+            dateFormat = new SimpleDateFormat(format, locale);
+            dateFormat.setTimeZone(timeZone);
+        }
+        String text = dateFormat.format(date);
+        out.writeString(text);
+    }
+
+    final DateFormatter getDateFormatter(String pattern) {
+        DateFormatter formatter = this.dateFormatter;
+        if (formatter == null || !formatter.matches(pattern, timeZone, locale)) {
+            formatter = DateFormatter.forPattern(pattern, timeZone, locale);
+            if (formatter != null) {
+                this.dateFormatter = formatter;
+            }
+        }
+        return formatter;
+    }
+
     public SerialContext getContext() {
         return context;
     }
@@ -317,13 +356,7 @@ public class JSONSerializer extends SerializeFilterable {
 
     public final void writeWithFormat(Object object, String format) {
         if (object instanceof Date) {
-            DateFormat dateFormat = this.getDateFormat();
-            if (dateFormat == null) {
-                dateFormat = new SimpleDateFormat(format, locale);
-                dateFormat.setTimeZone(timeZone);
-            }
-            String text = dateFormat.format((Date) object);
-            out.writeString(text);
+            writeDate((Date) object, format);
             return;
         }
 
@@ -102,12 +102,7 @@ public class PrimitiveArraySerializer implements ObjectSerializer {
                     out.write(',');
                 }
                 
-                float item = array[i];
-                if (Float.isNaN(item)) {
-                    out.writeNull();
-                } else {
-                    out.append(Float.toString(item));
-                }
+                out.writeFloat(array[i], false, false);
             }
             out.write(']');
             return;
@@ -122,12 +117,7 @@ public class PrimitiveArraySerializer implements ObjectSerializer {
                     out.write(',');
                 }
                 
-                double item = array[i];
-                if (Double.isNaN(item)) {
-                    out.writeNull();
-                } else {
-                    out.append(Double.toString(item));
-                }
+                out.writeDouble(array[i], false, false);
             }
             out.write(']');
             return;
@@ -184,6 +184,8 @@ public class SerializeConfig {
     			if (format.length() != 0) {
     			    if (fieldInfo.fieldClass == String.class && "trim".equals(format)) {
 
+                    } else if (isAsmFormatField(fieldInfo.fieldClass, format)) {
+                        // asm代码会把format交给Jdk8DateCodec
                     } else {
                         asm = false;
                         break;
@@ -239,6 +241,12 @@ public class SerializeConfig {
 		return new JavaBeanSerializer(beanInfo);
 	}
 
+    private static boolean isAsmFormatField(Class<?> fieldClass, String format) {
+        return ASMUtils.checkConstant(format) //
+               && fieldClass.getName().startsWith("java.time.") //
+               && Modifier.isFinal(fieldClass.getModifiers());
+    }
+
 	public boolean isAsmEnable() {
 		return asm;
 	}
@@ -768,7 +776,14 @@ public class SerializeConfig {
     }
 	
 	public final ObjectSerializer get(Type key) {
-	    return this.serializers.get(key);
+	    ObjectSerializer serializer = this.serializers.get(key);
+	    if (serializer == null && !(key instanceof Class)) {
+	        Type canonicalKey = TypeInterner.intern(key);
+	        if (canonicalKey != key) {
+	            serializer = this.serializers.get(canonicalKey);
+	        }
+	    }
+	    return serializer;
 	}
 
     public boolean put(Object type, Object value) {
@@ -776,7 +791,7 @@ public class SerializeConfig {
     }
 
 	public boolean put(Type type, ObjectSerializer value) {
-        return this.serializers.put(type, value);
+        return this.serializers.put(TypeInterner.intern(type), value);
 	}
 
     /**
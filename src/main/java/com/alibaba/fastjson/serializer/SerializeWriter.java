@@ -17,7 +17,10 @@ package com.alibaba.fastjson.serializer;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.util.BufferPool;
 import com.alibaba.fastjson.util.IOUtils;
+import com.alibaba.fastjson.util.RyuDouble;
+import com.alibaba.fastjson.util.RyuFloat;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -34,11 +37,6 @@ import static com.alibaba.fastjson.util.IOUtils.replaceChars;
  */
 public final class SerializeWriter extends Writer {
 
-    /** 字符类型buffer */
-    private final static ThreadLocal<char[]> bufLocal      = new ThreadLocal<char[]>();
-    /** 字节类型buffer */
-    private final static ThreadLocal<byte[]> bytesBufLocal = new ThreadLocal<byte[]>();
-
     /** 存储序列化结果buffer */
     protected char                           buf[];
 
@@ -74,6 +72,17 @@ public final class SerializeWriter extends Writer {
 
     protected int                            maxBufSize = -1;
 
+    /** 超过这个长度后，buffer写满时封存为一段，不再整体扩容复制 */
+    final static int                         SEGMENT_SIZE = 1024 * 64;
+    /** 已封存的段 */
+    private char[][]                         segments;
+    private int[]                            segmentCounts;
+    private int                              segmentSize;
+    /** 已封存的字符数 */
+    private int                              sealedCount;
+    /** 有writer时，buf的内容超过这个长度就flush出去 */
+    private int                              flushThreshold = 2048;
+
     protected boolean                        browserSecure;
     protected long                           sepcialBits;
 
@@ -102,13 +111,32 @@ public final class SerializeWriter extends Writer {
     public SerializeWriter(Writer writer, int defaultFeatures, SerializerFeature... features){
         this.writer = writer;
 
-        buf = bufLocal.get();
+        // 上次扩容过的buf放回池中后直接拿来用，不用再从2048逐步扩容
+        buf = BufferPool.getDefault().allocChars(2048, BufferPool.MAX_SIZE);
 
-        if (buf != null) {
-            bufLocal.set(null);
-        } else {
-            buf = new char[2048];
+        int featuresValue = defaultFeatures;
+        for (SerializerFeature feature : features) {
+            featuresValue |= feature.getMask();
         }
+        this.features = featuresValue;
+
+        computeFeatures();
+    }
+
+    /**
+     * Streams to <code>writer</code>: the buffer holds exactly <code>flushThreshold</code> chars and its content is
+     * written to <code>writer</code> every time it is full, so the whole output is never kept in memory.
+     * 
+     * @since 1.2.45
+     */
+    public SerializeWriter(Writer writer, int flushThreshold, int defaultFeatures, SerializerFeature... features){
+        this.writer = writer;
+
+        if (flushThreshold <= 0) {
+            throw new IllegalArgumentException("Negative flush threshold: " + flushThreshold);
+        }
+        this.flushThreshold = flushThreshold;
+        buf = allocFlushBuffer();
 
         int featuresValue = defaultFeatures;
         for (SerializerFeature feature : features) {
@@ -241,10 +269,10 @@ public final class SerializeWriter extends Writer {
         /** 如果当前存储空间不够 */
         if (newcount > buf.length) {
             if (writer == null) {
-                expandCapacity(newcount);
+                newcount -= grow(newcount);
             } else {
-                /** 强制流输出并刷新缓冲区 */
-                flush();
+                /** 缓冲区写满，输出到流中 */
+                flushBuffer();
                 newcount = 1;
             }
         }
@@ -276,7 +304,7 @@ public final class SerializeWriter extends Writer {
         /** 如果当前存储空间不够 */
         if (newcount > buf.length) {
             if (writer == null) {
-                expandCapacity(newcount);
+                newcount -= grow(newcount);
             } else {
                 /**
                  * 如果字符数组c超过缓冲区大小, 进行循环拷贝
@@ -287,8 +315,8 @@ public final class SerializeWriter extends Writer {
                     /** c[off, off + rest) 拷贝到buf[count, ...]中*/
                     System.arraycopy(c, off, buf, count, rest);
                     count = buf.length;
-                    /** 强制刷新输出流，会重置count = 0 */
-                    flush();
+                    /** 输出到流中，会重置count = 0 */
+                    flushBuffer();
                     /** 计算剩余需要拷贝的字符数量 */
                     len -= rest;
                     /** 剩余要拷贝字符在c中偏移量(索引) */
@@ -302,7 +330,7 @@ public final class SerializeWriter extends Writer {
     }
 
     public void expandCapacity(int minimumCapacity) {
-        if (maxBufSize != -1 && minimumCapacity >= maxBufSize) {
+        if (maxBufSize != -1 && sealedCount + minimumCapacity >= maxBufSize) {
             throw new JSONException("serialize exceeded MAX_OUTPUT_LENGTH=" + maxBufSize + ", minimumCapacity=" + minimumCapacity);
         }
 
@@ -311,11 +339,77 @@ public final class SerializeWriter extends Writer {
         if (newCapacity < minimumCapacity) {
             newCapacity = minimumCapacity;
         }
-        char newValue[] = new char[newCapacity];
+        // 按池的尺寸档扩容，旧的buf还给池，close时新的buf也能回到池中
+        BufferPool pool = BufferPool.getDefault();
+        char newValue[] = pool.allocChars(newCapacity);
         System.arraycopy(buf, 0, newValue, 0, count);
+        pool.freeChars(buf);
         buf = newValue;
     }
     
+    /**
+     * 写一个新的值之前调用：当前buf已超过SEGMENT_SIZE时，把它封存为一段并换一个新的buf，已写的内容不复制；
+     * 否则和expandCapacity一样扩容。有writer时内容会被flush出去，不分段，flush之后仍放不下才扩容
+     * 
+     * @return 封存或flush的字符数，count会减少这么多，调用方基于count算出的下标要同样调整
+     */
+    private int grow(int minimumCapacity) {
+        if (writer != null) {
+            int flushed = count;
+            flushBuffer();
+            if (minimumCapacity - flushed > buf.length) {
+                expandCapacity(minimumCapacity - flushed);
+            }
+            return flushed;
+        }
+
+        if (count < SEGMENT_SIZE || Character.isHighSurrogate(buf[count - 1])) {
+            expandCapacity(minimumCapacity);
+            return 0;
+        }
+
+        if (maxBufSize != -1 && sealedCount + minimumCapacity >= maxBufSize) {
+            throw new JSONException("serialize exceeded MAX_OUTPUT_LENGTH=" + maxBufSize + ", minimumCapacity=" + minimumCapacity);
+        }
+
+        if (segments == null) {
+            segments = new char[8][];
+            segmentCounts = new int[8];
+        } else if (segmentSize == segments.length) {
+            char[][] newSegments = new char[segmentSize * 2][];
+            System.arraycopy(segments, 0, newSegments, 0, segmentSize);
+            segments = newSegments;
+            int[] newCounts = new int[segmentSize * 2];
+            System.arraycopy(segmentCounts, 0, newCounts, 0, segmentSize);
+            segmentCounts = newCounts;
+        }
+        segments[segmentSize] = buf;
+        segmentCounts[segmentSize] = count;
+        segmentSize++;
+
+        int sealed = count;
+        sealedCount += sealed;
+
+        int length = minimumCapacity - sealed;
+        buf = BufferPool.getDefault().allocChars(length > SEGMENT_SIZE ? length : SEGMENT_SIZE);
+        count = 0;
+        return sealed;
+    }
+
+    /**
+     * 把封存的段和当前buf合并成一个数组
+     */
+    private char[] gather(int length) {
+        char[] chars = new char[length];
+        int pos = 0;
+        for (int i = 0; i < segmentSize; ++i) {
+            System.arraycopy(segments[i], 0, chars, pos, segmentCounts[i]);
+            pos += segmentCounts[i];
+        }
+        System.arraycopy(buf, 0, chars, pos, count);
+        return chars;
+    }
+
     public SerializeWriter append(CharSequence csq) {
         String s = (csq == null ? "null" : csq.toString());
         write(s, 0, s.length());
@@ -346,7 +440,7 @@ public final class SerializeWriter extends Writer {
         /** 如果当前存储空间不够 */
         if (newcount > buf.length) {
             if (writer == null) {
-                expandCapacity(newcount);
+                newcount -= grow(newcount);
             } else {
                 /**
                  * 如果字符串str超过缓冲区大小, 进行循环拷贝
@@ -357,8 +451,8 @@ public final class SerializeWriter extends Writer {
                     /** 将字符串str[off, off + rest) 拷贝到buf[count, ...]中*/
                     str.getChars(off, off + rest, buf, count);
                     count = buf.length;
-                    /** 强制刷新输出流，会重置count = 0 */
-                    flush();
+                    /** 输出到流中，会重置count = 0 */
+                    flushBuffer();
                     /** 计算剩余需要拷贝的字符数量 */
                     len -= rest;
                     /** 剩余要拷贝字符在str中偏移量(索引) */
@@ -382,6 +476,9 @@ public final class SerializeWriter extends Writer {
         if (this.writer != null) {
             throw new UnsupportedOperationException("writer not null");
         }
+        for (int i = 0; i < segmentSize; ++i) {
+            out.write(segments[i], 0, segmentCounts[i]);
+        }
         out.write(buf, 0, count);
     }
 
@@ -401,7 +498,7 @@ public final class SerializeWriter extends Writer {
         if (charset == IOUtils.UTF8) {
             return encodeToUTF8(out);
         } else {
-            byte[] bytes = new String(buf, 0, count).getBytes(charset);
+            byte[] bytes = toString().getBytes(charset);
             out.write(bytes);
             return bytes.length;
         }
@@ -417,6 +514,10 @@ public final class SerializeWriter extends Writer {
             throw new UnsupportedOperationException("writer not null");
         }
 
+        if (segmentSize != 0) {
+            return gather(sealedCount + count);
+        }
+
         char[] newValue = new char[count];
         System.arraycopy(buf, 0, newValue, 0, count);
         return newValue;
@@ -431,8 +532,9 @@ public final class SerializeWriter extends Writer {
             throw new UnsupportedOperationException("writer not null");
         }
 
-        char[] newValue = new char[count - 2];
-        System.arraycopy(buf, 1, newValue, 0, count - 2);
+        char[] chars = segmentSize != 0 ? gather(sealedCount + count) : buf;
+        char[] newValue = new char[sealedCount + count - 2];
+        System.arraycopy(chars, 1, newValue, 0, newValue.length);
         return newValue;
     }
 
@@ -450,53 +552,69 @@ public final class SerializeWriter extends Writer {
         if (charset == IOUtils.UTF8) {
             return encodeToUTF8Bytes();
         } else {
-            return new String(buf, 0, count).getBytes(charset);
+            return toString().getBytes(charset);
         }
     }
 
     private int encodeToUTF8(OutputStream out) throws IOException {
+        BufferPool pool = BufferPool.getDefault();
+        byte[] bytes = pool.allocBytes(1024 * 8);
 
-        int bytesLength = (int) (count * (double) 3);
-        byte[] bytes = bytesBufLocal.get();
-
-        if (bytes == null) {
-            bytes = new byte[1024 * 8];
-            bytesBufLocal.set(bytes);
-        }
-
-        if (bytes.length < bytesLength) {
-            bytes = new byte[bytesLength];
+        try {
+            // 分段编码写出，不再按count * 3分配临时数组
+            int size = 0;
+            for (int i = 0; i < segmentSize; ++i) {
+                size += IOUtils.writeUTF8(segments[i], 0, segmentCounts[i], bytes, out);
+            }
+            return size + IOUtils.writeUTF8(buf, 0, count, bytes, out);
+        } finally {
+            pool.freeBytes(bytes);
         }
-
-        int position = IOUtils.encodeUTF8(buf, 0, count, bytes);
-        out.write(bytes, 0, position);
-        return position;
     }
     
     private byte[] encodeToUTF8Bytes() {
-        int bytesLength = (int) (count * (double) 3);
-        byte[] bytes = bytesBufLocal.get();
-
-        if (bytes == null) {
-            bytes = new byte[1024 * 8];
-            bytesBufLocal.set(bytes);
+        if (segmentSize != 0) {
+            // 逐段编码到结果数组中
+            int length = IOUtils.utf8Length(buf, 0, count);
+            for (int i = 0; i < segmentSize; ++i) {
+                length += IOUtils.utf8Length(segments[i], 0, segmentCounts[i]);
+            }
+            byte[] bytes = new byte[length];
+            int pos = 0;
+            for (int i = 0; i < segmentSize; ++i) {
+                pos = IOUtils.encodeUTF8(segments[i], 0, segmentCounts[i], bytes, pos);
+            }
+            IOUtils.encodeUTF8(buf, 0, count, bytes, pos);
+            return bytes;
         }
 
-        if (bytes.length < bytesLength) {
-            bytes = new byte[bytesLength];
+        if (count * 3 > 1024 * 8) {
+            // 先算出编码后的长度，直接编码到结果数组中
+            byte[] bytes = new byte[IOUtils.utf8Length(buf, 0, count)];
+            IOUtils.encodeUTF8(buf, 0, count, bytes);
+            return bytes;
         }
 
-        int position = IOUtils.encodeUTF8(buf, 0, count, bytes);
-        byte[] copy = new byte[position];
-        System.arraycopy(bytes, 0, copy, 0, position);
-        return copy;
+        BufferPool pool = BufferPool.getDefault();
+        byte[] bytes = pool.allocBytes(1024 * 8);
+        try {
+            int position = IOUtils.encodeUTF8(buf, 0, count, bytes);
+            byte[] copy = new byte[position];
+            System.arraycopy(bytes, 0, copy, 0, position);
+            return copy;
+        } finally {
+            pool.freeBytes(bytes);
+        }
     }
     
     public int size() {
-        return count;
+        return sealedCount + count;
     }
 
     public String toString() {
+        if (segmentSize != 0) {
+            return new String(gather(sealedCount + count));
+        }
         return new String(buf, 0, count);
     }
 
@@ -508,9 +626,14 @@ public final class SerializeWriter extends Writer {
         if (writer != null && count > 0) {
             flush();
         }
-        if (buf.length <= 1024 * 128) {
-            bufLocal.set(buf);
+        BufferPool pool = BufferPool.getDefault();
+        for (int i = 0; i < segmentSize; ++i) {
+            pool.freeChars(segments[i]);
+            segments[i] = null;
         }
+        segmentSize = 0;
+        sealedCount = 0;
+        pool.freeChars(buf);
 
         this.buf = null;
     }
@@ -539,7 +662,7 @@ public final class SerializeWriter extends Writer {
         if (newcount > buf.length) {
             if (writer == null) {
                 /** 扩容到为原有buf容量1.5倍+1, copy原有buf的字符*/
-                expandCapacity(newcount);
+                newcount -= grow(newcount);
             } else {
                 char[] chars = new char[size];
                 /** 将整数i转换成单字符并存储到chars数组 */
@@ -638,7 +761,9 @@ public final class SerializeWriter extends Writer {
                 write(quote);
                 return;
             }
-            expandCapacity(newcount);
+            int shift = grow(newcount);
+            newcount -= shift;
+            offset -= shift;
         }
         count = newcount;
         buf[offset++] = quote;
@@ -676,7 +801,7 @@ public final class SerializeWriter extends Writer {
         int newcount = count + bytes.length * 2 + 3;
         if (newcount > buf.length) {
             if (writer != null) {
-                char[] chars = new char[bytes.length + 3];
+                char[] chars = new char[bytes.length * 2 + 3];
                 int pos = 0;
                 chars[pos++] = 'x';
                 chars[pos++] = '\'';
@@ -698,15 +823,12 @@ public final class SerializeWriter extends Writer {
                     chars[pos++] = (char) (b1 + (b1 < 10 ? 48 : 55));
                 }
                 chars[pos++] = '\'';
-                try {
-                    writer.write(chars);
-                } catch (IOException ex) {
-                    throw new JSONException("writeBytes error.", ex);
-                }
+                /** 经过write输出，buf中已有的内容先flush，保证顺序 */
+                write(chars, 0, pos);
                 return;
             }
             /** buffer容量不够并且输出器为空，触发扩容 */
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         buf[count++] = 'x';
@@ -732,18 +854,35 @@ public final class SerializeWriter extends Writer {
     }
 
     public void writeFloat(float value, boolean checkWriteClassName) {
+        writeFloat(value, checkWriteClassName, true);
+    }
+
+    /**
+     * @param trimZero 启用WriteNullNumberAsZero时是否去掉结尾的.0，float[]中的元素一直保留
+     */
+    void writeFloat(float value, boolean checkWriteClassName, boolean trimZero) {
         /** 如果value不合法或者是无穷数，调用writeNull */
         if (Float.isNaN(value) //
                 || Float.isInfinite(value)) {
             writeNull();
         } else {
-            /** 将高精度float转换为字符串 */
-            String floatText= Float.toString(value);
-            /** 启动WriteNullNumberAsZero特性，会将结尾.0去除 */
-            if (isEnabled(SerializerFeature.WriteNullNumberAsZero) && floatText.endsWith(".0")) {
-                floatText = floatText.substring(0, floatText.length() - 2);
+            /** 最短的能还原回原值的十进制表示，直接写到buf中，最多15个字符 */
+            int newcount = count + 15;
+            if (newcount > buf.length) {
+                if (writer == null) {
+                    newcount -= grow(newcount);
+                } else {
+                    char[] chars = new char[15];
+                    int len = trimZeroFraction(chars, 0, RyuFloat.toString(value, chars, 0), trimZero);
+                    write(chars, 0, len);
+                    if (checkWriteClassName && isEnabled(SerializerFeature.WriteClassName)) {
+                        write('F');
+                    }
+                    return;
+                }
             }
-            write(floatText);
+
+            count += trimZeroFraction(buf, count, RyuFloat.toString(value, buf, count), trimZero);
 
             /** 如果开启序列化WriteClassName特性，输出float类型 */
             if (checkWriteClassName && isEnabled(SerializerFeature.WriteClassName)) {
@@ -753,20 +892,35 @@ public final class SerializeWriter extends Writer {
     }
 
     public void writeDouble(double doubleValue, boolean checkWriteClassName) {
+        writeDouble(doubleValue, checkWriteClassName, true);
+    }
+
+    /**
+     * @param trimZero 启用WriteNullNumberAsZero时是否去掉结尾的.0，double[]中的元素一直保留
+     */
+    void writeDouble(double doubleValue, boolean checkWriteClassName, boolean trimZero) {
         /** 如果doubleValue不合法或者是无穷数，调用writeNull */
         if (Double.isNaN(doubleValue)
                 || Double.isInfinite(doubleValue)) {
             writeNull();
         } else {
-            /** 将高精度double转换为字符串 */
-            String doubleText = Double.toString(doubleValue);
-            /** 启动WriteNullNumberAsZero特性，会将结尾.0去除 */
-            if (isEnabled(SerializerFeature.WriteNullNumberAsZero) && doubleText.endsWith(".0")) {
-                doubleText = doubleText.substring(0, doubleText.length() - 2);
+            /** 最短的能还原回原值的十进制表示，直接写到buf中，最多24个字符 */
+            int newcount = count + 24;
+            if (newcount > buf.length) {
+                if (writer == null) {
+                    newcount -= grow(newcount);
+                } else {
+                    char[] chars = new char[24];
+                    int len = trimZeroFraction(chars, 0, RyuDouble.toString(doubleValue, chars, 0), trimZero);
+                    write(chars, 0, len);
+                    if (checkWriteClassName && isEnabled(SerializerFeature.WriteClassName)) {
+                        write('D');
+                    }
+                    return;
+                }
             }
 
-            /** 调用字符串输出方法 */
-            write(doubleText);
+            count += trimZeroFraction(buf, count, RyuDouble.toString(doubleValue, buf, count), trimZero);
 
             /** 如果开启序列化WriteClassName特性，输出Double类型 */
             if (checkWriteClassName && isEnabled(SerializerFeature.WriteClassName)) {
@@ -775,6 +929,20 @@ public final class SerializeWriter extends Writer {
         }
     }
 
+    /**
+     * 启动WriteNullNumberAsZero特性，会将结尾.0去除
+     */
+    private int trimZeroFraction(char[] chars, int off, int len, boolean trimZero) {
+        if (trimZero //
+            && len > 2 //
+            && chars[off + len - 1] == '0' //
+            && chars[off + len - 2] == '.' //
+            && isEnabled(SerializerFeature.WriteNullNumberAsZero)) {
+            return len - 2;
+        }
+        return len;
+    }
+
     public void writeEnum(Enum<?> value) {
         if (value == null) {
             /** 如果枚举value为空，调用writeNull输出 */
@@ -824,7 +992,7 @@ public final class SerializeWriter extends Writer {
         if (newcount > buf.length) {
             if (writer == null) {
                 /** 扩容到为原有buf容量1.5倍+1, copy原有buf的字符*/
-                expandCapacity(newcount);
+                newcount -= grow(newcount);
             } else {
                 char[] chars = new char[size];
                 /** 将长整数i转换成单字符并存储到chars数组 */
@@ -988,7 +1156,7 @@ public final class SerializeWriter extends Writer {
                 return;
             }
             /** buffer容量不够并且输出器为空，触发扩容 */
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         int start = count + 1;
@@ -1389,7 +1557,7 @@ public final class SerializeWriter extends Writer {
                 }
                 return;
             }
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         int start = count + 1;
@@ -1679,7 +1847,7 @@ public final class SerializeWriter extends Writer {
         int newcount = count + len + 3;
 
         if (newcount > buf.length) {
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         int start = count + 1;
@@ -1807,7 +1975,7 @@ public final class SerializeWriter extends Writer {
                 return;
             }
             /** 输出器writer为null触发扩容，扩容到为原有buf容量1.5倍+1, copy原有buf的字符*/
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         int start = count;
@@ -1867,7 +2035,7 @@ public final class SerializeWriter extends Writer {
                 return;
             }
             /** 扩容到为原有buf容量1.5倍+1, copy原有buf的字符*/
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         int start = count;
@@ -1910,7 +2078,7 @@ public final class SerializeWriter extends Writer {
                 writeLong(value);
                 return;
             }
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         int start = count;
@@ -1993,7 +2161,7 @@ public final class SerializeWriter extends Writer {
                 writeStringWithDoubleQuote(value, (char) 0);
                 return;
             }
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         buf[count] = seperator;
@@ -2211,7 +2379,7 @@ public final class SerializeWriter extends Writer {
                 writeStringWithDoubleQuote(value, (char) 0);
                 return;
             }
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         buf[count] = seperator;
@@ -2268,8 +2436,97 @@ public final class SerializeWriter extends Writer {
         if (value == null) {
             writeNull();
         } else {
-            write(value.toString());
+            writeDecimal(value, isEnabled(SerializerFeature.WriteBigDecimalAsPlain));
+        }
+    }
+
+    /**
+     * 按BigDecimal.toString或者toPlainString的格式输出。不超过18位有效数字时直接从unscaled value和scale生成字符，
+     * 不构造中间字符串
+     *
+     * @since 1.2.45
+     */
+    public void writeDecimal(BigDecimal value, boolean plain) {
+        final int scale = value.scale();
+        final int digits = value.precision();
+        if (digits > 18 || (plain && scale < 0)) {
+            write(plain ? value.toPlainString() : value.toString());
+            return;
+        }
+
+        long unscaled = scale == 0 ? value.longValue() : value.unscaledValue().longValue();
+        final boolean negative = unscaled < 0;
+        if (negative) {
+            unscaled = -unscaled;
+        }
+
+        final int adjusted = digits - 1 - scale;
+        /** 和BigDecimal.toString一致，scale为负数或者调整后的指数小于-6时用科学计数法 */
+        final boolean scientific = !plain && (scale < 0 || adjusted < -6);
+
+        int size;
+        if (scientific) {
+            size = (digits > 1 ? digits + 1 : 1) + 2 + IOUtils.stringSize(adjusted < 0 ? -adjusted : adjusted);
+        } else if (scale == 0) {
+            size = digits;
+        } else if (digits > scale) {
+            size = digits + 1;
+        } else {
+            size = scale + 2;
+        }
+        if (negative) {
+            size++;
+        }
+
+        int newcount = count + size;
+        if (newcount > buf.length) {
+            if (writer == null) {
+                newcount -= grow(newcount);
+            } else {
+                write(plain ? value.toPlainString() : value.toString());
+                return;
+            }
+        }
+
+        final char[] buf = this.buf;
+        int pos = count;
+        if (negative) {
+            buf[pos++] = '-';
+        }
+
+        if (scientific) {
+            // 先把数字写到pos + 1开始的位置，再把第一位移到前面，空出来的位置放小数点
+            IOUtils.getChars(unscaled, pos + 1 + digits, buf);
+            buf[pos] = buf[pos + 1];
+            if (digits > 1) {
+                buf[pos + 1] = '.';
+                pos += digits + 1;
+            } else {
+                pos++;
+            }
+            buf[pos++] = 'E';
+            buf[pos] = adjusted < 0 ? '-' : '+';
+            IOUtils.getChars(adjusted < 0 ? -adjusted : adjusted, newcount, buf);
+        } else if (scale == 0) {
+            IOUtils.getChars(unscaled, newcount, buf);
+        } else if (digits > scale) {
+            // 和科学计数法一样往后错一位写，再把通常很短的整数部分前移，空出小数点的位置
+            int integerEnd = pos + digits - scale;
+            IOUtils.getChars(unscaled, newcount, buf);
+            for (; pos < integerEnd; ++pos) {
+                buf[pos] = buf[pos + 1];
+            }
+            buf[integerEnd] = '.';
+        } else {
+            buf[pos++] = '0';
+            buf[pos++] = '.';
+            for (int i = digits; i < scale; ++i) {
+                buf[pos++] = '0';
+            }
+            IOUtils.getChars(unscaled, newcount, buf);
         }
+
+        count = newcount;
     }
 
     public void writeString(String text, char seperator) {
@@ -2302,7 +2559,7 @@ public final class SerializeWriter extends Writer {
         if (text == null) {
             int newcount = count + 4;
             if (newcount > buf.length) {
-                expandCapacity(newcount);
+                newcount -= grow(newcount);
             }
             /** 如果字符串为null，输出"null"字符串 */
             "null".getChars(0, 4, buf, count);
@@ -2331,7 +2588,7 @@ public final class SerializeWriter extends Writer {
                 return;
             }
             /** buffer容量不够并且输出器为空，触发扩容 */
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         int start = count + 1;
@@ -2398,7 +2655,7 @@ public final class SerializeWriter extends Writer {
         if (chars == null) {
             int newcount = count + 4;
             if (newcount > buf.length) {
-                expandCapacity(newcount);
+                newcount -= grow(newcount);
             }
             "null".getChars(0, 4, buf, count);
             count = newcount;
@@ -2423,7 +2680,7 @@ public final class SerializeWriter extends Writer {
                 write('\'');
                 return;
             }
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         int start = count + 1;
@@ -2571,13 +2828,13 @@ public final class SerializeWriter extends Writer {
                 return;
             }
             /** 输出器writer为null触发扩容，扩容到为原有buf容量1.5倍+1, copy原有buf的字符*/
-            expandCapacity(newcount);
+            newcount -= grow(newcount);
         }
 
         if (len == 0) {
             int newCount = count + 3;
             if (newCount > buf.length) {
-                expandCapacity(count + 3);
+                grow(count + 3);
             }
             buf[count++] = '\'';
             buf[count++] = '\'';
@@ -2639,13 +2896,48 @@ public final class SerializeWriter extends Writer {
             return;
         }
 
+        flushBuffer();
+
         try {
-            writer.write(buf, 0, count);
             writer.flush();
         } catch (IOException e) {
             throw new JSONException(e.getMessage(), e);
         }
+    }
+
+    /**
+     * 缓冲区的内容写到writer中，但不刷新writer
+     */
+    void flushBuffer() {
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.write(buf, 0, count);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
         count = 0;
+
+        // 单个值超长时buf被扩容过，flush之后换回阈值大小的buf，后面的flush仍然按阈值进行
+        if (buf.length > flushThreshold) {
+            BufferPool.getDefault().freeChars(buf);
+            buf = allocFlushBuffer();
+        }
+    }
+
+    /**
+     * 池中的缓冲区按尺寸档取整，阈值不是尺寸档时直接分配，保证buf.length就是flush的阈值
+     */
+    private char[] allocFlushBuffer() {
+        BufferPool pool = BufferPool.getDefault();
+        char[] chars = pool.allocChars(flushThreshold);
+        if (chars.length != flushThreshold) {
+            pool.freeChars(chars);
+            chars = new char[flushThreshold];
+        }
+        return chars;
     }
 
 
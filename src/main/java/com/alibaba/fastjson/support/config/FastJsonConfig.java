@@ -68,6 +68,11 @@ public class FastJsonConfig {
 
     protected boolean writeContentLength = true;
 
+    /**
+     * responses up to this many bytes are buffered to write the Content-Length, larger ones are streamed
+     */
+    protected int contentLengthBufferSize = 1024 * 64;
+
     /**
      * init param.
      */
@@ -214,4 +219,18 @@ public class FastJsonConfig {
     public void setWriteContentLength(boolean writeContentLength) {
         this.writeContentLength = writeContentLength;
     }
+
+    /**
+     * @since 1.2.45
+     */
+    public int getContentLengthBufferSize() {
+        return contentLengthBufferSize;
+    }
+
+    /**
+     * @since 1.2.45
+     */
+    public void setContentLengthBufferSize(int contentLengthBufferSize) {
+        this.contentLengthBufferSize = contentLengthBufferSize;
+    }
 }
@@ -21,6 +21,7 @@ import org.springframework.util.StringUtils;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
@@ -212,10 +213,10 @@ public class FastJsonHttpMessageConverter extends AbstractHttpMessageConverter<O
     @Override
     protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
 
-        ByteArrayOutputStream outnew = new ByteArrayOutputStream();
+        HttpHeaders headers = outputMessage.getHeaders();
+        BodyOutputStream out = new BodyOutputStream(outputMessage, //
+                fastJsonConfig.isWriteContentLength() ? fastJsonConfig.getContentLengthBufferSize() : 0);
         try {
-            HttpHeaders headers = outputMessage.getHeaders();
-
             //获取全局配置的filter
             SerializeFilter[] globalFilters = fastJsonConfig.getSerializeFilters();
             List<SerializeFilter> allFilters = new ArrayList<SerializeFilter>(Arrays.asList(globalFilters));
@@ -243,8 +244,11 @@ public class FastJsonHttpMessageConverter extends AbstractHttpMessageConverter<O
                 isJsonp = true;
             }
 
+            if (isJsonp) {
+                headers.setContentType(APPLICATION_JAVASCRIPT);
+            }
 
-            int len = JSON.writeJSONString(outnew, //
+            JSON.writeJSONString(out, //
                     fastJsonConfig.getCharset(), //
                     value, //
                     fastJsonConfig.getSerializeConfig(), //
@@ -254,20 +258,62 @@ public class FastJsonHttpMessageConverter extends AbstractHttpMessageConverter<O
                     JSON.DEFAULT_GENERATE_FEATURE, //
                     fastJsonConfig.getSerializerFeatures());
 
-            if (isJsonp) {
-                headers.setContentType(APPLICATION_JAVASCRIPT);
-            }
+            out.finish(fastJsonConfig.isWriteContentLength());
+
+        } catch (JSONException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * 输出不超过bufferSize时先缓存，结束时写Content-Length；超过后直接写到响应中，不再保留整个输出
+     */
+    private static class BodyOutputStream extends OutputStream {
+
+        private final HttpOutputMessage     outputMessage;
+        private final int                   bufferSize;
+        private       ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private       OutputStream          body;
+
+        BodyOutputStream(HttpOutputMessage outputMessage, int bufferSize) {
+            this.outputMessage = outputMessage;
+            this.bufferSize = bufferSize;
+        }
 
-            if (fastJsonConfig.isWriteContentLength()) {
-                headers.setContentLength(len);
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (body == null) {
+                if (buffer.size() + len <= bufferSize) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                body = outputMessage.getBody();
+                buffer.writeTo(body);
+                buffer = null;
             }
+            body.write(b, off, len);
+        }
 
-            outnew.writeTo(outputMessage.getBody());
+        @Override
+        public void flush() throws IOException {
+            if (body != null) {
+                body.flush();
+            }
+        }
 
-        } catch (JSONException ex) {
-            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
-        } finally {
-            outnew.close();
+        void finish(boolean writeContentLength) throws IOException {
+            if (body != null) {
+                return;
+            }
+            if (writeContentLength) {
+                outputMessage.getHeaders().setContentLength(buffer.size());
+            }
+            buffer.writeTo(outputMessage.getBody());
         }
     }
 
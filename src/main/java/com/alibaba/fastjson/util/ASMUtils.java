@@ -112,6 +112,21 @@ public class ASMUtils {
     }
 
 
+    /**
+     * 字节码里的字符串常量只支持ASCII
+     *
+     * @since 1.2.45
+     */
+    public static boolean checkConstant(String text) {
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            if (c < '\001' || c > '\177') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static String[] lookupParameterNames(AccessibleObject methodOrCtor) {
         if (IS_ANDROID) {
             return new String[0];
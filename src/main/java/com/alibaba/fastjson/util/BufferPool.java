@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+/**
+ * Source of the temporary char[] and byte[] buffers used by the lexers, SerializeWriter and the byte based methods of
+ * JSON. Buffers are grouped in power of two size classes from {@link #MIN_SIZE} to {@link #MAX_SIZE}; larger requests
+ * are plain allocations and are not kept when freed.
+ * <p>
+ * The default pool is a {@link StripedBufferPool} shared by all threads. Setting the system property (or the
+ * fastjson.properties entry) <code>fastjson.bufferPool=threadLocal</code> selects the per thread caching of the
+ * earlier versions, and {@link #setDefault(BufferPool)} installs any other implementation.
+ *
+ * @since 1.2.45
+ */
+public abstract class BufferPool {
+
+    public final static String        BUFFER_POOL_PROPERTY = "fastjson.bufferPool";
+
+    public final static int           MIN_SIZE_EXP         = 9;
+    public final static int           MAX_SIZE_EXP         = 17;
+    /** 512 */
+    public final static int           MIN_SIZE             = 1 << MIN_SIZE_EXP;
+    /** 128k */
+    public final static int           MAX_SIZE             = 1 << MAX_SIZE_EXP;
+    protected final static int        SIZE_CLASSES         = MAX_SIZE_EXP - MIN_SIZE_EXP + 1;
+
+    private static volatile BufferPool defaultPool;
+
+    static {
+        String property = IOUtils.getStringProperty(BUFFER_POOL_PROPERTY);
+        if ("threadLocal".equals(property)) {
+            defaultPool = new ThreadLocalBufferPool();
+        } else {
+            defaultPool = new StripedBufferPool();
+        }
+    }
+
+    public static BufferPool getDefault() {
+        return defaultPool;
+    }
+
+    public static void setDefault(BufferPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool is null");
+        }
+        defaultPool = pool;
+    }
+
+    /**
+     * @return a buffer whose length is <code>length</code> rounded up to its size class, or exactly
+     * <code>length</code> if it is larger than {@link #MAX_SIZE}; its content is undefined
+     */
+    public abstract char[] allocChars(int length);
+
+    /**
+     * Like {@link #allocChars(int)}, but an idle buffer of a larger size class, up to the one of
+     * <code>maxLength</code>, is preferred, so a writer whose buffer grew last time starts at that size and does not
+     * grow and copy again. The default implementation ignores <code>maxLength</code>.
+     */
+    public char[] allocChars(int length, int maxLength) {
+        return allocChars(length);
+    }
+
+    /**
+     * Gives the buffer back, the caller must not use it afterwards. <code>null</code> is ignored.
+     */
+    public abstract void freeChars(char[] chars);
+
+    /**
+     * @return a buffer whose length is <code>length</code> rounded up to its size class, or exactly
+     * <code>length</code> if it is larger than {@link #MAX_SIZE}; its content is undefined
+     */
+    public abstract byte[] allocBytes(int length);
+
+    /**
+     * Gives the buffer back, the caller must not use it afterwards. <code>null</code> is ignored.
+     */
+    public abstract void freeBytes(byte[] bytes);
+
+    /**
+     * @return size class able to hold <code>length</code> elements, -1 if it is larger than {@link #MAX_SIZE}
+     */
+    protected static int allocClass(int length) {
+        if (length <= MIN_SIZE) {
+            return 0;
+        }
+        if (length > MAX_SIZE) {
+            return -1;
+        }
+        return 32 - Integer.numberOfLeadingZeros(length - 1) - MIN_SIZE_EXP;
+    }
+
+    /**
+     * @return the size class of a buffer of <code>length</code> elements, -1 if the length is not exactly one of the
+     * size classes and the buffer should not be kept
+     */
+    protected static int freeClass(int length) {
+        if (length < MIN_SIZE || length > MAX_SIZE || (length & (length - 1)) != 0) {
+            return -1;
+        }
+        return 31 - Integer.numberOfLeadingZeros(length) - MIN_SIZE_EXP;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of the classes resolved by {@link TypeUtils#loadClass(String, ClassLoader, boolean)}, keyed by class
+ * loader and class name.
+ * <p>
+ * Both the class loader and the class are weakly referenced, so a redeployed webapp can be unloaded. Names that fail
+ * to load are cached as well, as {@link #NOT_FOUND}. The cache is split into segments, each one a synchronized access
+ * ordered {@link LinkedHashMap} that evicts its least recently used entry when full, so unknown names coming from
+ * <code>@type</code> can not grow it without bound.
+ *
+ * @since 1.2.45
+ */
+public class ClassCache {
+
+    public final static int      DEFAULT_MAX_SIZE = 1024 * 4;
+
+    /** 缓存的加载失败结果 */
+    public final static Class<?> NOT_FOUND        = NotFound.class;
+
+    private final static int     SEGMENTS         = 16;
+
+    private final Segment[]      segments;
+    private final int            maxSize;
+
+    private final AtomicLong     hitCount         = new AtomicLong();
+    private final AtomicLong     missCount        = new AtomicLong();
+    private final AtomicLong     evictionCount    = new AtomicLong();
+
+    public ClassCache(){
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ClassCache(int maxSize){
+        if (maxSize < SEGMENTS) {
+            throw new IllegalArgumentException("maxSize " + maxSize);
+        }
+        this.maxSize = maxSize;
+
+        int segmentSize = (maxSize + SEGMENTS - 1) / SEGMENTS;
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; ++i) {
+            segments[i] = new Segment(segmentSize, evictionCount);
+        }
+    }
+
+    /**
+     * @param mappedOnly only return classes that were put with <code>mapped</code> set
+     * @return the class, {@link #NOT_FOUND} for a cached failure, or null if there is no usable entry
+     */
+    public Class<?> get(ClassLoader classLoader, String className, boolean mappedOnly) {
+        Lookup key = new Lookup(classLoader, className);
+        Segment segment = segmentFor(key.hash);
+
+        Value value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+
+        if (value != null) {
+            if (value.classRef == null) {
+                hitCount.incrementAndGet();
+                return NOT_FOUND;
+            }
+
+            Class<?> clazz = value.classRef.get();
+            if (clazz != null && (value.mapped || !mappedOnly)) {
+                hitCount.incrementAndGet();
+                return clazz;
+            }
+        }
+
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @param clazz the loaded class, null if the class could not be loaded
+     * @param mapped whether {@link TypeUtils#getClassFromMapping(String)} may return the class
+     */
+    public void put(ClassLoader classLoader, String className, Class<?> clazz, boolean mapped) {
+        StoredKey key = new StoredKey(classLoader, className);
+        Value value = new Value(clazz == null ? null : new WeakReference<Class<?>>(clazz), mapped);
+
+        Segment segment = segmentFor(key.hash);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private Segment segmentFor(int hash) {
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENTS - 1)];
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Segment extends LinkedHashMap<Key, Value> {
+
+        private final int        capacity;
+        private final AtomicLong evictionCount;
+
+        Segment(int capacity, AtomicLong evictionCount){
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictionCount = evictionCount;
+        }
+
+        protected boolean removeEldestEntry(Map.Entry<Key, Value> eldest) {
+            if (size() > capacity) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Value {
+
+        /** null表示加载失败 */
+        final WeakReference<Class<?>> classRef;
+        final boolean                 mapped;
+
+        Value(WeakReference<Class<?>> classRef, boolean mapped){
+            this.classRef = classRef;
+            this.mapped = mapped;
+        }
+    }
+
+    /**
+     * 查找用Lookup，强引用classLoader；存进去的是StoredKey，弱引用classLoader
+     */
+    private static abstract class Key {
+
+        final String  className;
+        final boolean hasClassLoader;
+        final int     hash;
+
+        Key(ClassLoader classLoader, String className){
+            this.className = className;
+            this.hasClassLoader = classLoader != null;
+            this.hash = className.hashCode() * 31 + System.identityHashCode(classLoader);
+        }
+
+        abstract ClassLoader classLoader();
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) o;
+            if (hash != other.hash || hasClassLoader != other.hasClassLoader || !className.equals(other.className)) {
+                return false;
+            }
+            // classLoader被回收后不再和任何key相等，等着被LRU淘汰
+            ClassLoader classLoader = classLoader();
+            return classLoader == other.classLoader() && (classLoader != null || !hasClassLoader);
+        }
+    }
+
+    private static final class Lookup extends Key {
+
+        final ClassLoader classLoader;
+
+        Lookup(ClassLoader classLoader, String className){
+            super(classLoader, className);
+            this.classLoader = classLoader;
+        }
+
+        ClassLoader classLoader() {
+            return classLoader;
+        }
+    }
+
+    private static final class StoredKey extends Key {
+
+        final WeakReference<ClassLoader> classLoaderRef;
+
+        StoredKey(ClassLoader classLoader, String className){
+            super(classLoader, className);
+            this.classLoaderRef = classLoader == null ? null : new WeakReference<ClassLoader>(classLoader);
+        }
+
+        ClassLoader classLoader() {
+            return classLoaderRef == null ? null : classLoaderRef.get();
+        }
+    }
+
+    private static final class NotFound {
+    }
+}
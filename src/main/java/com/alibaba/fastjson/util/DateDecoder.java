@@ -0,0 +1,269 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Decodes the common fixed layouts of dates straight to epoch millis, without creating a {@link Calendar}:
+ *
+ * <pre>
+ * yyyy-MM-dd
+ * yyyy-MM-dd'T'HH:mm:ss
+ * yyyy-MM-dd'T'HH:mm:ss.SSS
+ * </pre>
+ *
+ * The date and time may also be separated by a space, and the time may be followed by <code>Z</code> or an offset in
+ * the <code>+HH:mm</code>, <code>+HHmm</code> or <code>+HH</code> form. Text with an explicit offset is converted
+ * arithmetically; otherwise the offset of the time zone is looked up once per local day and cached.
+ * <p>
+ * Anything the decoder is not sure about returns {@link #NOT_MATCH} and is left to the Calendar based code: other
+ * layouts, out of range fields, years before the Gregorian cutover or after 3999, days with a daylight saving
+ * transition and locales whose default calendar is not Gregorian.
+ *
+ * @since 1.2.45
+ */
+public final class DateDecoder {
+
+    public static final long         NOT_MATCH         = Long.MIN_VALUE;
+    public static final int          NO_OFFSET         = Integer.MIN_VALUE;
+
+    private static final long        MILLIS_PER_DAY    = 24L * 60 * 60 * 1000;
+    private static final int         MAX_OFFSET        = 18 * 60 * 60 * 1000;
+
+    private static volatile ZoneDay  zoneDay;
+
+    private DateDecoder(){
+    }
+
+    /**
+     * @param strict only accept 'T' between the date and the time
+     * @return epoch millis, or {@link #NOT_MATCH}
+     */
+    public static long parse(String text, int off, int len, boolean strict, TimeZone timeZone, Locale locale) {
+        if (len < 10) {
+            return NOT_MATCH;
+        }
+
+        int year = digits4(text, off);
+        int month = digits2(text, off + 5);
+        int day = digits2(text, off + 8);
+        // 和JSONScanner原来的检查一致，只接受1583到3999年
+        if (year < 1583 || year > 3999 || month < 1 || month > 12 || day < 1 || day > 31 //
+            || text.charAt(off + 4) != '-' || text.charAt(off + 7) != '-') {
+            return NOT_MATCH;
+        }
+
+        int hour = 0, minute = 0, second = 0, millis = 0;
+        int pos = 10;
+        if (len > 10) {
+            char t = text.charAt(off + 10);
+            if (len < 19 || (t != 'T' && (t != ' ' || strict))) {
+                return NOT_MATCH;
+            }
+            hour = digits2(text, off + 11);
+            minute = digits2(text, off + 14);
+            second = digits2(text, off + 17);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || text.charAt(off + 13) != ':' || text.charAt(off + 16) != ':') {
+                return NOT_MATCH;
+            }
+            pos = 19;
+
+            if (len > 19 && text.charAt(off + 19) == '.') {
+                // 只处理3位毫秒，其它位数由原来的代码处理
+                if (len < 23) {
+                    return NOT_MATCH;
+                }
+                int S0 = text.charAt(off + 20) - '0', S1 = text.charAt(off + 21) - '0', S2 = text.charAt(off + 22) - '0';
+                if (S0 < 0 || S0 > 9 || S1 < 0 || S1 > 9 || S2 < 0 || S2 > 9) {
+                    return NOT_MATCH;
+                }
+                millis = S0 * 100 + S1 * 10 + S2;
+                pos = 23;
+            }
+        }
+
+        long localMillis = (daysFromCivil(year, month, day) * 86400L + hour * 3600 + minute * 60 + second) * 1000L
+                           + millis;
+
+        if (pos == len) {
+            return toUTC(localMillis, timeZone, locale);
+        }
+
+        if (pos == 10) {
+            return NOT_MATCH;
+        }
+
+        int offset = zoneOffset(text, off + pos, len - pos);
+        if (offset == NO_OFFSET || !isGregorian(timeZone, locale)) {
+            return NOT_MATCH;
+        }
+        return localMillis - offset;
+    }
+
+    /**
+     * @return offset in millis of the <code>Z</code>, <code>+HH:mm</code>, <code>+HHmm</code> or <code>+HH</code> zone
+     * designator that makes up the whole text, {@link #NO_OFFSET} if it is not one
+     */
+    public static int zoneOffset(String text, int off, int len) {
+        if (len == 1) {
+            return text.charAt(off) == 'Z' ? 0 : NO_OFFSET;
+        }
+        if (len != 3 && len != 5 && len != 6) {
+            return NO_OFFSET;
+        }
+
+        char sign = text.charAt(off);
+        if (sign != '+' && sign != '-') {
+            return NO_OFFSET;
+        }
+
+        int hours = digits2(text, off + 1);
+        int minutes = 0;
+        if (len == 5) {
+            minutes = digits2(text, off + 3);
+        } else if (len == 6) {
+            minutes = text.charAt(off + 3) == ':' ? digits2(text, off + 4) : -1;
+        }
+        if (hours < 0 || minutes < 0 || minutes > 59) {
+            return NO_OFFSET;
+        }
+
+        int offset = (hours * 60 + minutes) * 60 * 1000;
+        if (offset > MAX_OFFSET) {
+            return NO_OFFSET;
+        }
+        return sign == '-' ? -offset : offset;
+    }
+
+    /**
+     * 本地时间转成UTC，同一天里偏移量不变时才计算，否则交给Calendar
+     */
+    private static long toUTC(long localMillis, TimeZone timeZone, Locale locale) {
+        long dayStart = floorDiv(localMillis, MILLIS_PER_DAY) * MILLIS_PER_DAY;
+
+        ZoneDay zoneDay = DateDecoder.zoneDay;
+        if (zoneDay == null || zoneDay.dayStart != dayStart || !zoneDay.matches(timeZone, locale)) {
+            zoneDay = ZoneDay.of(timeZone, locale, dayStart);
+            DateDecoder.zoneDay = zoneDay;
+        }
+
+        if (zoneDay.offset == NO_OFFSET) {
+            return NOT_MATCH;
+        }
+        return localMillis - zoneDay.offset;
+    }
+
+    private static boolean isGregorian(TimeZone timeZone, Locale locale) {
+        ZoneDay zoneDay = DateDecoder.zoneDay;
+        if (zoneDay != null && zoneDay.matches(timeZone, locale)) {
+            return zoneDay.gregorian;
+        }
+        return Calendar.getInstance(timeZone, locale).getClass() == GregorianCalendar.class;
+    }
+
+    /**
+     * proleptic Gregorian日期到1970-01-01的天数
+     */
+    static long daysFromCivil(int year, int month, int day) {
+        if (month <= 2) {
+            year--;
+        }
+        int era = (year >= 0 ? year : year - 399) / 400;
+        int yearOfEra = year - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static long floorDiv(long x, long y) {
+        long r = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            r--;
+        }
+        return r;
+    }
+
+    private static int digits2(String text, int off) {
+        int d0 = text.charAt(off) - '0', d1 = text.charAt(off + 1) - '0';
+        if (d0 < 0 || d0 > 9 || d1 < 0 || d1 > 9) {
+            return -1;
+        }
+        return d0 * 10 + d1;
+    }
+
+    private static int digits4(String text, int off) {
+        int hi = digits2(text, off), lo = digits2(text, off + 2);
+        if (hi < 0 || lo < 0) {
+            return -1;
+        }
+        return hi * 100 + lo;
+    }
+
+    static final class ZoneDay {
+
+        final TimeZone timeZone;
+        final Locale   locale;
+        final boolean  gregorian;
+        final long     dayStart;
+        /** 这一天里的偏移量，有夏令时切换时为NO_OFFSET */
+        final int      offset;
+
+        ZoneDay(TimeZone timeZone, Locale locale, boolean gregorian, long dayStart, int offset){
+            this.timeZone = timeZone;
+            this.locale = locale;
+            this.gregorian = gregorian;
+            this.dayStart = dayStart;
+            this.offset = offset;
+        }
+
+        /**
+         * TimeZone.getDefault()每次返回的是新的实例，所以不能只比较引用
+         */
+        boolean matches(TimeZone timeZone, Locale locale) {
+            return (this.timeZone == timeZone || this.timeZone.equals(timeZone)) //
+                   && (this.locale == locale || this.locale.equals(locale));
+        }
+
+        static ZoneDay of(TimeZone timeZone, Locale locale, long dayStart) {
+            ZoneDay last = DateDecoder.zoneDay;
+            boolean gregorian;
+            if (last != null && last.matches(timeZone, locale)) {
+                gregorian = last.gregorian;
+            } else {
+                gregorian = Calendar.getInstance(timeZone, locale).getClass() == GregorianCalendar.class;
+            }
+
+            int offset = NO_OFFSET;
+            if (gregorian) {
+                // 前后各多取一天，覆盖所有可能的偏移量
+                long utc = dayStart - timeZone.getRawOffset();
+                int o = timeZone.getOffset(utc);
+                if (timeZone.getOffset(utc - MILLIS_PER_DAY) == o //
+                    && timeZone.getOffset(utc + MILLIS_PER_DAY / 2) == o //
+                    && timeZone.getOffset(utc + MILLIS_PER_DAY) == o //
+                    && timeZone.getOffset(utc + 2 * MILLIS_PER_DAY) == o) {
+                    offset = o;
+                }
+            }
+            return new ZoneDay(timeZone, locale, gregorian, dayStart, offset);
+        }
+    }
+}
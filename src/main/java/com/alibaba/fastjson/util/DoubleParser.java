@@ -0,0 +1,206 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+import java.math.BigInteger;
+
+/**
+ * Correctly rounded conversion of <code>significand * 10^exp10</code> to double and float, after Clinger's fast path
+ * and the Eisel-Lemire algorithm (Daniel Lemire, "Number Parsing at a Gigabyte per Second", 2021).
+ * <p>
+ * The significand is an unsigned 64 bit value holding at most 19 decimal digits. For such input the result is always
+ * exact; callers that had to drop digits convert <code>w</code> and <code>w + 1</code> and fall back to
+ * {@link Double#parseDouble(String)} when the two differ.
+ *
+ * @since 1.2.45
+ */
+public final class DoubleParser {
+
+    private static final int      SMALLEST_POWER_OF_TEN = -342;
+    private static final int      LARGEST_POWER_OF_TEN  = 308;
+
+    /** 5^q的128位截断值，高64位和低64位，q从-342到308 */
+    private static final long[]   POWER_OF_FIVE_HIGH;
+    private static final long[]   POWER_OF_FIVE_LOW;
+
+    private static final double[] DOUBLE_POWERS_OF_TEN  = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+    private static final float[]  FLOAT_POWERS_OF_TEN   = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f,
+            1e9f, 1e10f };
+
+    static {
+        int size = LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1;
+        long[] high = new long[size];
+        long[] low = new long[size];
+
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; ++q) {
+            BigInteger value;
+            if (q >= 0) {
+                // 截断到最高位对齐的128位
+                BigInteger power5 = five.pow(q);
+                int shift = power5.bitLength() - 128;
+                value = shift > 0 ? power5.shiftRight(shift) : power5.shiftLeft(-shift);
+            } else {
+                // 2^b / 5^-q 向上取整
+                BigInteger power5 = five.pow(-q);
+                int z = power5.bitLength();
+                if (power5.equals(BigInteger.ONE.shiftLeft(z - 1))) {
+                    z--;
+                }
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (value.compareTo(two128) >= 0) {
+                    value = value.shiftRight(1);
+                }
+            }
+            high[q - SMALLEST_POWER_OF_TEN] = value.shiftRight(64).longValue();
+            low[q - SMALLEST_POWER_OF_TEN] = value.longValue();
+        }
+
+        POWER_OF_FIVE_HIGH = high;
+        POWER_OF_FIVE_LOW = low;
+    }
+
+    private DoubleParser(){
+    }
+
+    /**
+     * @param w unsigned significand, at most 19 decimal digits
+     * @return the double nearest to <code>w * 10^q</code>
+     */
+    public static double toDouble(long w, int q, boolean negative) {
+        // Clinger：尾数和10的幂都能精确表示时，一次乘除法就是正确舍入的结果
+        if (w >= 0 && w <= 1L << 53 && q >= -22 && q <= 22) {
+            double value = (double) w;
+            value = q < 0 ? value / DOUBLE_POWERS_OF_TEN[-q] : value * DOUBLE_POWERS_OF_TEN[q];
+            return negative ? -value : value;
+        }
+
+        long bits = eiselLemire(w, q, 52, -1023, 0x7FF, -4, 23);
+        if (negative) {
+            bits |= 1L << 63;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * @param w unsigned significand, at most 19 decimal digits
+     * @return the float nearest to <code>w * 10^q</code>
+     */
+    public static float toFloat(long w, int q, boolean negative) {
+        if (w >= 0 && w <= 1L << 24 && q >= -10 && q <= 10) {
+            float value = (float) w;
+            value = q < 0 ? value / FLOAT_POWERS_OF_TEN[-q] : value * FLOAT_POWERS_OF_TEN[q];
+            return negative ? -value : value;
+        }
+
+        int bits = (int) eiselLemire(w, q, 23, -127, 0xFF, -17, 10);
+        if (negative) {
+            bits |= 1 << 31;
+        }
+        return Float.intBitsToFloat(bits);
+    }
+
+    /**
+     * @return IEEE bits of the unsigned result
+     */
+    private static long eiselLemire(long w,
+                                    int q,
+                                    int mantissaBits,
+                                    int minimumExponent,
+                                    int infinitePower,
+                                    int minExponentRoundToEven,
+                                    int maxExponentRoundToEven) {
+        if (w == 0 || q < SMALLEST_POWER_OF_TEN) {
+            return 0;
+        }
+        if (q > LARGEST_POWER_OF_TEN) {
+            return (long) infinitePower << mantissaBits;
+        }
+
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        // w * 5^q 的高128位，精度足够时只做一次乘法
+        final int index = q - SMALLEST_POWER_OF_TEN;
+        final long precisionMask = -1L >>> (mantissaBits + 3);
+        long high = multiplyHigh(w, POWER_OF_FIVE_HIGH[index]);
+        long low = w * POWER_OF_FIVE_HIGH[index];
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = multiplyHigh(w, POWER_OF_FIVE_LOW[index]);
+            low += secondHigh;
+            if (lessThanUnsigned(low, secondHigh)) {
+                high++;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - mantissaBits - 3;
+        long mantissa = high >>> shift;
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - lz - minimumExponent;
+
+        if (power2 <= 0) {
+            // 非规格化数
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < 1L << mantissaBits ? 0 : 1;
+            return ((long) power2 << mantissaBits) | (mantissa & ~(1L << mantissaBits));
+        }
+
+        // 恰好在两个可表示值中间时，向偶数舍入
+        if (low + Long.MIN_VALUE <= 1 + Long.MIN_VALUE //
+            && q >= minExponentRoundToEven //
+            && q <= maxExponentRoundToEven //
+            && (mantissa & 3) == 1 //
+            && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 2L << mantissaBits) {
+            mantissa = 1L << mantissaBits;
+            power2++;
+        }
+        mantissa &= ~(1L << mantissaBits);
+
+        if (power2 >= infinitePower) {
+            return (long) infinitePower << mantissaBits;
+        }
+        return ((long) power2 << mantissaBits) | mantissa;
+    }
+
+    private static boolean lessThanUnsigned(long x, long y) {
+        return x + Long.MIN_VALUE < y + Long.MIN_VALUE;
+    }
+
+    /**
+     * 无符号64位乘法的高64位
+     */
+    static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+        long p11 = x1 * y1, p01 = x0 * y1, p10 = x1 * y0, p00 = x0 * y0;
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFFFFFFL);
+        return p11 + (middle >>> 32) + (p01 >>> 32);
+    }
+}
@@ -288,7 +288,8 @@ public class FieldInfo implements Comparable<FieldInfo> {
         if (fieldType instanceof ParameterizedType) {
             ParameterizedType parameterizedFieldType = (ParameterizedType) fieldType;
 
-            Type[] arguments = parameterizedFieldType.getActualTypeArguments();
+            // ParameterizedTypeImpl返回的是内部数组，复制后再替换，避免改掉共享的Type
+            Type[] arguments = parameterizedFieldType.getActualTypeArguments().clone();
             TypeVariable<?>[] typeVariables;
             ParameterizedType paramType;
             if (type instanceof ParameterizedType) {
@@ -304,8 +305,9 @@ public class FieldInfo implements Comparable<FieldInfo> {
 
             boolean changed = getArgument(arguments, typeVariables, paramType.getActualTypeArguments());
             if (changed) {
-                fieldType = new ParameterizedTypeImpl(arguments, parameterizedFieldType.getOwnerType(),
-                                                      parameterizedFieldType.getRawType());
+                fieldType = TypeInterner.intern(new ParameterizedTypeImpl(arguments,
+                                                                          parameterizedFieldType.getOwnerType(),
+                                                                          parameterizedFieldType.getRawType()));
                 return fieldType;
             }
         }
@@ -323,10 +325,11 @@ public class FieldInfo implements Comparable<FieldInfo> {
             Type typeArg = typeArgs[i];
             if (typeArg instanceof ParameterizedType) {
                 ParameterizedType p_typeArg = (ParameterizedType) typeArg;
-                Type[] p_typeArg_args = p_typeArg.getActualTypeArguments();
+                Type[] p_typeArg_args = p_typeArg.getActualTypeArguments().clone();
                 boolean p_changed = getArgument(p_typeArg_args, typeVariables, arguments);
                 if (p_changed) {
-                    typeArgs[i] = new ParameterizedTypeImpl(p_typeArg_args, p_typeArg.getOwnerType(), p_typeArg.getRawType());
+                    typeArgs[i] = TypeInterner.intern(new ParameterizedTypeImpl(p_typeArg_args, p_typeArg.getOwnerType(),
+                                                                                p_typeArg.getRawType()));
                     changed = true;
                 }
             } else if (typeArg instanceof TypeVariable) {
@@ -16,7 +16,9 @@
 package com.alibaba.fastjson.util;
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
@@ -587,9 +589,18 @@ public class IOUtils {
     }
     
     public static int encodeUTF8(char[] chars, int offset, int len, byte[] bytes) {
+        return encodeUTF8(chars, offset, len, bytes, 0);
+    }
+
+    /**
+     * Encodes into <code>bytes</code> starting at <code>dp</code>.
+     *
+     * @return the position after the last byte written
+     * @since 1.2.45
+     */
+    public static int encodeUTF8(char[] chars, int offset, int len, byte[] bytes, int dp) {
         int sl = offset + len;
-        int dp = 0;
-        int dlASCII = dp + Math.min(len, bytes.length);
+        int dlASCII = dp + Math.min(len, bytes.length - dp);
 
         // ASCII only optimized loop
         while (dp < dlASCII && chars[offset] < '\u0080') {
@@ -646,6 +657,62 @@ public class IOUtils {
         return dp;
     }
 
+    /**
+     * Encodes the chars as UTF-8 through <code>bytes</code>, one chunk of <code>bytes.length / 3</code> chars at a
+     * time, and writes every chunk to <code>out</code>.
+     *
+     * @return number of bytes written
+     * @since 1.2.45
+     */
+    public static int writeUTF8(char[] chars, int offset, int len, byte[] bytes, OutputStream out) throws IOException {
+        final int chunkSize = bytes.length / 3;
+        final int end = offset + len;
+        int size = 0;
+        while (offset < end) {
+            int n = end - offset;
+            if (n > chunkSize) {
+                n = chunkSize;
+                // 代理对不能拆到两段里
+                if (Character.isHighSurrogate(chars[offset + n - 1])) {
+                    n--;
+                }
+            }
+
+            int position = encodeUTF8(chars, offset, n, bytes);
+            out.write(bytes, 0, position);
+            offset += n;
+            size += position;
+        }
+        return size;
+    }
+
+    /**
+     * @return number of bytes {@link #encodeUTF8(char[], int, int, byte[])} writes for the same chars
+     * @since 1.2.45
+     */
+    public static int utf8Length(char[] chars, int offset, int len) {
+        final int sl = offset + len;
+        int size = len;
+        for (int i = offset; i < sl; ++i) {
+            char c = chars[i];
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                size += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < sl && Character.isLowSurrogate(chars[i + 1])) {
+                // 2个char编码成4个字节
+                size += 2;
+                i++;
+            } else if (Character.isHighSurrogate(c) && i + 1 == sl) {
+                // 末尾落单的高位代理编码成'?'
+            } else {
+                size += 2;
+            }
+        }
+        return size;
+    }
+
     /**
      * @deprecated
      */
@@ -15,87 +15,225 @@
  */
 package com.alibaba.fastjson.util;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * for concurrent IdentityHashMap
- * 
+ * <p>
+ * Reads never lock. Entries are immutable, a put replaces the head of its bucket with compareAndSet. When the map is
+ * three quarters full the table is doubled; buckets are moved one by one and the moved ones are marked, so readers
+ * and writers that hit a moved bucket continue in the new table instead of waiting for the resize.
+ *
  * @author wenshao[szujobs@hotmail.com]
  */
 @SuppressWarnings("unchecked")
 public class IdentityHashMap<K, V> {
-    private final Entry<K, V>[] buckets;
-    private final int           indexMask;
-    public final static int DEFAULT_SIZE = 8192;
+
+    public final static int              DEFAULT_SIZE     = 1024;
+
+    private final static int             MAXIMUM_CAPACITY = 1 << 30;
+
+    /** 已经迁移到新表的桶 */
+    private final static Entry<?, ?>     MOVED            = new Entry<Object, Object>(null, null, 0, null);
+
+    private final int                    initialCapacity;
+    private final AtomicInteger          size             = new AtomicInteger();
+    private volatile Table<K, V>         table;
 
     public IdentityHashMap(){
         this(DEFAULT_SIZE);
     }
 
+    /**
+     * @param tableSize initial number of buckets, rounded up to a power of two
+     */
     public IdentityHashMap(int tableSize){
-        this.indexMask = tableSize - 1;
-        this.buckets = new Entry[tableSize];
+        int capacity = 1;
+        while (capacity < tableSize && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+        this.initialCapacity = capacity;
+        this.table = new Table<K, V>(capacity);
     }
 
     public final V get(K key) {
         final int hash = System.identityHashCode(key);
-        final int bucket = hash & indexMask;
 
-        for (Entry<K, V> entry = buckets[bucket]; entry != null; entry = entry.next) {
-            if (key == entry.key) {
-                return (V) entry.value;
+        Table<K, V> tab = table;
+        for (;;) {
+            Entry<K, V> entry = tab.buckets.get(hash & tab.indexMask);
+            if (entry == MOVED) {
+                tab = tab.next.get();
+                continue;
             }
-        }
 
-        return null;
+            for (; entry != null; entry = entry.next) {
+                if (key == entry.key) {
+                    return entry.value;
+                }
+            }
+            return null;
+        }
     }
 
     public Class findClass(String keyString) {
-        for (int i = 0; i < buckets.length; i++) {
-            Entry bucket = buckets[i];
+        Table<K, V> tab = table;
+        for (int i = 0, length = tab.buckets.length(); i < length; i++) {
+            Class<?> clazz = findClass(tab, i, keyString);
+            if (clazz != null) {
+                return clazz;
+            }
+        }
+        return null;
+    }
 
-            if (bucket == null) {
-                continue;
+    private static Class<?> findClass(Table<?, ?> tab, int bucket, String keyString) {
+        Entry<?, ?> head = tab.buckets.get(bucket);
+        if (head == MOVED) {
+            // 旧表的桶i只迁移到新表的i和i + oldCapacity，标记MOVED之前这两个桶已经写好了
+            Table<?, ?> next = tab.next.get();
+            Class<?> clazz = findClass(next, bucket, keyString);
+            if (clazz != null) {
+                return clazz;
             }
+            return findClass(next, bucket + tab.buckets.length(), keyString);
+        }
 
-            for (Entry<K, V> entry = bucket; entry != null; entry = entry.next) {
-                Object key = bucket.key;
-                if (key instanceof Class) {
-                    Class clazz = ((Class) key);
-                    String className = clazz.getName();
-                    if (className.equals(keyString)) {
-                        return clazz;
-                    }
+        for (Entry<?, ?> entry = head; entry != null; entry = entry.next) {
+            Object key = entry.key;
+            if (key instanceof Class) {
+                Class<?> clazz = (Class<?>) key;
+                String className = clazz.getName();
+                if (className.equals(keyString)) {
+                    return clazz;
                 }
             }
         }
-
         return null;
     }
 
+    /**
+     * @return true if the key was already present and its value has been replaced
+     */
     public boolean put(K key, V value) {
         final int hash = System.identityHashCode(key);
-        final int bucket = hash & indexMask;
 
-        for (Entry<K, V> entry = buckets[bucket]; entry != null; entry = entry.next) {
-            if (key == entry.key) {
-                entry.value = value;
-                return true;
+        Table<K, V> tab = table;
+        for (;;) {
+            final int bucket = hash & tab.indexMask;
+            Entry<K, V> head = tab.buckets.get(bucket);
+            if (head == MOVED) {
+                tab = tab.next.get();
+                continue;
+            }
+
+            Entry<K, V> found = null;
+            for (Entry<K, V> entry = head; entry != null; entry = entry.next) {
+                if (key == entry.key) {
+                    found = entry;
+                    break;
+                }
+            }
+
+            if (found != null) {
+                if (found.value == value) {
+                    return true;
+                }
+                Entry<K, V> replacement = new Entry<K, V>(key, value, hash, found.next);
+                if (tab.buckets.compareAndSet(bucket, head, copyUntil(head, found, replacement))) {
+                    return true;
+                }
+                continue;
+            }
+
+            if (tab.buckets.compareAndSet(bucket, head, new Entry<K, V>(key, value, hash, head))) {
+                if (size.incrementAndGet() > tab.threshold) {
+                    resize(tab);
+                }
+                return false;
             }
         }
+    }
 
-        Entry<K, V> entry = new Entry<K, V>(key, value, hash, buckets[bucket]);
-        buckets[bucket] = entry;  // 并发是处理时会可能导致缓存丢失，但不影响正确性
+    /**
+     * @since 1.2.45
+     */
+    public int size() {
+        return size.get();
+    }
 
-        return false;
+    public void clear() {
+        // 并发的put可能写到旧表里而丢失，和原来一样不影响正确性
+        this.table = new Table<K, V>(initialCapacity);
+        this.size.set(0);
+    }
+
+    private void resize(Table<K, V> tab) {
+        int oldCapacity = tab.buckets.length();
+        if (tab != table || oldCapacity >= MAXIMUM_CAPACITY || tab.next.get() != null) {
+            return;
+        }
+
+        Table<K, V> newTab = new Table<K, V>(oldCapacity << 1);
+        if (!tab.next.compareAndSet(null, newTab)) {
+            return;
+        }
+
+        for (int i = 0; i < oldCapacity; ++i) {
+            // 新表的i和i + oldCapacity两个桶只从旧表的i迁移过来，在旧表的i标记为MOVED之前只有当前线程会写它们
+            for (;;) {
+                Entry<K, V> head = tab.buckets.get(i);
+                Entry<K, V> lo = null, hi = null;
+                for (Entry<K, V> entry = head; entry != null; entry = entry.next) {
+                    if ((entry.hashCode & oldCapacity) == 0) {
+                        lo = new Entry<K, V>(entry.key, entry.value, entry.hashCode, lo);
+                    } else {
+                        hi = new Entry<K, V>(entry.key, entry.value, entry.hashCode, hi);
+                    }
+                }
+                newTab.buckets.set(i, lo);
+                newTab.buckets.set(i + oldCapacity, hi);
+
+                if (tab.buckets.compareAndSet(i, head, (Entry<K, V>) MOVED)) {
+                    break;
+                }
+            }
+        }
+
+        table = newTab;
+    }
+
+    /**
+     * 复制target之前的节点，target换成replacement
+     */
+    private static <K, V> Entry<K, V> copyUntil(Entry<K, V> head, Entry<K, V> target, Entry<K, V> replacement) {
+        if (head == target) {
+            return replacement;
+        }
+        return new Entry<K, V>(head.key, head.value, head.hashCode, copyUntil(head.next, target, replacement));
+    }
+
+    private static final class Table<K, V> {
+
+        final AtomicReferenceArray<Entry<K, V>> buckets;
+        final int                               indexMask;
+        final int                               threshold;
+        final AtomicReference<Table<K, V>>      next = new AtomicReference<Table<K, V>>();
+
+        Table(int capacity){
+            this.buckets = new AtomicReferenceArray<Entry<K, V>>(capacity);
+            this.indexMask = capacity - 1;
+            this.threshold = capacity - (capacity >>> 2);
+        }
     }
 
     protected static final class Entry<K, V> {
 
-        public final int   hashCode;
-        public final K     key;
-        public V     value;
+        public final int         hashCode;
+        public final K           key;
+        public final V           value;
 
         public final Entry<K, V> next;
 
@@ -106,8 +244,4 @@ public class IdentityHashMap<K, V> {
             this.hashCode = hash;
         }
     }
-
-    public void clear() {
-        Arrays.fill(this.buckets, null);
-    }
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+import java.math.BigInteger;
+
+/**
+ * Shortest round trip formatting of doubles, after Ulf Adams' Ryu algorithm ("Ryu: Fast Float-to-String
+ * Conversion", PLDI 2018). The digits are written straight into a char array, no intermediate String or
+ * StringBuilder is created.
+ * <p>
+ * The layout is the one of {@link Double#toString(double)}: plain notation for magnitudes in
+ * <code>[10^-3, 10^7)</code>, computerized scientific notation otherwise, and at least one digit after the decimal
+ * point. The digits are the shortest that parse back to the same value, which is what
+ * {@link Double#toString(double)} meant to print but does not always do on older JDKs.
+ *
+ * @since 1.2.45
+ */
+public final class RyuDouble {
+
+    private static final int    MANTISSA_BITS     = 52;
+    private static final long   MANTISSA_MASK     = (1L << MANTISSA_BITS) - 1;
+    private static final int    EXPONENT_MASK     = 0x7FF;
+    private static final int    EXPONENT_BIAS     = 1023;
+
+    private static final int    POW5_BITCOUNT     = 125;
+    private static final int    POW5_INV_BITCOUNT = 125;
+
+    /** 5^i截断到125位，以及2^k/5^i向上取整到125位，每项高低两个64位 */
+    private static final long[] POW5_SPLIT        = new long[326 * 2];
+    private static final long[] POW5_INV_SPLIT    = new long[342 * 2];
+
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        for (int i = 0; i < 342; ++i) {
+            BigInteger pow = five.pow(i);
+            int pow5len = pow.bitLength();
+            if (i < 326) {
+                int shift = pow5len - POW5_BITCOUNT;
+                BigInteger value = shift > 0 ? pow.shiftRight(shift) : pow.shiftLeft(-shift);
+                POW5_SPLIT[i << 1] = value.shiftRight(64).longValue();
+                POW5_SPLIT[(i << 1) + 1] = value.longValue();
+            }
+
+            int j = pow5len - 1 + POW5_INV_BITCOUNT;
+            BigInteger inv = BigInteger.ONE.shiftLeft(j).divide(pow).add(BigInteger.ONE);
+            POW5_INV_SPLIT[i << 1] = inv.shiftRight(64).longValue();
+            POW5_INV_SPLIT[(i << 1) + 1] = inv.longValue();
+        }
+    }
+
+    private RyuDouble(){
+    }
+
+    public static String toString(double value) {
+        char[] result = new char[24];
+        int len = toString(value, result, 0);
+        return new String(result, 0, len);
+    }
+
+    /**
+     * Writes the value into <code>result</code> starting at <code>off</code>, at most 24 chars are written.
+     *
+     * @return number of chars written
+     */
+    public static int toString(double value, char[] result, int off) {
+        if (value != value) {
+            return write("NaN", result, off);
+        }
+        if (value == Double.POSITIVE_INFINITY) {
+            return write("Infinity", result, off);
+        }
+        if (value == Double.NEGATIVE_INFINITY) {
+            return write("-Infinity", result, off);
+        }
+
+        long bits = Double.doubleToLongBits(value);
+        if (bits == 0) {
+            return write("0.0", result, off);
+        }
+        if (bits == 0x8000000000000000L) {
+            return write("-0.0", result, off);
+        }
+
+        int ieeeExponent = (int) ((bits >>> MANTISSA_BITS) & EXPONENT_MASK);
+        long ieeeMantissa = bits & MANTISSA_MASK;
+        int e2;
+        long m2;
+        if (ieeeExponent == 0) {
+            // 非规格化数没有隐含的最高位
+            e2 = 1 - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = ieeeMantissa;
+        } else {
+            e2 = ieeeExponent - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = ieeeMantissa | (1L << MANTISSA_BITS);
+        }
+
+        // 合法的十进制表示落在(mm, mp)之间，尾数是偶数时包括两端
+        final boolean acceptBounds = (m2 & 1) == 0;
+        final long mv = 4 * m2;
+        final int mmShift = ieeeMantissa != 0 || ieeeExponent <= 1 ? 1 : 0;
+
+        long vr, vp, vm;
+        int e10;
+        boolean vmIsTrailingZeros = false, vrIsTrailingZeros = false;
+        if (e2 >= 0) {
+            final int q = log10Pow2(e2) - (e2 > 3 ? 1 : 0);
+            e10 = q;
+            final int k = POW5_INV_BITCOUNT + pow5bits(q) - 1;
+            final int i = -e2 + q + k;
+            vr = mulShift(mv, POW5_INV_SPLIT, q, i);
+            vp = mulShift(mv + 2, POW5_INV_SPLIT, q, i);
+            vm = mulShift(mv - 1 - mmShift, POW5_INV_SPLIT, q, i);
+            if (q <= 21) {
+                // mv、mp、mm中最多只有一个是5的倍数
+                if (mv % 5 == 0) {
+                    vrIsTrailingZeros = multipleOfPowerOf5(mv, q);
+                } else if (acceptBounds) {
+                    vmIsTrailingZeros = multipleOfPowerOf5(mv - 1 - mmShift, q);
+                } else if (multipleOfPowerOf5(mv + 2, q)) {
+                    vp--;
+                }
+            }
+        } else {
+            final int q = log10Pow5(-e2) - (-e2 > 1 ? 1 : 0);
+            e10 = q + e2;
+            final int i = -e2 - q;
+            final int k = pow5bits(i) - POW5_BITCOUNT;
+            final int j = q - k;
+            vr = mulShift(mv, POW5_SPLIT, i, j);
+            vp = mulShift(mv + 2, POW5_SPLIT, i, j);
+            vm = mulShift(mv - 1 - mmShift, POW5_SPLIT, i, j);
+            if (q <= 1) {
+                // mv = 4 * m2，至少有两个为0的低位
+                vrIsTrailingZeros = true;
+                if (acceptBounds) {
+                    vmIsTrailingZeros = mmShift == 1;
+                } else {
+                    vp--;
+                }
+            } else if (q < 63) {
+                vrIsTrailingZeros = (mv & ((1L << q) - 1)) == 0;
+            }
+        }
+
+        // 去掉尽可能多的低位，得到区间内最短的表示
+        int removed = 0;
+        int lastRemovedDigit = 0;
+        long output;
+        if (vmIsTrailingZeros || vrIsTrailingZeros) {
+            while (vp / 10 > vm / 10) {
+                vmIsTrailingZeros &= vm % 10 == 0;
+                vrIsTrailingZeros &= lastRemovedDigit == 0;
+                lastRemovedDigit = (int) (vr % 10);
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            if (vmIsTrailingZeros) {
+                while (vm % 10 == 0) {
+                    vrIsTrailingZeros &= lastRemovedDigit == 0;
+                    lastRemovedDigit = (int) (vr % 10);
+                    vr /= 10;
+                    vp /= 10;
+                    vm /= 10;
+                    removed++;
+                }
+            }
+            if (vrIsTrailingZeros && lastRemovedDigit == 5 && vr % 2 == 0) {
+                // 恰好是...50..0时向偶数舍入
+                lastRemovedDigit = 4;
+            }
+            output = vr + ((vr == vm && (!acceptBounds || !vmIsTrailingZeros)) || lastRemovedDigit >= 5 ? 1 : 0);
+        } else {
+            while (vp / 10 > vm / 10) {
+                lastRemovedDigit = (int) (vr % 10);
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            output = vr + (vr == vm || lastRemovedDigit >= 5 ? 1 : 0);
+        }
+
+        return RyuFloat.format(bits < 0, output, decimalLength(output), e10 + removed, result, off);
+    }
+
+    static int write(String text, char[] result, int off) {
+        int len = text.length();
+        text.getChars(0, len, result, off);
+        return len;
+    }
+
+    static int pow5bits(int e) {
+        return ((e * 1217359) >>> 19) + 1;
+    }
+
+    static int log10Pow2(int e) {
+        return (e * 78913) >>> 18;
+    }
+
+    static int log10Pow5(int e) {
+        return (e * 732923) >>> 20;
+    }
+
+    private static int decimalLength(long v) {
+        long p = 10;
+        for (int i = 1; i < 19; ++i) {
+            if (v < p) {
+                return i;
+            }
+            p *= 10;
+        }
+        return 19;
+    }
+
+    private static boolean multipleOfPowerOf5(long value, int q) {
+        int count = 0;
+        while (value % 5 == 0) {
+            value /= 5;
+            count++;
+        }
+        return count >= q;
+    }
+
+    /**
+     * (m * table[index]) >> j，table中每项是128位，m最多55位
+     */
+    private static long mulShift(long m, long[] table, int index, int j) {
+        long mulHigh = table[index << 1];
+        long mulLow = table[(index << 1) + 1];
+
+        long high1 = DoubleParser.multiplyHigh(m, mulHigh);
+        long low1 = m * mulHigh;
+        long high0 = DoubleParser.multiplyHigh(m, mulLow);
+        long sum = high0 + low1;
+        if (sum + Long.MIN_VALUE < high0 + Long.MIN_VALUE) {
+            high1++;
+        }
+
+        int dist = j - 64;
+        return (high1 << (64 - dist)) | (sum >>> dist);
+    }
+}
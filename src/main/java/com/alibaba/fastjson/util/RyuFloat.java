@@ -0,0 +1,286 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+import java.math.BigInteger;
+
+/**
+ * Shortest round trip formatting of floats, the 32 bit variant of {@link RyuDouble}. The layout is the one of
+ * {@link Float#toString(float)}.
+ *
+ * @since 1.2.45
+ */
+public final class RyuFloat {
+
+    private static final int    MANTISSA_BITS     = 23;
+    private static final int    MANTISSA_MASK     = (1 << MANTISSA_BITS) - 1;
+    private static final int    EXPONENT_MASK     = 0xFF;
+    private static final int    EXPONENT_BIAS     = 127;
+
+    private static final int    POW5_BITCOUNT     = 61;
+    private static final int    POW5_INV_BITCOUNT = 59;
+
+    private static final long[] POW5_SPLIT        = new long[47];
+    private static final long[] POW5_INV_SPLIT    = new long[31];
+
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        for (int i = 0; i < 47; ++i) {
+            BigInteger pow = five.pow(i);
+            int pow5len = pow.bitLength();
+            int shift = pow5len - POW5_BITCOUNT;
+            POW5_SPLIT[i] = (shift > 0 ? pow.shiftRight(shift) : pow.shiftLeft(-shift)).longValue();
+
+            if (i < 31) {
+                int j = pow5len - 1 + POW5_INV_BITCOUNT;
+                POW5_INV_SPLIT[i] = BigInteger.ONE.shiftLeft(j).divide(pow).add(BigInteger.ONE).longValue();
+            }
+        }
+    }
+
+    private RyuFloat(){
+    }
+
+    public static String toString(float value) {
+        char[] result = new char[15];
+        int len = toString(value, result, 0);
+        return new String(result, 0, len);
+    }
+
+    /**
+     * Writes the value into <code>result</code> starting at <code>off</code>, at most 15 chars are written.
+     *
+     * @return number of chars written
+     */
+    public static int toString(float value, char[] result, int off) {
+        if (value != value) {
+            return RyuDouble.write("NaN", result, off);
+        }
+        if (value == Float.POSITIVE_INFINITY) {
+            return RyuDouble.write("Infinity", result, off);
+        }
+        if (value == Float.NEGATIVE_INFINITY) {
+            return RyuDouble.write("-Infinity", result, off);
+        }
+
+        int bits = Float.floatToIntBits(value);
+        if (bits == 0) {
+            return RyuDouble.write("0.0", result, off);
+        }
+        if (bits == 0x80000000) {
+            return RyuDouble.write("-0.0", result, off);
+        }
+
+        int ieeeExponent = (bits >> MANTISSA_BITS) & EXPONENT_MASK;
+        int ieeeMantissa = bits & MANTISSA_MASK;
+        int e2;
+        int m2;
+        if (ieeeExponent == 0) {
+            e2 = 1 - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = ieeeMantissa;
+        } else {
+            e2 = ieeeExponent - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = ieeeMantissa | (1 << MANTISSA_BITS);
+        }
+
+        final boolean acceptBounds = (m2 & 1) == 0;
+        final int mv = 4 * m2;
+        final int mp = 4 * m2 + 2;
+        final int mmShift = ieeeMantissa != 0 || ieeeExponent <= 1 ? 1 : 0;
+        final int mm = 4 * m2 - 1 - mmShift;
+
+        int vr, vp, vm;
+        int e10;
+        boolean vmIsTrailingZeros = false, vrIsTrailingZeros = false;
+        int lastRemovedDigit = 0;
+        if (e2 >= 0) {
+            final int q = RyuDouble.log10Pow2(e2);
+            e10 = q;
+            final int k = POW5_INV_BITCOUNT + RyuDouble.pow5bits(q) - 1;
+            final int i = -e2 + q + k;
+            vr = mulShift(mv, POW5_INV_SPLIT[q], i);
+            vp = mulShift(mp, POW5_INV_SPLIT[q], i);
+            vm = mulShift(mm, POW5_INV_SPLIT[q], i);
+            if (q != 0 && (vp - 1) / 10 <= vm / 10) {
+                // 下面的循环可能一位都不去掉，这里单独算出被去掉的那一位
+                int l = POW5_INV_BITCOUNT + RyuDouble.pow5bits(q - 1) - 1;
+                lastRemovedDigit = mulShift(mv, POW5_INV_SPLIT[q - 1], -e2 + q - 1 + l) % 10;
+            }
+            if (q <= 9) {
+                if (mv % 5 == 0) {
+                    vrIsTrailingZeros = multipleOfPowerOf5(mv, q);
+                } else if (acceptBounds) {
+                    vmIsTrailingZeros = multipleOfPowerOf5(mm, q);
+                } else if (multipleOfPowerOf5(mp, q)) {
+                    vp--;
+                }
+            }
+        } else {
+            final int q = RyuDouble.log10Pow5(-e2);
+            e10 = q + e2;
+            final int i = -e2 - q;
+            final int k = RyuDouble.pow5bits(i) - POW5_BITCOUNT;
+            int j = q - k;
+            vr = mulShift(mv, POW5_SPLIT[i], j);
+            vp = mulShift(mp, POW5_SPLIT[i], j);
+            vm = mulShift(mm, POW5_SPLIT[i], j);
+            if (q != 0 && (vp - 1) / 10 <= vm / 10) {
+                j = q - 1 - (RyuDouble.pow5bits(i + 1) - POW5_BITCOUNT);
+                lastRemovedDigit = mulShift(mv, POW5_SPLIT[i + 1], j) % 10;
+            }
+            if (q <= 1) {
+                vrIsTrailingZeros = true;
+                if (acceptBounds) {
+                    vmIsTrailingZeros = mmShift == 1;
+                } else {
+                    vp--;
+                }
+            } else if (q < 31) {
+                vrIsTrailingZeros = (mv & ((1 << (q - 1)) - 1)) == 0;
+            }
+        }
+
+        int removed = 0;
+        int output;
+        if (vmIsTrailingZeros || vrIsTrailingZeros) {
+            while (vp / 10 > vm / 10) {
+                vmIsTrailingZeros &= vm % 10 == 0;
+                vrIsTrailingZeros &= lastRemovedDigit == 0;
+                lastRemovedDigit = vr % 10;
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            if (vmIsTrailingZeros) {
+                while (vm % 10 == 0) {
+                    vrIsTrailingZeros &= lastRemovedDigit == 0;
+                    lastRemovedDigit = vr % 10;
+                    vr /= 10;
+                    vp /= 10;
+                    vm /= 10;
+                    removed++;
+                }
+            }
+            if (vrIsTrailingZeros && lastRemovedDigit == 5 && vr % 2 == 0) {
+                lastRemovedDigit = 4;
+            }
+            output = vr + ((vr == vm && (!acceptBounds || !vmIsTrailingZeros)) || lastRemovedDigit >= 5 ? 1 : 0);
+        } else {
+            while (vp / 10 > vm / 10) {
+                lastRemovedDigit = vr % 10;
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            output = vr + (vr == vm || lastRemovedDigit >= 5 ? 1 : 0);
+        }
+
+        return format(bits < 0, output, IOUtils.stringSize(output), e10 + removed, result, off);
+    }
+
+    /**
+     * 按Double.toString的格式输出，output共olength位，最后一位的十进制指数是e10
+     */
+    static int format(boolean negative, long output, int olength, int e10, char[] result, int off) {
+        int pos = off;
+        if (negative) {
+            result[pos++] = '-';
+        }
+
+        int exp = e10 + olength - 1;
+        if (exp >= -3 && exp < 7) {
+            if (exp < 0) {
+                result[pos++] = '0';
+                result[pos++] = '.';
+                for (int i = -1; i > exp; --i) {
+                    result[pos++] = '0';
+                }
+                writeDigits(output, olength, result, pos);
+                pos += olength;
+            } else if (olength <= exp + 1) {
+                writeDigits(output, olength, result, pos);
+                pos += olength;
+                for (int i = olength; i <= exp; ++i) {
+                    result[pos++] = '0';
+                }
+                result[pos++] = '.';
+                result[pos++] = '0';
+            } else {
+                // 整数部分exp + 1位，先写全部数字，再把小数部分后移一位
+                writeDigits(output, olength, result, pos);
+                int integerEnd = pos + exp + 1;
+                System.arraycopy(result, integerEnd, result, integerEnd + 1, olength - exp - 1);
+                result[integerEnd] = '.';
+                pos += olength + 1;
+            }
+        } else {
+            writeDigits(output, olength, result, pos + 1);
+            result[pos] = result[pos + 1];
+            result[pos + 1] = '.';
+            if (olength == 1) {
+                result[pos + 2] = '0';
+                pos += 3;
+            } else {
+                pos += olength + 1;
+            }
+
+            result[pos++] = 'E';
+            if (exp < 0) {
+                result[pos++] = '-';
+                exp = -exp;
+            }
+            if (exp >= 100) {
+                result[pos++] = (char) ('0' + exp / 100);
+                exp %= 100;
+                result[pos++] = (char) ('0' + exp / 10);
+            } else if (exp >= 10) {
+                result[pos++] = (char) ('0' + exp / 10);
+            }
+            result[pos++] = (char) ('0' + exp % 10);
+        }
+        return pos - off;
+    }
+
+    private static void writeDigits(long output, int olength, char[] result, int pos) {
+        for (int i = pos + olength - 1; i >= pos; --i) {
+            result[i] = (char) ('0' + (int) (output % 10));
+            output /= 10;
+        }
+    }
+
+    private static boolean multipleOfPowerOf5(int value, int q) {
+        int count = 0;
+        while (value % 5 == 0) {
+            value /= 5;
+            count++;
+        }
+        return count >= q;
+    }
+
+    /**
+     * (m * factor) >> shift，factor是61位以内的无符号数
+     */
+    private static int mulShift(int m, long factor, int shift) {
+        long factorLow = factor & 0xFFFFFFFFL;
+        long factorHigh = factor >>> 32;
+        long bits0 = (m & 0xFFFFFFFFL) * factorLow;
+        long bits1 = (m & 0xFFFFFFFFL) * factorHigh;
+        long sum = (bits0 >>> 32) + bits1;
+        return (int) (sum >>> (shift - 32));
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer pool shared by all threads. Every size class is split into stripes picked by thread id, each with a few slots
+ * taken and returned by compare-and-set, so there are no locks and little contention. The total size of the idle
+ * buffers never exceeds the byte budget; buffers freed beyond it are left to the garbage collector.
+ *
+ * @since 1.2.45
+ */
+public class StripedBufferPool extends BufferPool {
+
+    /** 16M */
+    public final static long                   DEFAULT_MAX_BYTES = 1024 * 1024 * 16;
+
+    private final static int                   SLOTS             = 2;
+
+    private final long                         maxBytes;
+    private final AtomicLong                   pooledBytes       = new AtomicLong();
+
+    private final int                          stripeMask;
+    /** 下标为 (sizeClass * stripes + stripe) * SLOTS + slot */
+    private final AtomicReferenceArray<char[]> chars;
+    private final AtomicReferenceArray<byte[]> bytes;
+
+    public StripedBufferPool(){
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public StripedBufferPool(long maxBytes){
+        this(maxBytes, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedBufferPool(long maxBytes, int stripes){
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+
+        int n = 1;
+        while (n < stripes && n < 64) {
+            n <<= 1;
+        }
+        this.stripeMask = n - 1;
+        this.chars = new AtomicReferenceArray<char[]>(SIZE_CLASSES * n * SLOTS);
+        this.bytes = new AtomicReferenceArray<byte[]>(SIZE_CLASSES * n * SLOTS);
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return bytes held by the idle buffers
+     */
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    public char[] allocChars(int length) {
+        int sizeClass = allocClass(length);
+        if (sizeClass < 0) {
+            return new char[length];
+        }
+
+        char[] buf = takeChars(sizeClass, stripe());
+        return buf != null ? buf : new char[MIN_SIZE << sizeClass];
+    }
+
+    public char[] allocChars(int length, int maxLength) {
+        int sizeClass = allocClass(length);
+        if (sizeClass < 0) {
+            return new char[length];
+        }
+
+        int maxClass = maxLength > MAX_SIZE ? SIZE_CLASSES - 1 : allocClass(maxLength);
+        int stripe = stripe();
+        // 从大的尺寸档往下找
+        for (int i = maxClass; i >= sizeClass; --i) {
+            char[] buf = takeChars(i, stripe);
+            if (buf != null) {
+                return buf;
+            }
+        }
+        return new char[MIN_SIZE << sizeClass];
+    }
+
+    private char[] takeChars(int sizeClass, int stripe) {
+        int base = ((sizeClass * (stripeMask + 1)) + stripe) * SLOTS;
+        for (int j = base; j < base + SLOTS; ++j) {
+            char[] buf = chars.get(j);
+            if (buf != null && chars.compareAndSet(j, buf, null)) {
+                pooledBytes.addAndGet(-2L * buf.length);
+                return buf;
+            }
+        }
+        return null;
+    }
+
+    public void freeChars(char[] buf) {
+        if (buf == null) {
+            return;
+        }
+        int sizeClass = freeClass(buf.length);
+        if (sizeClass < 0 || !reserve(2L * buf.length)) {
+            return;
+        }
+
+        int base = ((sizeClass * (stripeMask + 1)) + stripe()) * SLOTS;
+        for (int j = base; j < base + SLOTS; ++j) {
+            if (chars.get(j) == null && chars.compareAndSet(j, null, buf)) {
+                return;
+            }
+        }
+        pooledBytes.addAndGet(-2L * buf.length);
+    }
+
+    public byte[] allocBytes(int length) {
+        int sizeClass = allocClass(length);
+        if (sizeClass < 0) {
+            return new byte[length];
+        }
+
+        int base = ((sizeClass * (stripeMask + 1)) + stripe()) * SLOTS;
+        for (int j = base; j < base + SLOTS; ++j) {
+            byte[] buf = bytes.get(j);
+            if (buf != null && bytes.compareAndSet(j, buf, null)) {
+                pooledBytes.addAndGet(-buf.length);
+                return buf;
+            }
+        }
+        return new byte[MIN_SIZE << sizeClass];
+    }
+
+    public void freeBytes(byte[] buf) {
+        if (buf == null) {
+            return;
+        }
+        int sizeClass = freeClass(buf.length);
+        if (sizeClass < 0 || !reserve(buf.length)) {
+            return;
+        }
+
+        int base = ((sizeClass * (stripeMask + 1)) + stripe()) * SLOTS;
+        for (int j = base; j < base + SLOTS; ++j) {
+            if (bytes.get(j) == null && bytes.compareAndSet(j, null, buf)) {
+                return;
+            }
+        }
+        pooledBytes.addAndGet(-buf.length);
+    }
+
+    /**
+     * 先占用预算，放不进槽位时再退回
+     */
+    private boolean reserve(long size) {
+        for (;;) {
+            long current = pooledBytes.get();
+            if (current + size > maxBytes) {
+                return false;
+            }
+            if (pooledBytes.compareAndSet(current, current + size)) {
+                return true;
+            }
+        }
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        return ((int) (id ^ (id >>> 32))) & stripeMask;
+    }
+}
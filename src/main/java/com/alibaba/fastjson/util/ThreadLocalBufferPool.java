@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+/**
+ * Keeps one buffer per size class and per thread, the behaviour of the versions before the pool existed.
+ *
+ * @since 1.2.45
+ */
+public class ThreadLocalBufferPool extends BufferPool {
+
+    private final ThreadLocal<char[][]> charsLocal = new ThreadLocal<char[][]>();
+    private final ThreadLocal<byte[][]> bytesLocal = new ThreadLocal<byte[][]>();
+
+    public char[] allocChars(int length) {
+        int sizeClass = allocClass(length);
+        if (sizeClass < 0) {
+            return new char[length];
+        }
+
+        char[][] slots = charsLocal.get();
+        if (slots != null) {
+            char[] chars = slots[sizeClass];
+            if (chars != null) {
+                slots[sizeClass] = null;
+                return chars;
+            }
+        }
+        return new char[MIN_SIZE << sizeClass];
+    }
+
+    public char[] allocChars(int length, int maxLength) {
+        int sizeClass = allocClass(length);
+        if (sizeClass < 0) {
+            return new char[length];
+        }
+
+        char[][] slots = charsLocal.get();
+        if (slots != null) {
+            int maxClass = maxLength > MAX_SIZE ? SIZE_CLASSES - 1 : allocClass(maxLength);
+            for (int i = maxClass; i >= sizeClass; --i) {
+                char[] chars = slots[i];
+                if (chars != null) {
+                    slots[i] = null;
+                    return chars;
+                }
+            }
+        }
+        return new char[MIN_SIZE << sizeClass];
+    }
+
+    public void freeChars(char[] chars) {
+        if (chars == null) {
+            return;
+        }
+        int sizeClass = freeClass(chars.length);
+        if (sizeClass < 0) {
+            return;
+        }
+
+        char[][] slots = charsLocal.get();
+        if (slots == null) {
+            slots = new char[SIZE_CLASSES][];
+            charsLocal.set(slots);
+        }
+        slots[sizeClass] = chars;
+    }
+
+    public byte[] allocBytes(int length) {
+        int sizeClass = allocClass(length);
+        if (sizeClass < 0) {
+            return new byte[length];
+        }
+
+        byte[][] slots = bytesLocal.get();
+        if (slots != null) {
+            byte[] bytes = slots[sizeClass];
+            if (bytes != null) {
+                slots[sizeClass] = null;
+                return bytes;
+            }
+        }
+        return new byte[MIN_SIZE << sizeClass];
+    }
+
+    public void freeBytes(byte[] bytes) {
+        if (bytes == null) {
+            return;
+        }
+        int sizeClass = freeClass(bytes.length);
+        if (sizeClass < 0) {
+            return;
+        }
+
+        byte[][] slots = bytesLocal.get();
+        if (slots == null) {
+            slots = new byte[SIZE_CLASSES][];
+            bytesLocal.set(slots);
+        }
+        slots[sizeClass] = bytes;
+    }
+}
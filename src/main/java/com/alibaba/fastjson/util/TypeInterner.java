@@ -0,0 +1,226 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps structurally equal {@link ParameterizedType}, {@link GenericArrayType} and {@link WildcardType} instances to one
+ * canonical instance, so that the identity keyed codec caches also hit for a <code>new TypeReference&lt;List&lt;Foo&gt;&gt;(){}</code>
+ * or a generic field type resolved again by {@link FieldInfo}.
+ * <p>
+ * Equality does not depend on the implementation class, JDK types and {@link ParameterizedTypeImpl} are
+ * interchangeable. An owner type only counts when it is parameterized itself. The first instance seen becomes the
+ * canonical one and is weakly referenced, it is dropped once no cache or caller holds it any more.
+ *
+ * @since 1.2.45
+ */
+public final class TypeInterner {
+
+    private static final ConcurrentMap<Object, TypeRef> cache = new ConcurrentHashMap<Object, TypeRef>(128, 0.75f, 1);
+    private static final ReferenceQueue<Type>           queue = new ReferenceQueue<Type>();
+
+    private TypeInterner(){
+    }
+
+    /**
+     * @return the canonical instance of the type; classes, type variables and null are returned as they are
+     */
+    public static Type intern(Type type) {
+        if (!(type instanceof ParameterizedType || type instanceof GenericArrayType || type instanceof WildcardType)) {
+            return type;
+        }
+
+        for (Object ref; (ref = queue.poll()) != null;) {
+            cache.remove(ref);
+        }
+
+        int hash = hash(type);
+        TypeRef ref = cache.get(new Lookup(type, hash));
+        if (ref != null) {
+            Type canonical = ref.get();
+            if (canonical != null) {
+                return canonical;
+            }
+        }
+
+        TypeRef newRef = new TypeRef(type, hash, queue);
+        ref = cache.putIfAbsent(newRef, newRef);
+        if (ref != null) {
+            Type canonical = ref.get();
+            if (canonical != null) {
+                return canonical;
+            }
+        }
+        return type;
+    }
+
+    static int hash(Type type) {
+        if (type == null) {
+            return 0;
+        }
+
+        if (type instanceof Class) {
+            return type.hashCode();
+        }
+
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            int h = hash(parameterizedType.getRawType());
+            h = h * 31 + hash(owner(parameterizedType));
+            return h * 31 + hash(parameterizedType.getActualTypeArguments());
+        }
+
+        if (type instanceof GenericArrayType) {
+            return hash(((GenericArrayType) type).getGenericComponentType()) * 31 + 1;
+        }
+
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            return (hash(wildcardType.getUpperBounds()) * 31 + hash(wildcardType.getLowerBounds())) * 31 + 2;
+        }
+
+        return type.hashCode();
+    }
+
+    static boolean equals(Type a, Type b) {
+        if (a == b) {
+            return true;
+        }
+
+        if (a == null || b == null || a instanceof Class || b instanceof Class) {
+            return false;
+        }
+
+        if (a instanceof ParameterizedType) {
+            if (!(b instanceof ParameterizedType)) {
+                return false;
+            }
+            ParameterizedType pa = (ParameterizedType) a, pb = (ParameterizedType) b;
+            return equals(pa.getRawType(), pb.getRawType()) //
+                   && equals(owner(pa), owner(pb)) //
+                   && equals(pa.getActualTypeArguments(), pb.getActualTypeArguments());
+        }
+
+        if (a instanceof GenericArrayType) {
+            return b instanceof GenericArrayType //
+                   && equals(((GenericArrayType) a).getGenericComponentType(),
+                             ((GenericArrayType) b).getGenericComponentType());
+        }
+
+        if (a instanceof WildcardType) {
+            if (!(b instanceof WildcardType)) {
+                return false;
+            }
+            WildcardType wa = (WildcardType) a, wb = (WildcardType) b;
+            return equals(wa.getUpperBounds(), wb.getUpperBounds()) //
+                   && equals(wa.getLowerBounds(), wb.getLowerBounds());
+        }
+
+        return a.equals(b);
+    }
+
+    /**
+     * 非泛型的owner只是rawType的外部类，不同的实现有的填有的不填，不参与比较
+     */
+    private static Type owner(ParameterizedType type) {
+        Type owner = type.getOwnerType();
+        return owner instanceof ParameterizedType ? owner : null;
+    }
+
+    private static int hash(Type[] types) {
+        int h = 1;
+        for (int i = 0; i < types.length; ++i) {
+            h = h * 31 + hash(types[i]);
+        }
+        return h;
+    }
+
+    private static boolean equals(Type[] a, Type[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; ++i) {
+            if (!equals(a[i], b[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Type typeOf(Object key) {
+        if (key instanceof TypeRef) {
+            return ((TypeRef) key).get();
+        }
+        if (key instanceof Lookup) {
+            return ((Lookup) key).type;
+        }
+        return null;
+    }
+
+    private static final class TypeRef extends WeakReference<Type> {
+
+        final int hash;
+
+        TypeRef(Type type, int hash, ReferenceQueue<Type> queue){
+            super(type, queue);
+            this.hash = hash;
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            Type type = get();
+            Type other = typeOf(o);
+            return type != null && other != null && hash == o.hashCode() && TypeInterner.equals(type, other);
+        }
+    }
+
+    private static final class Lookup {
+
+        final Type type;
+        final int  hash;
+
+        Lookup(Type type, int hash){
+            this.type = type;
+            this.hash = hash;
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            Type other = typeOf(o);
+            return other != null && hash == o.hashCode() && TypeInterner.equals(type, other);
+        }
+    }
+}
@@ -105,7 +105,9 @@ public class TypeUtils{
     private static volatile boolean kotlin_error;
     private static volatile Map<Class,String[]> kotlinIgnores;
     private static volatile boolean kotlinIgnores_error;
+    // 只放addBaseClassMappings的类，loadClass加载的类放在classCache里
     private static ConcurrentMap<String,Class<?>> mappings = new ConcurrentHashMap<String,Class<?>>(16, 0.75f, 1);
+    private static final ClassCache classCache = new ClassCache();
     private static Class<?> pathClass;
     private static boolean pathClass_error = false;
 
@@ -290,8 +292,7 @@ public class TypeUtils{
             JSONScanner dateLexer = new JSONScanner(strVal);
             try{
                 if(dateLexer.scanISO8601DateIfMatch(false)){
-                    Calendar calendar = dateLexer.getCalendar();
-                    return calendar.getTime();
+                    return new Date(dateLexer.getDateMillis());
                 }
             } finally{
                 dateLexer.close();
@@ -401,7 +402,7 @@ public class TypeUtils{
             } else{
                 JSONScanner scanner = new JSONScanner(strVal);
                 if(scanner.scanISO8601DateIfMatch(false)){
-                    longValue = scanner.getCalendar().getTime().getTime();
+                    longValue = scanner.getDateMillis();
                 } else{
                     throw new JSONException("can not cast to Timestamp, value : " + strVal);
                 }
@@ -441,7 +442,7 @@ public class TypeUtils{
             } else{
                 JSONScanner scanner = new JSONScanner(strVal);
                 if(scanner.scanISO8601DateIfMatch(false)){
-                    longValue = scanner.getCalendar().getTime().getTime();
+                    longValue = scanner.getDateMillis();
                 } else{
                     throw new JSONException("can not cast to Timestamp, value : " + strVal);
                 }
@@ -487,7 +488,7 @@ public class TypeUtils{
             } else{
                 JSONScanner scanner = new JSONScanner(strVal);
                 if(scanner.scanISO8601DateIfMatch(false)){
-                    longValue = scanner.getCalendar().getTime().getTime();
+                    longValue = scanner.getDateMillis();
                 } else{
                     throw new JSONException("can not cast to Timestamp, value : " + strVal);
                 }
@@ -917,7 +918,8 @@ public class TypeUtils{
             if (mapping == null) {
                 mapping = ParserConfig.global;
             }
-            ObjectDeserializer deserializer = mapping.getDeserializer(rawTye);
+            // 和JSON.parseObject(text, type)一样按泛型类型取，结构相同的type共用一个反序列化器
+            ObjectDeserializer deserializer = mapping.getDeserializer(type);
             if (deserializer != null) {
                 String str = JSON.toJSONString(obj);
                 DefaultJSONParser parser = new DefaultJSONParser(str, mapping);
@@ -1160,6 +1162,7 @@ public class TypeUtils{
 
     public static void clearClassMapping(){
         mappings.clear();
+        classCache.clear();
         addBaseClassMappings();
     }
 
@@ -1182,7 +1185,21 @@ public class TypeUtils{
     }
 
     public static Class<?> getClassFromMapping(String className){
-        return mappings.get(className);
+        Class<?> clazz = mappings.get(className);
+        if(clazz == null){
+            clazz = classCache.get(Thread.currentThread().getContextClassLoader(), className, true);
+            if(clazz == ClassCache.NOT_FOUND){
+                clazz = null;
+            }
+        }
+        return clazz;
+    }
+
+    /**
+     * @since 1.2.45
+     */
+    public static ClassCache getClassCache(){
+        return classCache;
     }
 
     public static Class<?> loadClass(String className, ClassLoader classLoader) {
@@ -1205,12 +1222,16 @@ public class TypeUtils{
             String newClassName = className.substring(1, className.length() - 1);
             return loadClass(newClassName, classLoader);
         }
+        // 以第一个尝试的classLoader作为缓存的key，cache为true时只认可cache过的类
+        ClassLoader cacheLoader = classLoader != null ? classLoader : Thread.currentThread().getContextClassLoader();
+        clazz = classCache.get(cacheLoader, className, cache);
+        if(clazz != null){
+            return clazz == ClassCache.NOT_FOUND ? null : clazz;
+        }
         try{
             if(classLoader != null){
                 clazz = classLoader.loadClass(className);
-                if (cache) {
-                    mappings.put(className, clazz);
-                }
+                classCache.put(cacheLoader, className, clazz, cache);
                 return clazz;
             }
         } catch(Throwable e){
@@ -1221,9 +1242,7 @@ public class TypeUtils{
             ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
             if(contextClassLoader != null && contextClassLoader != classLoader){
                 clazz = contextClassLoader.loadClass(className);
-                if (cache) {
-                    mappings.put(className, clazz);
-                }
+                classCache.put(cacheLoader, className, clazz, cache);
                 return clazz;
             }
         } catch(Throwable e){
@@ -1231,11 +1250,12 @@ public class TypeUtils{
         }
         try{
             clazz = Class.forName(className);
-            mappings.put(className, clazz);
+            classCache.put(cacheLoader, className, clazz, true);
             return clazz;
         } catch(Throwable e){
             // skip
         }
+        classCache.put(cacheLoader, className, null, false);
         return clazz;
     }
 
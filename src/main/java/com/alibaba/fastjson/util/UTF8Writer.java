@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.MalformedInputException;
+
+import com.alibaba.fastjson.JSONException;
+
+/**
+ * Writer encoding straight to an OutputStream with {@link IOUtils#encodeUTF8(char[], int, int, byte[])}, the sink of
+ * the streaming SerializeWriter for UTF-8 output. It keeps no bytes of its own: every write is encoded through a
+ * pooled buffer and passed on to the stream, only a high surrogate at the end of a write waits for the next one.
+ *
+ * @since 1.2.45
+ */
+public final class UTF8Writer extends Writer {
+
+    private final OutputStream out;
+    /** 上一次写入末尾的高位代理，等下一次写入的低位代理 */
+    private char               highSurrogate;
+    private long               size;
+
+    public UTF8Writer(OutputStream out){
+        this.out = out;
+    }
+
+    /**
+     * @return number of bytes written to the stream
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public void write(char[] chars, int off, int len) throws IOException {
+        if (len == 0) {
+            return;
+        }
+
+        BufferPool pool = BufferPool.getDefault();
+        byte[] bytes = pool.allocBytes(1024 * 8);
+        try {
+            if (highSurrogate != 0) {
+                char low = chars[off];
+                if (!Character.isLowSurrogate(low)) {
+                    throw new JSONException("encodeUTF8 error", new MalformedInputException(1));
+                }
+                char[] pair = new char[] { highSurrogate, low };
+                highSurrogate = 0;
+                int position = IOUtils.encodeUTF8(pair, 0, 2, bytes);
+                out.write(bytes, 0, position);
+                size += position;
+                off++;
+                len--;
+            }
+
+            if (len > 0 && Character.isHighSurrogate(chars[off + len - 1])) {
+                highSurrogate = chars[off + len - 1];
+                len--;
+            }
+
+            size += IOUtils.writeUTF8(chars, off, len, bytes, out);
+        } finally {
+            pool.freeBytes(bytes);
+        }
+    }
+
+    public void flush() throws IOException {
+        writeLoneSurrogate();
+        out.flush();
+    }
+
+    public void close() throws IOException {
+        writeLoneSurrogate();
+        out.close();
+    }
+
+    /**
+     * flush或close时还没等到低位代理，落单的高位代理和IOUtils.encodeUTF8一样输出为'?'
+     */
+    private void writeLoneSurrogate() throws IOException {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            out.write('?');
+            size++;
+        }
+    }
+}
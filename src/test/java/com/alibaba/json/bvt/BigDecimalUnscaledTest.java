@@ -0,0 +1,80 @@
+package com.alibaba.json.bvt;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+public class BigDecimalUnscaledTest extends TestCase {
+
+    public void test_write() throws Exception {
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; ++i) {
+            long unscaled = random.nextLong() % pow10(random.nextInt(19));
+            BigDecimal value = BigDecimal.valueOf(unscaled, random.nextInt(30) - 10);
+            assertWrite(value);
+        }
+
+        assertWrite(new BigDecimal("0.00"));
+        assertWrite(new BigDecimal("0E-10"));
+        assertWrite(new BigDecimal("-1E+3"));
+        assertWrite(new BigDecimal("123456789012345678901234.5"));
+        assertWrite(new BigDecimal(new BigInteger("-999999999999999999"), 20));
+    }
+
+    private static void assertWrite(BigDecimal value) {
+        SerializeWriter out = new SerializeWriter(4);
+        out.writeDecimal(value, false);
+        Assert.assertEquals(value.toString(), out.toString());
+        out.close();
+
+        out = new SerializeWriter(4);
+        out.writeDecimal(value, true);
+        Assert.assertEquals(value.toPlainString(), out.toString());
+        out.close();
+    }
+
+    private static long pow10(int n) {
+        long value = 1;
+        for (int i = 0; i < n; ++i) {
+            value *= 10;
+        }
+        return value;
+    }
+
+    public void test_read() throws Exception {
+        String[] texts = { "0", "-0", "0.00", "12.340", "-0.000001", "1.5E3", "2e-5", "-7E+2",
+                "123456789012345678", "1234567890123456789", "0.0000000000000000000123", "1E100000000" };
+        for (String text : texts) {
+            BigDecimal expected = new BigDecimal(text);
+            Assert.assertEquals(text, expected, JSON.parseObject(text, BigDecimal.class));
+            Assert.assertEquals(text, expected, JSON.parseObject("{\"value\":" + text + "}", Model.class).value);
+            Assert.assertEquals(text, expected, JSON.parseObject("{\"value\":\"" + text + "\"}", Model.class).value);
+            Assert.assertEquals(text, expected, JSON.parseArray("[" + text + "]", BigDecimal.class).get(0));
+            Assert.assertEquals(text, expected, JSON.parseObject(text.getBytes("UTF-8"), BigDecimal.class));
+        }
+    }
+
+    public void test_round_trip() throws Exception {
+        Model model = new Model();
+        model.value = new BigDecimal("-1234.5600");
+        String text = JSON.toJSONString(model);
+        Assert.assertEquals("{\"value\":-1234.5600}", text);
+        Assert.assertEquals(model.value, JSON.parseObject(text, Model.class).value);
+
+        model.value = new BigDecimal("1E-8");
+        Assert.assertEquals("{\"value\":1E-8}", JSON.toJSONString(model));
+        Assert.assertEquals("{\"value\":0.00000001}", JSON.toJSONString(model, SerializerFeature.WriteBigDecimalAsPlain));
+    }
+
+    public static class Model {
+        public BigDecimal value;
+    }
+}
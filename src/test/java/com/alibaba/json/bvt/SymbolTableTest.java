@@ -36,9 +36,8 @@ public class SymbolTableTest extends TestCase {
             //System.out.println((table.hash(symbol) & table.getIndexMask()) + "\t\t:" + symbol + "\t\t" + table.hash(symbol));
         }
 
-        String symbol = "name";
-        table.addSymbol(symbol.toCharArray(), 0, symbol.length());
-        table.addSymbol(symbol.toCharArray(), 0, symbol.length());
+        String symbol = table.addSymbol("name".toCharArray(), 0, 4);
+        Assert.assertEquals("name", symbol);
 
         Assert.assertTrue(symbol == table.addSymbol("name".toCharArray(), 0, 4));
         Assert.assertTrue(symbol == table.addSymbol(" name".toCharArray(), 1, 4));
@@ -0,0 +1,102 @@
+package com.alibaba.json.bvt;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.SymbolTable;
+
+public class SymbolTableTest2 extends TestCase {
+
+    public void test_collision() throws Exception {
+        // "Aa"和"BB"的hashCode相同
+        SymbolTable table = new SymbolTable(16, 2);
+        table.setStatEnabled(true);
+
+        String aa = table.addSymbol("Aa".toCharArray(), 0, 2);
+        String bb = table.addSymbol("BB".toCharArray(), 0, 2);
+        Assert.assertSame(aa, table.addSymbol("Aa".toCharArray(), 0, 2));
+        Assert.assertSame(bb, table.addSymbol("BB".toCharArray(), 0, 2));
+
+        // 桶满了，不再加入
+        String c = table.addSymbol("AaAa".toCharArray(), 0, 4, "Aa".hashCode());
+        Assert.assertEquals("AaAa", c);
+        Assert.assertNotSame(c, table.addSymbol("AaAa".toCharArray(), 0, 4, "Aa".hashCode()));
+
+        Assert.assertEquals(2, table.getHitCount());
+        Assert.assertEquals(2, table.getMissCount());
+        Assert.assertEquals(2, table.getCollisionCount());
+        Assert.assertEquals(4, table.size());
+    }
+
+    public void test_bytes_and_string() throws Exception {
+        SymbolTable table = new SymbolTable(16);
+
+        String name = table.addSymbol("name".getBytes("UTF-8"), 0, 4, "name".hashCode());
+        Assert.assertSame(name, table.addSymbol("name".toCharArray(), 0, 4));
+        Assert.assertSame(name, table.addSymbol(" name ", 1, 4, "name".hashCode()));
+
+        Assert.assertSame("$ref", table.addSymbol("$ref".toCharArray(), 0, 4));
+        Assert.assertSame(JSON.DEFAULT_TYPE_KEY, table.addSymbol(JSON.DEFAULT_TYPE_KEY.toCharArray(), 0, 5));
+    }
+
+    public void test_max_size() throws Exception {
+        SymbolTable table = new SymbolTable(64, 4);
+        for (int i = 0; i < 10000; ++i) {
+            char[] chars = ("k" + i).toCharArray();
+            Assert.assertEquals("k" + i, table.addSymbol(chars, 0, chars.length));
+        }
+        Assert.assertEquals(256, table.getMaxSize());
+        Assert.assertTrue(table.size() <= table.getMaxSize());
+    }
+
+    public void test_concurrent() throws Exception {
+        final SymbolTable table = new SymbolTable(4096);
+        final String[] names = new String[1000];
+        for (int i = 0; i < names.length; ++i) {
+            names[i] = "name" + i;
+        }
+
+        final String[][] results = new String[8][names.length];
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[results.length];
+        for (int t = 0; t < threads.length; ++t) {
+            final String[] result = results[t];
+            threads[t] = new Thread() {
+
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < names.length; ++i) {
+                            char[] chars = names[i].toCharArray();
+                            result[i] = table.addSymbol(chars, 0, chars.length);
+                        }
+                    } catch (Throwable ex) {
+                        errors.incrementAndGet();
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(0, errors.get());
+
+        // 表没满，所有线程拿到的都是同一个symbol
+        for (int i = 0; i < names.length; ++i) {
+            char[] chars = names[i].toCharArray();
+            String symbol = table.addSymbol(chars, 0, chars.length);
+            Assert.assertEquals(names[i], symbol);
+            for (int t = 0; t < results.length; ++t) {
+                Assert.assertSame(symbol, results[t][i]);
+            }
+        }
+        Assert.assertSame("$ref", table.addSymbol("$ref".toCharArray(), 0, 4));
+    }
+}
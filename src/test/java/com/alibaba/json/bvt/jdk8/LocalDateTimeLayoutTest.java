@@ -0,0 +1,128 @@
+package com.alibaba.json.bvt.jdk8;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.annotation.JSONField;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.deserializer.JavaBeanDeserializer;
+import com.alibaba.fastjson.serializer.JavaBeanSerializer;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+import junit.framework.TestCase;
+
+public class LocalDateTimeLayoutTest extends TestCase {
+
+    private Locale origin;
+
+    protected void setUp() throws Exception {
+        origin = Locale.getDefault();
+    }
+
+    protected void tearDown() throws Exception {
+        Locale.setDefault(origin);
+    }
+
+    public void test_layouts() throws Exception {
+        Locale.setDefault(Locale.US);
+
+        String[] patterns = { "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss", "yyyy/MM/dd HH:mm:ss",
+                "MM/dd/yyyy HH:mm:ss", "dd.MM.yyyy HH:mm:ss", "dd-MM-yyyy HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS",
+                "yyyy-MM-dd'T'HH:mm:ss.SSSSSS", "yyyy-MM-dd'T'HH:mm" };
+        Random random = new Random(2018);
+        for (String pattern : patterns) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            for (int i = 0; i < 1000; ++i) {
+                LocalDateTime expected = LocalDateTime.of(1900 + random.nextInt(300), 1 + random.nextInt(12),
+                                                          1 + random.nextInt(28), random.nextInt(24),
+                                                          random.nextInt(60), random.nextInt(60),
+                                                          random.nextInt(1000000) * 1000);
+                String text = formatter.format(expected);
+                LocalDateTime dateTime = LocalDateTime.parse(text, formatter);
+
+                VO vo = JSON.parseObject("{\"date\":\"" + text + "\"}", VO.class);
+                Assert.assertEquals(text, dateTime, vo.date);
+            }
+        }
+    }
+
+    public void test_smart() throws Exception {
+        // DateTimeFormatter的SMART模式会把2月30日调整为2月最后一天
+        VO vo = JSON.parseObject("{\"date\":\"2017-02-30 10:11:12\"}", VO.class);
+        Assert.assertEquals(LocalDateTime.of(2017, 2, 28, 10, 11, 12), vo.date);
+
+        Exception error = null;
+        try {
+            JSON.parseObject("{\"date\":\"2017-02-30T10:11:12\"}", VO.class);
+        } catch (Exception ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public void test_local_date() throws Exception {
+        Assert.assertEquals(LocalDate.of(2016, 5, 6), JSON.parseObject("\"20160506\"", LocalDate.class));
+        Assert.assertEquals(LocalDate.of(2016, 5, 6), JSON.parseObject("\"2016/05/06\"", LocalDate.class));
+        Assert.assertEquals(LocalDate.of(2016, 5, 6), JSON.parseObject("\"2016-05-06T10:11:12.123\"", LocalDate.class));
+        Assert.assertEquals(LocalDateTime.of(2016, 5, 6, 0, 0), JSON.parseObject("\"06.05.2016\"", LocalDateTime.class));
+    }
+
+    public void test_format_asm() throws Exception {
+        ParserConfig parserConfig = new ParserConfig();
+        SerializeConfig serializeConfig = new SerializeConfig();
+        Assert.assertNotSame(JavaBeanDeserializer.class, parserConfig.getDeserializer(Model.class).getClass());
+        Assert.assertNotSame(JavaBeanSerializer.class, serializeConfig.getObjectWriter(Model.class).getClass());
+
+        Model model = JSON.parseObject("{\"date\":\"06/05/2016 10:11\",\"day\":\"2016.05.06\"}", Model.class,
+                                       parserConfig);
+        Assert.assertEquals(LocalDateTime.of(2016, 5, 6, 10, 11), model.date);
+        Assert.assertEquals(LocalDate.of(2016, 5, 6), model.day);
+
+        Assert.assertEquals("{\"date\":\"06/05/2016 10:11\",\"day\":\"2016.05.06\"}",
+                            JSON.toJSONString(model, serializeConfig));
+
+        model = JSON.parseObject("[\"06/05/2016 10:11\",\"2016.05.06\"]", Model.class, parserConfig,
+                                 Feature.SupportArrayToBean);
+        Assert.assertEquals(LocalDateTime.of(2016, 5, 6, 10, 11), model.date);
+        Assert.assertEquals(LocalDate.of(2016, 5, 6), model.day);
+        Assert.assertEquals("[\"06/05/2016 10:11\",\"2016.05.06\"]",
+                            JSON.toJSONString(model, serializeConfig, SerializerFeature.BeanToArray));
+    }
+
+    public void test_format_non_ascii() throws Exception {
+        // 字节码里放不下非ASCII的format，不使用asm
+        Assert.assertSame(JavaBeanDeserializer.class, new ParserConfig().getDeserializer(Model2.class).getClass());
+
+        Model2 model = JSON.parseObject("{\"day\":\"2016年05月06日\"}", Model2.class);
+        Assert.assertEquals(LocalDate.of(2016, 5, 6), model.day);
+        Assert.assertEquals("{\"day\":\"2016年05月06日\"}", JSON.toJSONString(model));
+    }
+
+    public static class VO {
+
+        public LocalDateTime date;
+    }
+
+    public static class Model {
+
+        @JSONField(format = "dd/MM/yyyy HH:mm", ordinal = 1)
+        public LocalDateTime date;
+
+        @JSONField(format = "yyyy.MM.dd", ordinal = 2)
+        public LocalDate     day;
+    }
+
+    public static class Model2 {
+
+        @JSONField(format = "yyyy年MM月dd日")
+        public LocalDate day;
+    }
+}
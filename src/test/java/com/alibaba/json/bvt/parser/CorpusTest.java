@@ -0,0 +1,27 @@
+package com.alibaba.json.bvt.parser;
+
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONPath;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.json.test.benchmark.corpus.CorpusDocument;
+
+public class CorpusTest extends TestCase {
+
+    public void test_round_trip() throws Exception {
+        for (CorpusDocument doc : CorpusDocument.values()) {
+            String text = doc.getText();
+
+            Object tree = JSON.parse(text);
+            assertEquals(doc.name(), tree, JSON.parse(JSON.toJSONString(tree, SerializerFeature.WriteMapNullValue)));
+            assertEquals(doc.name(), tree, JSON.parse(doc.getBytes()));
+
+            Object bean = JSON.parseObject(text, doc.beanType);
+            String beanText = JSON.toJSONString(bean);
+            assertEquals(doc.name(), beanText, JSON.toJSONString(JSON.parseObject(beanText, doc.beanType)));
+
+            assertNotNull(doc.name(), JSONPath.read(text, doc.path));
+        }
+    }
+}
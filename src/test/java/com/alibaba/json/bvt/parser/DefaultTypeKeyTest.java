@@ -0,0 +1,61 @@
+package com.alibaba.json.bvt.parser;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.ParserConfig;
+
+import junit.framework.TestCase;
+
+public class DefaultTypeKeyTest extends TestCase {
+
+    private String       original = JSON.DEFAULT_TYPE_KEY;
+    // 在修改类型key之前创建，它的SymbolTable中没有新的key
+    private ParserConfig config   = new ParserConfig();
+
+    protected void setUp() throws Exception {
+        config.addAccept("com.alibaba.json.bvt.parser.DefaultTypeKeyTest.");
+        JSON.setDefaultTypeKey("@class");
+    }
+
+    protected void tearDown() throws Exception {
+        JSON.setDefaultTypeKey(original);
+    }
+
+    public void test_config_before_key_change() throws Exception {
+        String text = "{\"@class\":\"com.alibaba.json.bvt.parser.DefaultTypeKeyTest$Model\",\"id\":123}";
+
+        Object obj = JSON.parseObject(text, Object.class, config);
+        Assert.assertEquals(Model.class, obj.getClass());
+        Assert.assertEquals(123, ((Model) obj).id);
+
+        Model model = JSON.parseObject(text, Model.class, config);
+        Assert.assertEquals(123, model.id);
+    }
+
+    public void test_map() throws Exception {
+        String text = "{\"value\":{\"@class\":\"java.util.TreeMap\",\"id\":5}}";
+
+        VO vo = JSON.parseObject(text, VO.class, config);
+        Map<String, Object> map = vo.value;
+        Assert.assertFalse(map.containsKey("@class"));
+        Assert.assertEquals(5, map.get("id"));
+
+        JSONObject object = (JSONObject) JSON.parse(text, config);
+        Assert.assertEquals(TreeMap.class, object.get("value").getClass());
+    }
+
+    public static class Model {
+
+        public int id;
+    }
+
+    public static class VO {
+
+        public Map<String, Object> value;
+    }
+}
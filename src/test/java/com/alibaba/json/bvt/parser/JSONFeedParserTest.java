@@ -0,0 +1,210 @@
+package com.alibaba.json.bvt.parser;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONFeedParser;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.util.IOUtils;
+
+public class JSONFeedParserTest extends TestCase {
+
+    private static final String[] VALUES = { "{\"id\":1,\"name\":\"a}]\\\"b\",\"list\":[1,{\"x\":[]}]}", //
+                                             "[\"中文\",'x\\'y',null]", //
+                                             "\"top}\"", //
+                                             "123", //
+                                             "true", //
+                                             "{}", //
+                                             "-1.5e3" };
+
+    public void test_byte_by_byte() throws Exception {
+        byte[] bytes = join(" \n").getBytes(IOUtils.UTF8);
+
+        JSONFeedParser parser = new JSONFeedParser();
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < bytes.length; ++i) {
+            parser.feed(ByteBuffer.wrap(bytes, i, 1));
+            while (parser.hasNext()) {
+                values.add(parser.next());
+            }
+        }
+        parser.finish();
+        while (parser.hasNext()) {
+            values.add(parser.next());
+        }
+
+        Assert.assertEquals(VALUES.length, values.size());
+        for (int i = 0; i < VALUES.length; ++i) {
+            Assert.assertEquals(JSON.parse(VALUES[i]), values.get(i));
+        }
+        Assert.assertEquals(0, parser.pending());
+    }
+
+    public void test_chunks() throws Exception {
+        byte[] bytes = join("\n").getBytes(IOUtils.UTF8);
+
+        for (int chunk = 1; chunk < 40; chunk += 3) {
+            JSONFeedParser parser = new JSONFeedParser();
+            int count = 0;
+            for (int off = 0; off < bytes.length; off += chunk) {
+                parser.feed(bytes, off, Math.min(chunk, bytes.length - off));
+                while (parser.hasNext()) {
+                    Assert.assertEquals(JSON.parse(VALUES[count++]), parser.next());
+                }
+            }
+            parser.finish();
+            while (parser.hasNext()) {
+                Assert.assertEquals(JSON.parse(VALUES[count++]), parser.next());
+            }
+            Assert.assertEquals(VALUES.length, count);
+        }
+    }
+
+    public void test_typed() throws Exception {
+        JSONFeedParser parser = new JSONFeedParser(Model.class);
+        byte[] bytes = "{\"id\":1,\"name\":\"张三\"}{\"id\":2,\"name\":\"李四\"}".getBytes(IOUtils.UTF8);
+
+        parser.feed(bytes, 0, 10);
+        Assert.assertFalse(parser.hasNext());
+        Assert.assertEquals(10, parser.pending());
+
+        parser.feed(bytes, 10, bytes.length - 10);
+        Model first = (Model) parser.next();
+        Model second = (Model) parser.next();
+        Assert.assertFalse(parser.hasNext());
+        Assert.assertEquals(1, first.id);
+        Assert.assertEquals("张三", first.name);
+        Assert.assertEquals(2, second.id);
+        Assert.assertEquals("李四", second.name);
+        Assert.assertEquals(0, parser.pending());
+    }
+
+    public void test_large_value() throws Exception {
+        StringBuilder buf = new StringBuilder("[");
+        for (int i = 0; i < 10000; ++i) {
+            if (i != 0) {
+                buf.append(',');
+            }
+            buf.append("{\"i\":").append(i).append('}');
+        }
+        buf.append(']');
+        byte[] bytes = buf.toString().getBytes(IOUtils.UTF8);
+
+        JSONFeedParser parser = new JSONFeedParser();
+        for (int off = 0; off < bytes.length; off += 1000) {
+            parser.feed(bytes, off, Math.min(1000, bytes.length - off));
+        }
+        List<?> list = (List<?>) parser.next();
+        Assert.assertEquals(10000, list.size());
+        Assert.assertEquals(9999, ((JSONObject) list.get(9999)).getIntValue("i"));
+    }
+
+    public void test_unclosed() throws Exception {
+        JSONFeedParser parser = new JSONFeedParser();
+        parser.feed("{\"a\":[1,2".getBytes(IOUtils.UTF8), 0, 9);
+        Assert.assertFalse(parser.hasNext());
+
+        Exception error = null;
+        try {
+            parser.finish();
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+
+        error = null;
+        try {
+            parser.next();
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public void test_error_recovery() throws Exception {
+        JSONFeedParser parser = new JSONFeedParser();
+
+        Exception error = null;
+        try {
+            parser.feed("{\"a\":}\n".getBytes(IOUtils.UTF8), 0, 7);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+
+        byte[] bytes = "{\"b\":2}\n".getBytes(IOUtils.UTF8);
+        parser.feed(bytes, 0, bytes.length);
+        Assert.assertEquals(2, ((JSONObject) parser.next()).getIntValue("b"));
+        Assert.assertFalse(parser.hasNext());
+
+        // 出错的值后面已经收到的值，继续feed或finish时仍能拿到
+        bytes = "1x [3] 4".getBytes(IOUtils.UTF8);
+        error = null;
+        try {
+            parser.feed(bytes, 0, bytes.length);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+        parser.finish();
+        Assert.assertEquals(JSON.parse("[3]"), parser.next());
+        Assert.assertEquals(4, parser.next());
+        Assert.assertFalse(parser.hasNext());
+        Assert.assertEquals(0, parser.pending());
+    }
+
+    public void test_comments() throws Exception {
+        String text = "/* {[ */ {\"a\":/* } */1, // ]}\n\"b\":[2 /*]*/]}\n" //
+                      + "// {\n" //
+                      + "123/**/[4]\n" //
+                      + "// last";
+        byte[] bytes = text.getBytes(IOUtils.UTF8);
+
+        JSONFeedParser parser = new JSONFeedParser();
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < bytes.length; ++i) {
+            parser.feed(bytes, i, 1);
+            while (parser.hasNext()) {
+                values.add(parser.next());
+            }
+        }
+        parser.finish();
+
+        Assert.assertEquals(3, values.size());
+        Assert.assertEquals(JSON.parse("{\"a\":1,\"b\":[2]}"), values.get(0));
+        Assert.assertEquals(123, values.get(1));
+        Assert.assertEquals(JSON.parse("[4]"), values.get(2));
+        Assert.assertEquals(0, parser.pending());
+
+        parser.feed("/* open".getBytes(IOUtils.UTF8), 0, 7);
+        Exception error = null;
+        try {
+            parser.finish();
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    private static String join(String separator) {
+        StringBuilder buf = new StringBuilder();
+        for (String value : VALUES) {
+            if (buf.length() != 0) {
+                buf.append(separator);
+            }
+            buf.append(value);
+        }
+        return buf.toString();
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+}
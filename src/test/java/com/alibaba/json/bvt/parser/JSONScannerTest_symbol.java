@@ -37,7 +37,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\\"name\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick \"name" == symbol);
+        Assert.assertEquals("nick \"name", symbol);
         lexer.close();
     }
 
@@ -46,7 +46,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\\\name\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick \\name" == symbol);
+        Assert.assertEquals("nick \\name", symbol);
         lexer.close();
     }
 
@@ -55,7 +55,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\/name\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick /name" == symbol);
+        Assert.assertEquals("nick /name", symbol);
         lexer.close();
     }
 
@@ -64,7 +64,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\bname\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick \bname" == symbol);
+        Assert.assertEquals("nick \bname", symbol);
         lexer.close();
     }
 
@@ -73,7 +73,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\f name\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick \f name" == symbol);
+        Assert.assertEquals("nick \f name", symbol);
         lexer.close();
     }
 
@@ -82,7 +82,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\F name\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick \f name" == symbol);
+        Assert.assertEquals("nick \f name", symbol);
         lexer.close();
     }
 
@@ -91,7 +91,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\n name\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick \n name" == symbol);
+        Assert.assertEquals("nick \n name", symbol);
         lexer.close();
     }
 
@@ -100,7 +100,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\r name\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick \r name" == symbol);
+        Assert.assertEquals("nick \r name", symbol);
         lexer.close();
     }
 
@@ -109,7 +109,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\t name\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick \t name" == symbol);
+        Assert.assertEquals("nick \t name", symbol);
         lexer.close();
     }
 
@@ -118,7 +118,7 @@ public class JSONScannerTest_symbol extends TestCase {
 
         JSONScanner lexer = new JSONScanner("\"nick \\u4e2d name\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("nick 中 name" == symbol);
+        Assert.assertEquals("nick 中 name", symbol);
         lexer.close();
     }
 
@@ -128,7 +128,7 @@ public class JSONScannerTest_symbol extends TestCase {
         JSONScanner lexer = new JSONScanner(
                                             "\"\\tabcdefghijklmnopqrstuvwxyz01234567890abcdefghijklmnopqrstuvwxyz01234567890abcdefghijklmnopqrstuvwxyz01234567890abcdefghijklmnopqrstuvwxyz01234567890\"");
         String symbol = lexer.scanSymbol(symbolTable, '"');
-        Assert.assertTrue("\tabcdefghijklmnopqrstuvwxyz01234567890abcdefghijklmnopqrstuvwxyz01234567890abcdefghijklmnopqrstuvwxyz01234567890abcdefghijklmnopqrstuvwxyz01234567890" == symbol);
+        Assert.assertEquals("\tabcdefghijklmnopqrstuvwxyz01234567890abcdefghijklmnopqrstuvwxyz01234567890abcdefghijklmnopqrstuvwxyz01234567890abcdefghijklmnopqrstuvwxyz01234567890", symbol);
         lexer.close();
     }
 
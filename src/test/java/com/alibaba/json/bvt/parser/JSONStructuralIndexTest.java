@@ -0,0 +1,102 @@
+package com.alibaba.json.bvt.parser;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONPath;
+import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.parser.JSONStructuralIndex;
+
+public class JSONStructuralIndexTest extends TestCase {
+
+    public void test_same_as_parse() throws Exception {
+        String[] texts = { //
+                "{\"id\":123,\"name\":\"wenshao\",\"tags\":[\"a\",\"b\"]}", //
+                "{'a':'x\\'y', b : [1, -2, 3.5, 1e3, -0.25E-2], \"c\":{\"d\":{}}}", //
+                "[true,false,null,{\"k\":[[],[{}]]}]", //
+                "{\"s\":\"\\u4e2d\\n\\t\\\"\\\\/\", \"big\":123456789012345678901234, \"long\":-9223372036854775808}", //
+                " [ 1 , 2147483648 , -2147483648 , 0 ] ", //
+                "{\"a\":\"中文}]\",\"b\":\",:\"}", //
+                "\"text\"", //
+                "-12", //
+        };
+        for (String text : texts) {
+            Assert.assertEquals(text, JSON.parse(text), new JSONStructuralIndex(text).parse());
+        }
+    }
+
+    public void test_types() throws Exception {
+        JSONArray array = (JSONArray) new JSONStructuralIndex("[1, 3000000000, 1.5, 123456789012345678901]").parse();
+        Assert.assertEquals(Integer.valueOf(1), array.get(0));
+        Assert.assertEquals(Long.valueOf(3000000000L), array.get(1));
+        Assert.assertEquals(new BigDecimal("1.5"), array.get(2));
+        Assert.assertEquals(new BigInteger("123456789012345678901"), array.get(3));
+    }
+
+    public void test_next() throws Exception {
+        JSONStructuralIndex index = new JSONStructuralIndex("{\"a\":{\"x\":[1,2,{\"y\":3}]},\"b\":2}");
+        // { "a" : {
+        Assert.assertEquals('{', index.kind(3));
+        int e = index.next(3);
+        Assert.assertEquals(',', index.kind(e));
+        Assert.assertEquals("b", index.key(e + 1));
+        Assert.assertEquals(2, index.parseValue(e + 3));
+        Assert.assertEquals(index.size(), index.next(0));
+    }
+
+    public void test_bean() throws Exception {
+        List<Model> list = new JSONStructuralIndex("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]")
+            .parseObject(new TypeReference<List<Model>>() {
+            }.getType());
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(2, list.get(1).id);
+        Assert.assertEquals("b", list.get(1).name);
+    }
+
+    public void test_jsonpath() throws Exception {
+        String text = "{\"store\":{\"book\":[{\"title\":\"a\",\"price\":8.95},{\"title\":\"b\",\"price\":12.99}]},\"x\":[1,2]}";
+        Assert.assertEquals("b", JSONPath.read(text, "$.store.book[1].title"));
+        Assert.assertEquals(2, ((List) JSONPath.read(text, "$..title")).size());
+    }
+
+    public void test_empty() throws Exception {
+        Assert.assertNull(new JSONStructuralIndex("").parse());
+        Assert.assertNull(new JSONStructuralIndex("  ").parse());
+        Assert.assertEquals(new JSONObject(), new JSONStructuralIndex("{}").parse());
+    }
+
+    public void test_error() throws Exception {
+        String[] texts = { //
+                "{\"a\":1", //
+                "[1,2}", //
+                "{\"a\":1}}", //
+                "{\"a\" 1}", //
+                "[1 2]", //
+                "{\"a\":}", //
+                "\"abc", //
+                "{\"a\":1} x", //
+        };
+        for (String text : texts) {
+            Exception error = null;
+            try {
+                new JSONStructuralIndex(text).parse();
+            } catch (JSONException ex) {
+                error = ex;
+            }
+            Assert.assertNotNull(text, error);
+        }
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+}
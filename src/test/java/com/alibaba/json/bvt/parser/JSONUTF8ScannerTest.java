@@ -0,0 +1,147 @@
+package com.alibaba.json.bvt.parser;
+
+import java.util.List;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.JSONUTF8Scanner;
+import com.alibaba.fastjson.util.IOUtils;
+
+public class JSONUTF8ScannerTest extends TestCase {
+
+    public void test_ascii() throws Exception {
+        JSONObject obj = (JSONObject) JSON.parse(utf8("{\"id\":123,\"name\":\"wenshao\",\"value\":3.5,\"flag\":true}"));
+        Assert.assertEquals(123, obj.getIntValue("id"));
+        Assert.assertEquals("wenshao", obj.getString("name"));
+        Assert.assertEquals("3.5", obj.getBigDecimal("value").toString());
+        Assert.assertEquals(Boolean.TRUE, obj.get("flag"));
+    }
+
+    public void test_multi_byte() throws Exception {
+        String text = "{\"名称\":\"温少\",\"emoji\":\"a😀b\",\"latin\":\"café\"}";
+        JSONObject obj = (JSONObject) JSON.parse(utf8(text));
+        Assert.assertEquals("温少", obj.getString("名称"));
+        Assert.assertEquals("a😀b", obj.getString("emoji"));
+        Assert.assertEquals("café", obj.getString("latin"));
+        Assert.assertEquals(JSON.parse(text), obj);
+    }
+
+    public void test_escape_with_multi_byte() throws Exception {
+        String text = "{\"k\\u00e9y\":\"中\\n\\u6587\\\"é\\\\\",\"x\":\"\\x41\\/\"}";
+        JSONObject obj = (JSONObject) JSON.parse(utf8(text));
+        Assert.assertEquals("中\n文\"é\\", obj.getString("kéy"));
+        Assert.assertEquals("A/", obj.getString("x"));
+    }
+
+    public void test_bom_and_offset() throws Exception {
+        byte[] json = utf8("[1,\"é\",null]");
+        byte[] bytes = new byte[json.length + 5];
+        bytes[0] = 'x';
+        bytes[1] = (byte) 0xEF;
+        bytes[2] = (byte) 0xBB;
+        bytes[3] = (byte) 0xBF;
+        System.arraycopy(json, 0, bytes, 4, json.length);
+        bytes[bytes.length - 1] = ']';
+
+        JSONArray array = JSON.parseObject(bytes, 1, json.length + 3, IOUtils.UTF8, JSONArray.class);
+        Assert.assertEquals(3, array.size());
+        Assert.assertEquals("é", array.get(1));
+    }
+
+    public void test_bean() throws Exception {
+        String text = "{\"id\":1001,\"name\":\"张三\",\"tags\":[\"a\",\"ß\"],\"level\":\"HIGH\",\"名\":\"x\"}";
+        Model model = JSON.parseObject(utf8(text), Model.class);
+        Assert.assertEquals(1001, model.id);
+        Assert.assertEquals("张三", model.name);
+        Assert.assertEquals(2, model.tags.size());
+        Assert.assertEquals("ß", model.tags.get(1));
+        Assert.assertEquals(Level.HIGH, model.level);
+    }
+
+    public void test_unquoted_multi_byte() throws Exception {
+        JSONObject obj = (JSONObject) JSON.parse(utf8("{名字:\"温少\",a😀b:1,Ā:null}"));
+        Assert.assertEquals("温少", obj.get("名字"));
+        Assert.assertEquals(1, obj.get("a😀b"));
+        Assert.assertTrue(obj.containsKey("Ā"));
+
+        // U+0080到U+00FF和char路径一样不能出现在标识符中
+        String text = "{é:1}";
+        try {
+            JSON.parse(text);
+            fail();
+        } catch (JSONException ex) {
+        }
+        try {
+            JSON.parse(utf8(text));
+            fail();
+        } catch (JSONException ex) {
+        }
+    }
+
+    public void test_single_quote() throws Exception {
+        JSONObject obj = (JSONObject) JSON.parse(utf8("{'a':'é\\'1'}"), Feature.AllowSingleQuotes);
+        Assert.assertEquals("é'1", obj.getString("a"));
+    }
+
+    public void test_lexer() throws Exception {
+        JSONUTF8Scanner lexer = new JSONUTF8Scanner(utf8("\"测试\" 12"));
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.LITERAL_STRING, lexer.token());
+        Assert.assertEquals("测试", lexer.stringVal());
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.LITERAL_INT, lexer.token());
+        Assert.assertEquals(12, lexer.intValue());
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.EOF, lexer.token());
+        lexer.close();
+    }
+
+    public void test_unclosed() throws Exception {
+        Exception error = null;
+        try {
+            JSON.parse(utf8("{\"a\":\"é"));
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public void test_escape_hex() throws Exception {
+        Assert.assertEquals("[\"A\",\"中\"]", JSON.toJSONString(JSON.parse(utf8("[\"\\x41\",\"\\u4e2d\"]"))));
+        Assert.assertEquals("A", ((JSONObject) JSON.parse(utf8("{\"\\x41\":1}"))).keySet().iterator().next());
+
+        String[] errors = { "[\"\\x4\"]", "[\"ab\\u\"]", "[\"\\u12\"]", "[\"\\x4g\"]", "[\"\\xé\"]",
+                "{\"\\u12\":1}" };
+        for (String text : errors) {
+            Exception error = null;
+            try {
+                JSON.parse(utf8(text));
+            } catch (JSONException ex) {
+                error = ex;
+            }
+            Assert.assertNotNull(text, error);
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(IOUtils.UTF8);
+    }
+
+    public static class Model {
+        public int          id;
+        public String       name;
+        public List<String> tags;
+        public Level        level;
+    }
+
+    public static enum Level {
+        LOW, HIGH
+    }
+}
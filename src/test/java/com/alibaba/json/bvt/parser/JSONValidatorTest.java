@@ -0,0 +1,109 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONValidator;
+import com.alibaba.fastjson.util.IOUtils;
+
+public class JSONValidatorTest extends TestCase {
+
+    private static final String[] VALID   = { //
+            "{}", "[]", "1", "-1.5e3", "\"abc\"", "true", "null", //
+            "{\"a\":1,\"b\":[1,2,{\"c\":\"\\u4e2d\\\"\"}],\"d\":{\"e\":null}}", //
+            " [ {\"中文\" : \"值\"} , [ [ ] ] , false ] ", //
+            "/* c */ {\"a\":1} // end", //
+            "0", "-0", "0.5", "-0.0e-0", "1E+2", "[10,2.25e10]", //
+            "\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00aF\"", "{\"a\\nb\":\"\\ud83d\\ude00\"}", //
+    };
+
+    private static final String[] INVALID = { //
+            "", " ", "{", "[", "}", "{\"a\":1", "[1,2", "[1,]", "{\"a\":1,}", "{\"a\" 1}", "{a:1}", "{'a':1}", //
+            "[1 2]", "{\"a\":1}}", "[1]]", "{\"a\":1]", "[1}", "\"abc", "new Date(1)", "NaN", "{\"a\":}", "[,1]", //
+            "{} {}", "{,}", "{\"a\"}", "{1:2}", //
+            // 数字
+            "01", "-01", "00", "[01]", "1.", "1.e5", ".5", "-", "[-]", "{\"a\":-}", "+1", "1e", "1e+", "1E-", //
+            "1.5L", "1B", "[1S]", "1F", "1D", "1e5D", "0x1", //
+            // 字符串
+            "\"\\x41\"", "\"\\v\"", "\"\\0\"", "\"\\'\"", "\"\\F\"", "\"\\u12\"", "[\"\\u12\"]", //
+            "\"\\u+123\"", "\"a\nb\"", "\"a\tb\"", "{\"a\u0001\":1}", "\"\\q\"", //
+    };
+
+    public void test_valid() throws Exception {
+        for (String text : VALID) {
+            Assert.assertTrue(text, JSON.isValid(text));
+            Assert.assertTrue(text, JSON.isValid(text.toCharArray()));
+            Assert.assertTrue(text, JSON.isValid(text.getBytes(IOUtils.UTF8)));
+            Assert.assertTrue(text, JSON.isValid(new ByteArrayInputStream(text.getBytes(IOUtils.UTF8))));
+        }
+    }
+
+    public void test_invalid() throws Exception {
+        for (String text : INVALID) {
+            Assert.assertFalse(text, JSON.isValid(text));
+            Assert.assertFalse(text, JSON.isValid(text.toCharArray()));
+            Assert.assertFalse(text, JSON.isValid(text.getBytes(IOUtils.UTF8)));
+            Assert.assertFalse(text, JSON.isValid(new ByteArrayInputStream(text.getBytes(IOUtils.UTF8))));
+        }
+    }
+
+    public void test_type() throws Exception {
+        Assert.assertTrue(JSON.isValidObject("{\"a\":[1]}"));
+        Assert.assertFalse(JSON.isValidObject("[{}]"));
+        Assert.assertTrue(JSON.isValidArray("[{}]"));
+        Assert.assertFalse(JSON.isValidArray("{}"));
+        Assert.assertTrue(JSON.isValidArray("[1]".getBytes(IOUtils.UTF8)));
+        Assert.assertFalse(JSON.isValidObject("1".getBytes(IOUtils.UTF8)));
+
+        JSONValidator validator = JSONValidator.from("\"x\"");
+        Assert.assertTrue(validator.validate());
+        Assert.assertEquals(JSONValidator.Type.Value, validator.getType());
+    }
+
+    public void test_error_offset() throws Exception {
+        JSONValidator validator = JSONValidator.from("{\"a\":[1,2,}");
+        Assert.assertFalse(validator.validate());
+        Assert.assertEquals(10, validator.getErrorOffset());
+
+        validator = JSONValidator.from("{\"a\":1}");
+        Assert.assertTrue(validator.validate());
+        Assert.assertEquals(-1, validator.getErrorOffset());
+    }
+
+    public void test_large() throws Exception {
+        StringBuilder buf = new StringBuilder("[");
+        for (int i = 0; i < 10000; ++i) {
+            if (i != 0) {
+                buf.append(',');
+            }
+            buf.append("{\"id\":").append(i).append(",\"name\":\"名字").append(i).append("\",\"v\":[1.5,true,null]}");
+        }
+        buf.append(']');
+        String text = buf.toString();
+        byte[] bytes = text.getBytes(IOUtils.UTF8);
+
+        Assert.assertTrue(JSON.isValidArray(text));
+        Assert.assertTrue(JSON.isValid(new ByteArrayInputStream(bytes)));
+
+        // 每一个前缀都不完整
+        for (int i = 0; i < 2000; i += 7) {
+            Assert.assertFalse(JSON.isValid(text.substring(0, i)));
+            Assert.assertFalse(JSON.isValid(new ByteArrayInputStream(bytes, 0, i)));
+        }
+    }
+
+    public void test_deep() throws Exception {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            buf.append("[{\"a\":");
+        }
+        buf.append('1');
+        for (int i = 0; i < 5000; ++i) {
+            buf.append("}]");
+        }
+        Assert.assertTrue(JSON.isValid(buf.toString()));
+    }
+}
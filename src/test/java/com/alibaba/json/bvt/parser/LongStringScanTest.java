@@ -0,0 +1,76 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.util.IOUtils;
+
+public class LongStringScanTest extends TestCase {
+
+    public void test_escape_at_every_offset() throws Exception {
+        for (int len = 0; len < 40; ++len) {
+            for (int pos = 0; pos <= len; ++pos) {
+                StringBuilder buf = new StringBuilder();
+                for (int i = 0; i < len; ++i) {
+                    buf.append(i == pos ? '"' : (char) ('a' + i % 26));
+                }
+                String value = buf.toString();
+                assertParse(value);
+                assertParse(value.replace('"', '\\'));
+                assertParse(value.replace('"', '中'));
+            }
+        }
+    }
+
+    public void test_random() throws Exception {
+        Random random = new Random(1);
+        String[] alphabet = { "a", "b", "c", " ", "\\", "\"", "/", "\n", "\t", "中", "😀" };
+        for (int i = 0; i < 500; ++i) {
+            int len = random.nextInt(200);
+            StringBuilder buf = new StringBuilder();
+            for (int j = 0; j < len; ++j) {
+                buf.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertParse(buf.toString());
+        }
+    }
+
+    public void test_mixed_values() throws Exception {
+        String text = "{\"a\":\"plain text value\",\"b\":\"with \\\"escape\\\"\",\"c\":\"plain again\",\"d\":[\"x\\\\\",\"y\"]}";
+        JSONObject obj = JSON.parseObject(text);
+        Assert.assertEquals("plain text value", obj.getString("a"));
+        Assert.assertEquals("with \"escape\"", obj.getString("b"));
+        Assert.assertEquals("plain again", obj.getString("c"));
+        Assert.assertEquals("x\\", obj.getJSONArray("d").get(0));
+        Assert.assertEquals(obj, JSON.parse(text.getBytes(IOUtils.UTF8)));
+    }
+
+    public void test_whitespace() throws Exception {
+        String text = "[ \n\t 1 ,\r\n   \"a\" /* comment */ , \f\b  2 ]";
+        JSONArray array = JSON.parseArray(text);
+        Assert.assertEquals(3, array.size());
+        Assert.assertEquals("a", array.get(1));
+    }
+
+    private static void assertParse(String value) {
+        String text = JSON.toJSONString(new Object[] { value, value, "tail" });
+
+        JSONArray fromString = JSON.parseArray(text);
+        Assert.assertEquals(value, fromString.get(0));
+        Assert.assertEquals(value, fromString.get(1));
+
+        JSONArray fromBytes = (JSONArray) JSON.parse(text.getBytes(IOUtils.UTF8));
+        Assert.assertEquals(fromString, fromBytes);
+
+        JSONReader reader = new JSONReader(new StringReader(text));
+        Assert.assertEquals(fromString, reader.readObject());
+        reader.close();
+    }
+}
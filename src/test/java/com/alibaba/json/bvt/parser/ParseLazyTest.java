@@ -0,0 +1,112 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+public class ParseLazyTest extends TestCase {
+
+    private static final String TEXT = "{\"id\":123, \"name\":\"wen\\\"shao\", 'tags':['a', \"b]\", {\"c\":null}],"
+                                       + " \"nested\":{\"x\":{\"y\":[1, 2.5, true]}}, unquoted : false,"
+                                       + " \"big\":12345678901234, \"empty\":{}, \"none\":[]}";
+
+    public void test_get() throws Exception {
+        JSONObject obj = JSON.parseLazyObject(TEXT);
+        Assert.assertEquals(123, obj.getIntValue("id"));
+        Assert.assertEquals("wen\"shao", obj.getString("name"));
+        Assert.assertEquals(Boolean.FALSE, obj.get("unquoted"));
+        Assert.assertEquals(12345678901234L, obj.getLongValue("big"));
+
+        JSONArray y = obj.getJSONObject("nested").getJSONObject("x").getJSONArray("y");
+        Assert.assertEquals(3, y.size());
+        Assert.assertEquals(new BigDecimal("2.5"), y.get(1));
+        Assert.assertEquals(Boolean.TRUE, y.get(2));
+
+        JSONArray tags = obj.getJSONArray("tags");
+        Assert.assertEquals("b]", tags.getString(1));
+        Assert.assertTrue(tags.getJSONObject(2).containsKey("c"));
+
+        Assert.assertTrue(obj.getJSONObject("empty").isEmpty());
+        Assert.assertTrue(obj.getJSONArray("none").isEmpty());
+        Assert.assertNull(obj.get("missing"));
+    }
+
+    public void test_equals_eager() throws Exception {
+        Object lazy = JSON.parseLazy(TEXT);
+        Object eager = JSON.parse(TEXT);
+        Assert.assertEquals(eager, lazy);
+        Assert.assertEquals(lazy, eager);
+        Assert.assertEquals(eager.hashCode(), lazy.hashCode());
+        Assert.assertEquals(eager, JSON.parse(JSON.toJSONString(lazy, SerializerFeature.WriteMapNullValue)));
+        Assert.assertEquals(JSON.toJSONString(lazy), lazy.toString());
+    }
+
+    public void test_order_and_update() throws Exception {
+        JSONObject obj = JSON.parseLazyObject("{\"b\":1,\"a\":2,\"c\":3}");
+        Assert.assertEquals(2, obj.get("a"));
+        obj.put("d", 4);
+        Assert.assertEquals(1, obj.remove("b"));
+        Assert.assertEquals("{\"a\":2,\"c\":3,\"d\":4}", obj.toJSONString());
+
+        JSONArray array = (JSONArray) JSON.parseLazy("[1,[2],\"3\"]");
+        array.add(4);
+        array.remove(0);
+        Assert.assertEquals("[[2],\"3\",4]", array.toJSONString());
+    }
+
+    public void test_bean() throws Exception {
+        JSONObject obj = JSON.parseLazyObject("{\"id\":1,\"name\":\"x\",\"values\":{\"k\":\"v\"}}");
+        Model model = obj.toJavaObject(Model.class);
+        Assert.assertEquals(1, model.id);
+        Assert.assertEquals("x", model.name);
+        Assert.assertEquals("v", model.values.get("k"));
+    }
+
+    public void test_serializable() throws Exception {
+        JSONObject obj = JSON.parseLazyObject(TEXT);
+
+        ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytesOut);
+        out.writeObject(obj);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytesOut.toByteArray()));
+        Object copy = in.readObject();
+        Assert.assertEquals(JSON.parse(TEXT), copy);
+    }
+
+    public void test_scalar() throws Exception {
+        Assert.assertEquals(12, JSON.parseLazy(" 12 "));
+        Assert.assertEquals("abc", JSON.parseLazy("\"abc\""));
+        Assert.assertNull(JSON.parseLazy(null));
+    }
+
+    public void test_error() throws Exception {
+        JSONObject obj = JSON.parseLazyObject("{\"a\":1,\"b\" 2}");
+        Exception error = null;
+        try {
+            obj.get("a");
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public static class Model {
+        public int                 id;
+        public String              name;
+        public Map<String, String> values;
+    }
+}
@@ -4,7 +4,8 @@ import org.junit.Assert;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
-import com.alibaba.json.bvt.util.ThreadLocalCacheTest;
+import com.alibaba.fastjson.util.BufferPool;
+import com.alibaba.fastjson.util.StripedBufferPool;
 
 import junit.framework.TestCase;
 
@@ -39,15 +40,19 @@ public class TestUTF8_2 extends TestCase {
     }
     
     public void test_utf_4() throws Exception {
-        ThreadLocalCacheTest.clearChars();
-        
-        byte[] bytes = decodeHex("C2FF".toCharArray());
-        String content = new String(bytes, "UTF-8");
-        JSONObject json = new JSONObject();
-        json.put("content", content);
-        JSONObject obj = (JSONObject) JSON.parse(json.toJSONString().getBytes("UTF-8"));
-        Assert.assertEquals(1, obj.size());
-        Assert.assertEquals(content, obj.get("content"));
+        BufferPool defaultPool = BufferPool.getDefault();
+        BufferPool.setDefault(new StripedBufferPool());
+        try {
+            byte[] bytes = decodeHex("C2FF".toCharArray());
+            String content = new String(bytes, "UTF-8");
+            JSONObject json = new JSONObject();
+            json.put("content", content);
+            JSONObject obj = (JSONObject) JSON.parse(json.toJSONString().getBytes("UTF-8"));
+            Assert.assertEquals(1, obj.size());
+            Assert.assertEquals(content, obj.get("content"));
+        } finally {
+            BufferPool.setDefault(defaultPool);
+        }
     }
     
     public static byte[] decodeHex(char[] data) throws Exception {
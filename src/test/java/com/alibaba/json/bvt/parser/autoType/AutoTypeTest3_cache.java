@@ -0,0 +1,93 @@
+package com.alibaba.json.bvt.parser.autoType;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.ParserConfig;
+import junit.framework.TestCase;
+
+public class AutoTypeTest3_cache extends TestCase {
+
+    private static final String MODEL = "com.alibaba.json.bvt.parser.autoType.AutoTypeTest3_cache$Model";
+
+    public void test_auto_type_support() throws Exception {
+        ParserConfig config = new ParserConfig();
+
+        assertRejected(config, MODEL, null);
+        assertRejected(config, MODEL, null);
+
+        config.setAutoTypeSupport(true);
+        assertSame(Model.class, config.checkAutoType(MODEL, null));
+        assertSame(Model.class, config.checkAutoType(MODEL, null));
+
+        config.setAutoTypeSupport(false);
+        assertRejected(config, MODEL, null);
+
+        assertSame(Model.class, config.checkAutoType(MODEL, null, Feature.SupportAutoType.mask));
+    }
+
+    public void test_accept_deny() throws Exception {
+        ParserConfig config = new ParserConfig();
+        assertRejected(config, MODEL, null);
+
+        config.addAccept("com.alibaba.json.bvt.parser.autoType.AutoTypeTest3_cache");
+        assertSame(Model.class, config.checkAutoType(MODEL, null));
+
+        config.setAutoTypeSupport(true);
+        assertSame(Model.class, config.checkAutoType(MODEL, null));
+
+        config.addDeny("com.alibaba.json.bvt.parser.autoType.");
+        assertRejected(config, MODEL, null);
+        assertRejected(config, MODEL, null);
+    }
+
+    public void test_expect_class() throws Exception {
+        ParserConfig config = new ParserConfig();
+        config.setAutoTypeSupport(true);
+
+        assertSame(Model.class, config.checkAutoType(MODEL, Base.class));
+        assertRejected(config, MODEL, Runnable.class);
+        assertSame(Model.class, config.checkAutoType(MODEL, null));
+        assertRejected(config, MODEL, Runnable.class);
+        assertSame(Model.class, config.checkAutoType(MODEL, Base.class));
+    }
+
+    public void test_known_after_rejected() throws Exception {
+        ParserConfig config = new ParserConfig();
+        String text = "{\"@type\":\"com.alibaba.json.bvt.parser.autoType.AutoTypeTest3_cache$Model2\",\"id\":123}";
+
+        Exception error = null;
+        try {
+            JSON.parseObject(text, Object.class, config);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        assertNotNull(error);
+
+        // 建过deserializer的类是已知的，之前缓存的拒绝结果不能再用
+        config.getDeserializer(Model2.class);
+        Model2 model = (Model2) JSON.parseObject(text, Object.class, config);
+        assertEquals(123, model.id);
+    }
+
+    private static void assertRejected(ParserConfig config, String typeName, Class<?> expectClass) {
+        Exception error = null;
+        try {
+            config.checkAutoType(typeName, expectClass);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        assertNotNull(error);
+    }
+
+    public static class Base {
+    }
+
+    public static class Model extends Base {
+        public int id;
+    }
+
+    public static class Model2 {
+        public int id;
+    }
+}
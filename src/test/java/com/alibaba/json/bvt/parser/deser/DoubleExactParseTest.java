@@ -0,0 +1,152 @@
+package com.alibaba.json.bvt.parser.deser;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.DoubleParser;
+import com.alibaba.fastjson.util.IOUtils;
+
+public class DoubleExactParseTest extends TestCase {
+
+    private static final String[] TEXTS = { //
+            "0", "-0", "1", "0.1", "1.7976931348623157E308", "4.9E-324", "2.2250738585072014E-308", //
+            "9007199254740993", "9007199254740995", "1234567890123456789", "9999999999999999999", //
+            "12345678901234567890123", "0.30000000000000004", "123.456e-7", "1E22", "1e23", "-2.5e-3", //
+            "7.038531e-26", "3.4028235E38", "1.4E-45", "8.589973e9", "1e-400", "1e400", //
+            "0.000000000000000000000000000000000000000000001", "2.4703282292062328e-324", //
+            "179769313486231580793728971405303415079934132710037826936173778980444968292764750946649017977587207096330286416692887910946555547851940402630657488671505820681908902000708383676273854845817711531764475730270069855571366959622842914819860834936475292719074168444365510704342711559699508093042880177904174497792" };
+
+    public void test_number_token() throws Exception {
+        for (String text : TEXTS) {
+            double expect = Double.parseDouble(text);
+            Object value = JSON.parse(text, JSON.DEFAULT_PARSER_FEATURE & ~Feature.UseBigDecimal.mask);
+            Assert.assertEquals(text, expect, ((Number) value).doubleValue(), 0);
+            Assert.assertEquals(text, expect, JSON.parseObject(text, double.class), 0);
+        }
+    }
+
+    public void test_fields() throws Exception {
+        ParserConfig noAsm = new ParserConfig();
+        noAsm.setAsmEnable(false);
+
+        for (String text : TEXTS) {
+            String json = "{\"d\":" + text + ",\"f\":" + text + ",\"v\":1}";
+            String quoted = "{\"d\":\"" + text + "\",\"f\":\"" + text + "\",\"v\":1}";
+
+            double d = Double.parseDouble(text);
+            float f = Float.parseFloat(text);
+
+            Model model = JSON.parseObject(json, Model.class);
+            Assert.assertEquals(text, d, model.d, 0);
+            Assert.assertEquals(text, 1, model.v);
+            if (f != 0 && !Float.isInfinite(f)) {
+                Assert.assertEquals(text, f, model.f, 0);
+            }
+
+            Assert.assertEquals(text, d, JSON.parseObject(quoted, Model.class).d, 0);
+            Assert.assertEquals(text, d, ((Model) JSON.parseObject(json.getBytes(IOUtils.UTF8), Model.class)).d, 0);
+            Assert.assertEquals(text, d, ((Model) JSON.parseObject(json, Model.class, noAsm, 0)).d, 0);
+
+            JSONReader reader = new JSONReader(new StringReader(json));
+            Assert.assertEquals(text, d, reader.readObject(Model.class).d, 0);
+            reader.close();
+        }
+    }
+
+    public void test_random() throws Exception {
+        Random random = new Random(123);
+        StringBuilder buf = new StringBuilder("[");
+        double[] expect = new double[20000];
+        for (int i = 0; i < expect.length; ++i) {
+            String text;
+            switch (i % 3) {
+                case 0:
+                    text = Double.toString(Double.longBitsToDouble(random.nextLong() & 0x7FEFFFFFFFFFFFFFL));
+                    break;
+                case 1:
+                    text = new BigDecimal(random.nextDouble() * 1000).toPlainString();
+                    break;
+                default:
+                    text = (random.nextLong() & Long.MAX_VALUE) + "." + random.nextInt(1000000) + "e" + (random.nextInt(80) - 40);
+                    break;
+            }
+            expect[i] = Double.parseDouble(text);
+            if (i != 0) {
+                buf.append(',');
+            }
+            buf.append(text);
+        }
+        buf.append(']');
+
+        double[] values = JSON.parseObject(buf.toString(), double[].class);
+        for (int i = 0; i < expect.length; ++i) {
+            Assert.assertEquals(expect[i], values[i], 0);
+        }
+
+        JSONArray array = (JSONArray) JSON.parse(buf.toString(), JSON.DEFAULT_PARSER_FEATURE & ~Feature.UseBigDecimal.mask);
+        for (int i = 0; i < expect.length; ++i) {
+            Assert.assertEquals(expect[i], ((Number) array.get(i)).doubleValue(), 0);
+        }
+    }
+
+    public void test_converter() throws Exception {
+        Random random = new Random(456);
+        for (int i = 0; i < 100000; ++i) {
+            long w = random.nextLong() & Long.MAX_VALUE;
+            int q = random.nextInt(700) - 360;
+            String text = w + "e" + q;
+            Assert.assertEquals(text, Double.parseDouble(text), DoubleParser.toDouble(w, q, false), 0);
+            Assert.assertEquals(text, Float.parseFloat(text), DoubleParser.toFloat(w, q, false), 0);
+        }
+    }
+
+    public void test_float_range() throws Exception {
+        // float字面量超出范围时报错，消息区分上溢和下溢
+        assertFloatError("58.77e-291", "float underflow : 58.77e-291");
+        assertFloatError("1e-50", "float underflow : 1e-50");
+        assertFloatError("3.4e39", "float overflow : 3.4e39");
+
+        Assert.assertEquals(0F, JSON.parseObject("0.1e-50", float.class), 0);
+        Assert.assertEquals(1.4E-45F, JSON.parseObject("1.4E-45", float.class), 0);
+    }
+
+    private static void assertFloatError(String text, String message) {
+        String[] texts = { text, "[" + text + "]" };
+        Class<?>[] types = { Float.class, float[].class };
+        for (int i = 0; i < texts.length; ++i) {
+            Exception error = null;
+            try {
+                JSON.parseObject(texts[i], types[i]);
+            } catch (JSONException ex) {
+                error = ex;
+            }
+            Assert.assertNotNull(texts[i], error);
+            Assert.assertEquals(message, error.getCause().getMessage());
+
+            error = null;
+            try {
+                JSON.parseObject(texts[i].getBytes(IOUtils.UTF8), types[i]);
+            } catch (JSONException ex) {
+                error = ex;
+            }
+            Assert.assertNotNull(texts[i], error);
+            Assert.assertEquals(message, error.getCause().getMessage());
+        }
+    }
+
+    public static class Model {
+        public double d;
+        public float  f;
+        public int    v;
+    }
+}
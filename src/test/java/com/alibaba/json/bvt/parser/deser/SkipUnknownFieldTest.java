@@ -0,0 +1,142 @@
+package com.alibaba.json.bvt.parser.deser;
+
+import java.io.StringReader;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.deserializer.ExtraProcessor;
+import com.alibaba.fastjson.util.IOUtils;
+
+public class SkipUnknownFieldTest extends TestCase {
+
+    private static final String TEXT = "{\"a\":{\"x\":[1,{\"y\":\"}]\\\"\"}],'z':'\\''}, \"id\":3, \"b\":[[],[{}]],"
+                                       + " \"c\":\"str\", \"d\":-1.5e3, \"e\":null, \"f\":true, /* c } */ \"name\":\"n\","
+                                       + " \"g\":{/* ] */}}";
+
+    public void test_skip() throws Exception {
+        Model model = JSON.parseObject(TEXT, Model.class);
+        Assert.assertEquals(3, model.id);
+        Assert.assertEquals("n", model.name);
+    }
+
+    public void test_skip_bytes() throws Exception {
+        Model model = JSON.parseObject(TEXT.getBytes(IOUtils.UTF8), Model.class);
+        Assert.assertEquals(3, model.id);
+        Assert.assertEquals("n", model.name);
+    }
+
+    public void test_skip_reader() throws Exception {
+        JSONReader reader = new JSONReader(new StringReader(TEXT));
+        Model model = reader.readObject(Model.class);
+        reader.close();
+        Assert.assertEquals(3, model.id);
+        Assert.assertEquals("n", model.name);
+    }
+
+    public void test_extra_processor() throws Exception {
+        final StringBuilder keys = new StringBuilder();
+        Model model = JSON.parseObject(TEXT, Model.class, new ExtraProcessor() {
+
+            public void processExtra(Object object, String key, Object value) {
+                keys.append(key);
+            }
+        });
+        Assert.assertEquals(3, model.id);
+        Assert.assertEquals("abcdefg", keys.toString());
+    }
+
+    public void test_malformed() throws Exception {
+        String[] texts = { "{\"x\":{],\"id\":1}", //
+                "{\"x\":[1 2 3 : ,,],\"id\":1}", //
+                "{\"x\":{\"a\" 1 2},\"id\":1}", //
+                "{\"x\":{\"a\":tru},\"id\":1}", //
+                "{\"x\":{\"a\":\"\\q\"}}", //
+                "{\"x\":[1,{\"a\":1]},\"id\":1}", //
+                "{\"x\":{\"a\":1 \"b\":2},\"id\":1}", //
+                "{\"x\":xyz,\"id\":1}", //
+                "{\"x\":[1,2" };
+        for (String text : texts) {
+            assertError(text);
+        }
+    }
+
+    public void test_malformed_number() throws Exception {
+        String[] numbers = { "-", "-.", "-e1", "1e", "1e+", "--1", "- 1", "[-]", "{\"a\":-}", "-]", "-a", "[1,-]", "{-:1}" };
+        for (String number : numbers) {
+            assertError("{\"x\":" + number + ",\"id\":1}");
+        }
+
+        String[] valid = { "-.5", "1.", "1.e5", "-0", "+1", "01", "-1.5E+3", "[1L,2F]" };
+        for (String number : valid) {
+            String text = "{\"x\":" + number + ",\"id\":3}";
+            Assert.assertEquals(text, 3, JSON.parseObject(text, Model.class).id);
+            Assert.assertEquals(text, 3, ((Model) JSON.parseObject(text.getBytes(IOUtils.UTF8), Model.class)).id);
+        }
+    }
+
+    public void test_auto_type() throws Exception {
+        // 跳过的字段里的类型key和parse()一样要经过autoType检查
+        assertError("{\"x\":{\"@type\":\"com.sun.rowset.JdbcRowSetImpl\"},\"id\":1}");
+        assertError("{\"x\":[{\"a\":{\"@type\":\"com.sun.rowset.JdbcRowSetImpl\"}}],\"id\":1}");
+
+        Model model = JSON.parseObject("{\"x\":{\"@type\":\"java.util.HashMap\"},\"id\":3}", Model.class);
+        Assert.assertEquals(3, model.id);
+    }
+
+    public void test_lenient() throws Exception {
+        // 和parse()一样接受的写法
+        String[] texts = { "{\"x\":[1,,2,],\"id\":3}", //
+                "{\"x\":[1 2],\"id\":3}", //
+                "{\"x\":{\"a\":1,},\"id\":3}", //
+                "{\"x\":{a:NaN,1:'b'},\"id\":3}" };
+        for (String text : texts) {
+            Assert.assertEquals(text, 3, JSON.parseObject(text, Model.class).id);
+            Assert.assertEquals(text, 3, ((Model) JSON.parseObject(text.getBytes(IOUtils.UTF8), Model.class)).id);
+        }
+    }
+
+    private static void assertError(String text) {
+        Exception error = null;
+        try {
+            JSON.parseObject(text, Model.class);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(text, error);
+
+        error = null;
+        try {
+            JSON.parseObject(text.getBytes(IOUtils.UTF8), Model.class);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(text, error);
+    }
+
+    public void test_lexer() throws Exception {
+        JSONScanner lexer = new JSONScanner("[{\"a\":[1,2]}, \"b\", 3]");
+        lexer.nextToken();
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.LBRACE, lexer.token());
+        lexer.skipValue(null);
+        Assert.assertEquals(JSONToken.COMMA, lexer.token());
+        lexer.nextToken();
+        lexer.skipValue(null);
+        lexer.nextToken();
+        Assert.assertEquals(3, lexer.intValue());
+        lexer.skipValue(null);
+        Assert.assertEquals(JSONToken.RBRACKET, lexer.token());
+        lexer.close();
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+}
@@ -0,0 +1,174 @@
+package com.alibaba.json.bvt.parser.deser.date;
+
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.annotation.JSONField;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.util.DateDecoder;
+
+public class DateFastParseTest extends TestCase {
+
+    private static final TimeZone SHANGHAI = TimeZone.getTimeZone("Asia/Shanghai");
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    public void test_random() throws Exception {
+        Random random = new Random(2018);
+        for (int i = 0; i < 10000; ++i) {
+            long time = (long) (random.nextDouble() * 80000000000000L) - 12219292800000L + random.nextInt(1000);
+            if (time < -12219292800000L) {
+                continue;
+            }
+            TimeZone tz = (i & 1) == 0 ? SHANGHAI : NEW_YORK;
+
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS", Locale.US);
+            format.setTimeZone(tz);
+            String text = format.format(new Date(time));
+
+            long millis = DateDecoder.parse(text, 0, text.length(), true, tz, Locale.US);
+            if (millis == DateDecoder.NOT_MATCH) {
+                continue; // 夏令时切换的那天交给Calendar
+            }
+            Assert.assertEquals(text, time, millis);
+        }
+    }
+
+    public void test_offset() throws Exception {
+        String[] texts = { "2018-01-25T10:20:30.456Z", "2018-01-25T18:20:30.456+08:00", "2018-01-25T18:20:30.456+0800",
+                "2018-01-25T18:20:30.456+08", "2018-01-25T05:20:30.456-05:00", "2018-01-25T16:05:30.456+05:45" };
+        long expected = 1516875630456L;
+        for (int i = 0; i < texts.length; ++i) {
+            String text = texts[i];
+            Assert.assertEquals(text, expected, DateDecoder.parse(text, 0, text.length(), true, NEW_YORK, Locale.US));
+        }
+
+        Assert.assertEquals(expected - 456,
+                            DateDecoder.parse("2018-01-25T10:20:30Z", 0, 20, true, SHANGHAI, Locale.US));
+    }
+
+    public void test_not_match() throws Exception {
+        String[] texts = { "2018-01-25 10:20:30", "2018-13-25T10:20:30", "2018-01-25T24:20:30",
+                "2018-01-25T10:20:30.45", "2018-01-25T10:20:30+8", "1500-01-25T10:20:30", "2018-01-25T10:20:30.456X" };
+        for (int i = 0; i < texts.length; ++i) {
+            String text = texts[i];
+            Assert.assertEquals(text, DateDecoder.NOT_MATCH,
+                                DateDecoder.parse(text, 0, text.length(), true, SHANGHAI, Locale.US));
+        }
+
+        // 夏令时开始的那天
+        Assert.assertEquals(DateDecoder.NOT_MATCH,
+                            DateDecoder.parse("2018-03-11T02:30:00", 0, 19, true, NEW_YORK, Locale.US));
+        // 佛历
+        Assert.assertEquals(DateDecoder.NOT_MATCH,
+                            DateDecoder.parse("2018-01-25", 0, 10, true, SHANGHAI, new Locale("th", "TH")));
+    }
+
+    public void test_fields() throws Exception {
+        TimeZone defaultTimeZone = JSON.defaultTimeZone;
+        JSON.defaultTimeZone = NEW_YORK;
+        try {
+            String text = "{\"calendar\":\"2018-03-11 02:30:00\",\"date\":\"2018-01-25 18:20:30\",\"timestamp\":\"2018-01-25T18:20:30.456+08:00\"}";
+
+            Calendar calendar = new GregorianCalendar(NEW_YORK, Locale.US);
+            calendar.clear();
+            calendar.set(2018, Calendar.MARCH, 11, 2, 30, 0);
+            long expectedCalendar = calendar.getTimeInMillis();
+            calendar.set(2018, Calendar.JANUARY, 25, 18, 20, 30);
+            long expectedDate = calendar.getTimeInMillis();
+
+            VO vo = JSON.parseObject(text, VO.class);
+            Assert.assertEquals(expectedCalendar, vo.calendar.getTimeInMillis());
+            Assert.assertEquals(expectedDate, vo.date.getTime());
+            Assert.assertEquals(1516875630456L, vo.timestamp.getTime());
+
+            VO2 vo2 = JSON.parseObject(text, VO2.class);
+            Assert.assertEquals(expectedCalendar, vo2.calendar.getTimeInMillis());
+            Assert.assertEquals(expectedDate, vo2.date.getTime());
+            Assert.assertEquals(1516875630456L, vo2.timestamp.getTime());
+
+            Model model = JSON.parseObject("{\"date\":\"2018-01-25 18:20:30\"}", Model.class);
+            Assert.assertEquals(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse("2018-01-25 18:20:30"), model.date);
+        } finally {
+            JSON.defaultTimeZone = defaultTimeZone;
+        }
+    }
+
+    public void test_offset_all_types() throws Exception {
+        String[] texts = { "2018-01-25 18:20:30.456+0800", "2018-01-25 18:20:30.456+08:00", "2018-01-25T10:20:30.456Z" };
+        for (int i = 0; i < texts.length; ++i) {
+            String text = "\"" + texts[i] + "\"";
+            Assert.assertEquals(text, 1516875630456L, JSON.parseObject(text, Date.class).getTime());
+            Assert.assertEquals(text, 1516875630456L, JSON.parseObject(text, Timestamp.class).getTime());
+            Assert.assertEquals(text, 1516875630456L, JSON.parseObject(text, java.sql.Date.class).getTime());
+        }
+
+        // 没有毫秒
+        String text = "{\"date\":\"2018-01-01 12:00:00+0800\",\"timestamp\":\"2018-01-01 12:00:00+0800\"}";
+        VO vo = JSON.parseObject(text, VO.class);
+        Assert.assertEquals(1514779200000L, vo.date.getTime());
+        Assert.assertEquals(1514779200000L, vo.timestamp.getTime());
+    }
+
+    public void test_parser_date_format() throws Exception {
+        // 配置了dateFormat时，带空格的日期时间交给dateFormat解析
+        String[] types = { "timestamp", "date" };
+        for (int i = 0; i < types.length; ++i) {
+            DefaultJSONParser parser = new DefaultJSONParser("\"2018-01-02 12:00:00\"");
+            parser.setDateFormat("yyyy-dd-MM HH:mm:ss");
+            Date expect = parser.getDateFormat().parse("2018-01-02 12:00:00");
+            Date date = parser.parseObject(i == 0 ? Timestamp.class : java.sql.Date.class);
+            parser.close();
+            Assert.assertEquals(types[i], expect.getTime(), date.getTime());
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser("\"2018-01-02T12:00:00\"");
+        parser.setDateFormat("yyyy-dd-MM HH:mm:ss");
+        Timestamp timestamp = parser.parseObject(Timestamp.class);
+        parser.close();
+        Assert.assertEquals(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse("2018-01-02 12:00:00").getTime(),
+                            timestamp.getTime());
+    }
+
+    public void test_calendar_zone() throws Exception {
+        JSONScanner lexer = new JSONScanner("2018-01-25T10:20:30.456Z");
+        Assert.assertTrue(lexer.scanISO8601DateIfMatch());
+        Assert.assertEquals(1516875630456L, lexer.getDateMillis());
+
+        Calendar calendar = lexer.getCalendar();
+        Assert.assertEquals(1516875630456L, calendar.getTimeInMillis());
+        Assert.assertEquals(0, calendar.getTimeZone().getRawOffset());
+        Assert.assertEquals(10, calendar.get(Calendar.HOUR_OF_DAY));
+    }
+
+    public static class VO {
+
+        public Calendar  calendar;
+        public Date      date;
+        public Timestamp timestamp;
+    }
+
+    private static class VO2 {
+
+        public Calendar  calendar;
+        public Date      date;
+        public Timestamp timestamp;
+    }
+
+    public static class Model {
+
+        @JSONField(format = "yyyy-MM-dd HH:mm:ss")
+        public Date date;
+    }
+}
@@ -0,0 +1,104 @@
+package com.alibaba.json.bvt.parser.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import junit.framework.TestCase;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.util.IOUtils;
+
+public class ParseInputStreamTest extends TestCase {
+
+    public void test_small() throws Exception {
+        ChunkedInputStream in = new ChunkedInputStream("{\"id\":1,\"name\":\"中文\"}".getBytes(IOUtils.UTF8), 3);
+        Model model = JSON.parseObject(in, Model.class);
+        Assert.assertEquals(1, model.id);
+        Assert.assertEquals("中文", model.name);
+        Assert.assertFalse(in.closed);
+    }
+
+    public void test_large_bean() throws Exception {
+        List<Model> list = new ArrayList<Model>();
+        for (int i = 0; i < 20000; ++i) {
+            Model model = new Model();
+            model.id = i;
+            model.name = "名字-" + i;
+            list.add(model);
+        }
+        byte[] bytes = JSON.toJSONBytes(list);
+        Assert.assertTrue(bytes.length > 1024 * 64 * 4);
+
+        ChunkedInputStream in = new ChunkedInputStream(bytes, 1000);
+        List<Model> result = JSON.parseObject(in, new TypeReference<List<Model>>() {
+        }.getType());
+        Assert.assertEquals(list.size(), result.size());
+        Assert.assertEquals(19999, result.get(19999).id);
+        Assert.assertEquals("名字-19999", result.get(19999).name);
+        Assert.assertFalse(in.closed);
+    }
+
+    public void test_large_tree_gbk() throws Exception {
+        StringBuilder buf = new StringBuilder("[");
+        for (int i = 0; i < 20000; ++i) {
+            if (i != 0) {
+                buf.append(',');
+            }
+            buf.append("{\"v\":\"值").append(i).append("\"}");
+        }
+        buf.append(']');
+        Charset gbk = Charset.forName("GBK");
+
+        InputStream in = new ChunkedInputStream(buf.toString().getBytes(gbk), 777);
+        JSONArray array = JSON.parseObject(in, gbk, JSONArray.class);
+        Assert.assertEquals(20000, array.size());
+        Assert.assertEquals("值12345", array.getJSONObject(12345).getString("v"));
+    }
+
+    public void test_empty() throws Exception {
+        Assert.assertNull(JSON.parseObject(new ByteArrayInputStream(new byte[0]), Model.class));
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+
+    static class ChunkedInputStream extends InputStream {
+
+        private final byte[] bytes;
+        private final int    chunk;
+        private int          pos;
+        boolean              closed;
+
+        ChunkedInputStream(byte[] bytes, int chunk){
+            this.bytes = bytes;
+            this.chunk = chunk;
+        }
+
+        public int read() throws IOException {
+            return pos < bytes.length ? bytes[pos++] & 0xFF : -1;
+        }
+
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (pos >= bytes.length) {
+                return -1;
+            }
+            int n = Math.min(Math.min(len, chunk), bytes.length - pos);
+            System.arraycopy(bytes, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        public void close() throws IOException {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.alibaba.json.bvt.path;
+
+import java.util.List;
+
+import com.alibaba.fastjson.JSONPath;
+import junit.framework.TestCase;
+import org.junit.Assert;
+
+public class JSONPath_read_text extends TestCase {
+
+    public void test_read_resolves_ref() throws Exception {
+        String json = "{\"a\":{\"id\":1},\"b\":{\"$ref\":\"$.a\"}}";
+        Assert.assertEquals(1, JSONPath.read(json, "$.b.id"));
+    }
+
+    public void test_read_lenient() throws Exception {
+        List<?> list = (List<?>) JSONPath.read("{\"items\":[1,,2]}", "$.items");
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(2, JSONPath.read("{\"items\":[1,,2]}", "$.items[1]"));
+    }
+}
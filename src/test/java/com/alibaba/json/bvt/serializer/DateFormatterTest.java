@@ -0,0 +1,129 @@
+package com.alibaba.json.bvt.serializer;
+
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.annotation.JSONField;
+import com.alibaba.fastjson.serializer.DateFormatter;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+public class DateFormatterTest extends TestCase {
+
+    public void test_same_as_simple_date_format() throws Exception {
+        String[] patterns = { "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSSZ", "yy/M/d H:m:s.S",
+                "yyyyMMddHHmmssSSSZ", "yyyy-MM-dd'T'HH:mm:ssXXX", "y 'at' HH''mm" };
+        String[] zones = { "Asia/Shanghai", "America/New_York", "UTC", "Asia/Kolkata" };
+
+        Random random = new Random(5);
+        for (String zone : zones) {
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            for (String pattern : patterns) {
+                DateFormatter formatter = DateFormatter.forPattern(pattern, timeZone, Locale.CHINA);
+                Assert.assertSame(formatter, DateFormatter.forPattern(pattern, timeZone, Locale.CHINA));
+
+                SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.CHINA);
+                format.setTimeZone(timeZone);
+                for (int i = 0; i < 1000; ++i) {
+                    long millis = random.nextLong() % (1000L * 365 * 86400000L);
+                    Assert.assertEquals(format.format(new Date(millis)), formatter.format(millis));
+                    // 同一秒内的时间
+                    Assert.assertEquals(format.format(new Date(millis + 1)), formatter.format(millis + 1));
+                }
+            }
+        }
+    }
+
+    public void test_not_supported() throws Exception {
+        TimeZone timeZone = TimeZone.getTimeZone("Asia/Shanghai");
+        Assert.assertNull(DateFormatter.forPattern("yyyy-MMM-dd", timeZone, Locale.US));
+        Assert.assertNull(DateFormatter.forPattern("EEE, d", timeZone, Locale.US));
+        Assert.assertNull(DateFormatter.forPattern("yyyy", timeZone, new Locale("th", "TH")));
+
+        Model model = new Model();
+        model.date = new Date(1500000000000L);
+        model.text = new Date(1500000000000L);
+
+        SimpleDateFormat format = new SimpleDateFormat("yyyy MMM dd", JSON.defaultLocale);
+        format.setTimeZone(JSON.defaultTimeZone);
+        Assert.assertEquals("{\"date\":\"" + format.format(model.date) + "\",\"text\":\""
+                            + format.format(model.text) + "\"}",
+                            JSON.toJSONStringWithDateFormat(model, "yyyy MMM dd"));
+    }
+
+    public void test_serialize() throws Exception {
+        TimeZone timeZone = JSON.defaultTimeZone;
+        long millis = 1500000000123L;
+
+        SimpleDateFormat format = new SimpleDateFormat(JSON.DEFFAULT_DATE_FORMAT, JSON.defaultLocale);
+        format.setTimeZone(timeZone);
+        Assert.assertEquals("\"" + format.format(new Date(millis)) + "\"",
+                            JSON.toJSONString(new Date(millis), SerializerFeature.WriteDateUseDateFormat));
+
+        format = new SimpleDateFormat("yyyy/MM/dd", JSON.defaultLocale);
+        format.setTimeZone(timeZone);
+        Assert.assertEquals("\"" + format.format(new Date(millis)).replace("/", "\\/") + "\"",
+                            JSON.toJSONStringWithDateFormat(new Date(millis), "yyyy/MM/dd",
+                                                            SerializerFeature.WriteSlashAsSpecial));
+
+        Model model = new Model();
+        model.date = new Date(millis);
+        model.text = new Date(millis);
+        format = new SimpleDateFormat("yyyyMMdd", JSON.defaultLocale);
+        format.setTimeZone(timeZone);
+        Assert.assertEquals("{'date':" + millis + ",'text':'" + format.format(model.text) + "'}",
+                            JSON.toJSONString(model, SerializerFeature.UseSingleQuotes));
+    }
+
+    public void test_writer() throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        SerializeWriter out = new SerializeWriter(stringWriter, 8);
+        JSONSerializer serializer = new JSONSerializer(out);
+        serializer.setDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        serializer.config(SerializerFeature.WriteDateUseDateFormat, true);
+
+        Date[] dates = new Date[10];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = new Date(1500000000000L + i * 250);
+        }
+        serializer.write(dates);
+        out.close();
+
+        Assert.assertEquals(JSON.toJSONStringWithDateFormat(dates, "yyyy-MM-dd HH:mm:ss.SSS"), stringWriter.toString());
+    }
+
+    public void test_iso8601() throws Exception {
+        TimeZone defaultTimeZone = JSON.defaultTimeZone;
+        JSON.defaultTimeZone = TimeZone.getTimeZone("Asia/Shanghai");
+        try {
+            SerializeWriter out = new SerializeWriter();
+            JSONSerializer serializer = new JSONSerializer(out);
+            serializer.config(SerializerFeature.UseISO8601DateFormat, true);
+            serializer.write(new Date[] { new Date(1500000000123L), new Date(1500000000000L),
+                    new Date(1499961600000L) });
+            Assert.assertEquals("[\"2017-07-14T10:40:00.123+08:00\",\"2017-07-14T10:40:00+08:00\",\"2017-07-14+08:00\"]",
+                                out.toString());
+            out.close();
+        } finally {
+            JSON.defaultTimeZone = defaultTimeZone;
+        }
+    }
+
+    public static class Model {
+
+        public Date date;
+
+        @JSONField(format = "yyyyMMdd")
+        public Date text;
+    }
+}
@@ -0,0 +1,102 @@
+package com.alibaba.json.bvt.serializer;
+
+import java.io.StringWriter;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.fastjson.util.RyuDouble;
+import com.alibaba.fastjson.util.RyuFloat;
+
+public class DoubleShortestTest extends TestCase {
+
+    public void test_layout() throws Exception {
+        Assert.assertEquals("0.0", RyuDouble.toString(0D));
+        Assert.assertEquals("-0.0", RyuDouble.toString(-0D));
+        Assert.assertEquals("123.0", RyuDouble.toString(123D));
+        Assert.assertEquals("0.001", RyuDouble.toString(0.001D));
+        Assert.assertEquals("9.9E-4", RyuDouble.toString(0.00099D));
+        Assert.assertEquals("9999999.0", RyuDouble.toString(9999999D));
+        Assert.assertEquals("1.0E7", RyuDouble.toString(1E7D));
+        Assert.assertEquals("1.234E-5", RyuDouble.toString(1.234E-5D));
+        Assert.assertEquals("1.7976931348623157E308", RyuDouble.toString(Double.MAX_VALUE));
+        Assert.assertEquals("NaN", RyuDouble.toString(Double.NaN));
+
+        // 老版本JDK的Double.toString会输出9.999999999999999E22
+        Assert.assertEquals("1.0E23", RyuDouble.toString(1E23D));
+
+        Assert.assertEquals("0.3", RyuFloat.toString(0.3F));
+        Assert.assertEquals("1.0E10", RyuFloat.toString(1E10F));
+        Assert.assertEquals("-1.5E-7", RyuFloat.toString(-1.5E-7F));
+        Assert.assertEquals("3.4028235E38", RyuFloat.toString(Float.MAX_VALUE));
+    }
+
+    public void test_round_trip() throws Exception {
+        Random random = new Random(1024);
+        char[] chars = new char[32];
+        for (int i = 0; i < 100000; ++i) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(d)) {
+                continue;
+            }
+            int len = RyuDouble.toString(d, chars, 3);
+            String text = new String(chars, 3, len);
+            Assert.assertEquals(text, d, Double.parseDouble(text), 0);
+            Assert.assertTrue(text, len <= Double.toString(d).length());
+
+            float f = Float.intBitsToFloat(random.nextInt());
+            if (Float.isNaN(f)) {
+                continue;
+            }
+            text = RyuFloat.toString(f);
+            Assert.assertEquals(text, f, Float.parseFloat(text), 0);
+        }
+    }
+
+    public void test_serialize() throws Exception {
+        Model model = new Model();
+        model.d = 0.1D;
+        model.f = 2.5F;
+        model.values = new double[] { 1, 1E-10, Double.POSITIVE_INFINITY };
+        model.floats = new float[] { 0.3F, Float.NaN };
+        Assert.assertEquals("{\"d\":0.1,\"f\":2.5,\"floats\":[0.3,null],\"values\":[1.0,1.0E-10,null]}",
+                            JSON.toJSONString(model));
+        Assert.assertEquals("{\"d\":1}", JSON.toJSONString(new JSONObject().fluentPut("d", 1D),
+                                                           SerializerFeature.WriteNullNumberAsZero));
+        // 数组中的元素不受WriteNullNumberAsZero影响，保留.0
+        Assert.assertEquals("[1.0,2.5]", JSON.toJSONString(new double[] { 1, 2.5 }, SerializerFeature.WriteNullNumberAsZero));
+        Assert.assertEquals("[1.0,2.5]", JSON.toJSONString(new float[] { 1, 2.5F }, SerializerFeature.WriteNullNumberAsZero));
+        Assert.assertEquals("{\"@type\":\"java.util.HashMap\",\"d\":1.5D}",
+                            JSON.toJSONString(new java.util.HashMap<String, Object>(new JSONObject().fluentPut("d", 1.5D)),
+                                              SerializerFeature.WriteClassName));
+    }
+
+    public void test_writer() throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        SerializeWriter out = new SerializeWriter(stringWriter, 16);
+        for (int i = 0; i < 10; ++i) {
+            out.writeDouble(-Double.MIN_NORMAL, false);
+            out.write(',');
+        }
+        out.close();
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; ++i) {
+            expected.append("-2.2250738585072014E-308,");
+        }
+        Assert.assertEquals(expected.toString(), stringWriter.toString());
+    }
+
+    public static class Model {
+        public double   d;
+        public float    f;
+        public double[] values;
+        public float[]  floats;
+    }
+}
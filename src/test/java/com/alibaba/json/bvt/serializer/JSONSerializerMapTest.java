@@ -31,20 +31,7 @@ public class JSONSerializerMapTest extends TestCase {
     public static int size(SerializeConfig config) throws Exception {
         Field serializersField = SerializeConfig.class.getDeclaredField("serializers");
         serializersField.setAccessible(true);
-        Object map = serializersField.get(config);
-        
-        Field bucketsField = IdentityHashMap.class.getDeclaredField("buckets");
-        bucketsField.setAccessible(true);
-        Object[] buckets = (Object[]) bucketsField.get(map);
-        
-        Field nextField = Class.forName("com.alibaba.fastjson.util.IdentityHashMap$Entry").getDeclaredField("next");
-        
-        int size = 0;
-        for (int i = 0; i < buckets.length; ++i) {
-            for (Object entry = buckets[i]; entry != null; entry = nextField.get(entry)) {
-                size++;
-            }
-        }
-        return size;
+        IdentityHashMap map = (IdentityHashMap) serializersField.get(config);
+        return map.size();
     }
 }
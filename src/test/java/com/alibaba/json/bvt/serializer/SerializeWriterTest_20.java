@@ -0,0 +1,66 @@
+package com.alibaba.json.bvt.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.util.IOUtils;
+
+public class SerializeWriterTest_20 extends TestCase {
+
+    public void test_utf8_large() throws Exception {
+        Random random = new Random(2018);
+        char[] samples = { 'a', '1', 'é', '中', '\ud83d', '\ude00' };
+        for (int n = 0; n < 20; ++n) {
+            StringBuilder buf = new StringBuilder();
+            int len = 2000 + random.nextInt(20000);
+            while (buf.length() < len) {
+                int i = random.nextInt(5);
+                if (i == 4) {
+                    buf.append(samples[4]).append(samples[5]);
+                } else {
+                    buf.append(samples[i]);
+                }
+            }
+            String text = buf.toString();
+            byte[] expected = text.getBytes("UTF-8");
+
+            SerializeWriter out = new SerializeWriter();
+            try {
+                out.write(text);
+                Assert.assertArrayEquals(expected, out.toBytes(IOUtils.UTF8));
+
+                ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+                Assert.assertEquals(expected.length, out.writeToEx(bytesOut, IOUtils.UTF8));
+                Assert.assertArrayEquals(expected, bytesOut.toByteArray());
+            } finally {
+                out.close();
+            }
+
+            char[] chars = text.toCharArray();
+            Assert.assertEquals(expected.length, IOUtils.utf8Length(chars, 0, chars.length));
+        }
+    }
+
+    public void test_surrogate_at_chunk_end() throws Exception {
+        // 代理对正好跨过分段的位置
+        for (int i = 2720; i < 2740; ++i) {
+            StringBuilder buf = new StringBuilder();
+            for (int j = 0; j < i; ++j) {
+                buf.append('x');
+            }
+            buf.append("😀");
+            String text = buf.toString();
+
+            ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+            JSON.writeJSONString(bytesOut, text);
+            Assert.assertArrayEquals(JSON.toJSONString(text).getBytes("UTF-8"), bytesOut.toByteArray());
+            Assert.assertArrayEquals(JSON.toJSONString(text).getBytes("UTF-8"), JSON.toJSONBytes(text));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.alibaba.json.bvt.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.util.BufferPool;
+import com.alibaba.fastjson.util.UTF8Writer;
+
+public class SerializeWriterTest_21 extends TestCase {
+
+    public void test_stream() throws Exception {
+        List<Model> list = new ArrayList<Model>();
+        for (int i = 0; i < 10000; ++i) {
+            Model model = new Model();
+            model.id = i;
+            model.name = "名字😀" + i;
+            list.add(model);
+        }
+        byte[] expected = JSON.toJSONString(list).getBytes("UTF-8");
+
+        // 序列化的过程中就写到流里，流里最多只差一个缓冲区
+        final List<Integer> sizes = new ArrayList<Integer>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+
+            public void write(byte[] b, int off, int len) {
+                super.write(b, off, len);
+                sizes.add(size());
+            }
+        };
+        Assert.assertEquals(expected.length, JSON.writeJSONString(out, list));
+        Assert.assertArrayEquals(expected, out.toByteArray());
+        Assert.assertTrue(sizes.size() > 10);
+        for (int i = 1; i < sizes.size(); ++i) {
+            Assert.assertTrue(sizes.get(i) - sizes.get(i - 1) <= 3 * 1024 * 8);
+        }
+
+        StringWriter writer = new StringWriter();
+        JSON.writeJSONString(writer, list);
+        Assert.assertEquals(new String(expected, "UTF-8"), writer.toString());
+    }
+
+    public void test_threshold() throws Exception {
+        // 代理对跨过缓冲区的边界
+        String prefix = "";
+        for (int n = 0; n < 16; ++n) {
+            List<String> list = new ArrayList<String>();
+            list.add(prefix);
+            for (int i = 0; i < 1000; ++i) {
+                list.add("😀😀😀" + i);
+            }
+            prefix += "x";
+
+            ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+            UTF8Writer utf8Writer = new UTF8Writer(bytesOut);
+            SerializeWriter out = new SerializeWriter(utf8Writer, 512, JSON.DEFAULT_GENERATE_FEATURE);
+            try {
+                new JSONSerializer(out).write(list);
+            } finally {
+                out.close();
+            }
+            Assert.assertArrayEquals(JSON.toJSONString(list).getBytes("UTF-8"), bytesOut.toByteArray());
+            Assert.assertEquals(bytesOut.size(), utf8Writer.getSize());
+        }
+    }
+
+    public void test_flush_threshold() throws Exception {
+        // 池里先放一个大的缓冲区，flush的大小不能受它影响
+        BufferPool.getDefault().freeChars(new char[BufferPool.MAX_SIZE]);
+
+        char[] big = new char[10000];
+        Arrays.fill(big, 'a');
+        List<Object> list = new ArrayList<Object>();
+        for (int i = 0; i < 10000; ++i) {
+            list.add("名字" + i);
+            if (i == 1000) {
+                list.add(new String(big));
+            }
+        }
+        String expected = JSON.toJSONString(list);
+
+        int[] thresholds = { 1024 * 8, 5000 };
+        for (int threshold : thresholds) {
+            final List<Integer> sizes = new ArrayList<Integer>();
+            StringWriter writer = new StringWriter() {
+
+                public void write(char[] cbuf, int off, int len) {
+                    super.write(cbuf, off, len);
+                    sizes.add(len);
+                }
+            };
+            SerializeWriter out = new SerializeWriter(writer, threshold, JSON.DEFAULT_GENERATE_FEATURE);
+            try {
+                new JSONSerializer(out).write(list);
+            } finally {
+                out.close();
+            }
+            Assert.assertEquals(expected, writer.toString());
+            Assert.assertTrue(sizes.size() > 5);
+
+            // 只有超长的那个值会超过阈值
+            int oversize = 0;
+            for (int size : sizes) {
+                if (size > threshold) {
+                    oversize++;
+                }
+            }
+            Assert.assertTrue(oversize <= 1);
+        }
+    }
+
+    public void test_error() throws Exception {
+        ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+        Exception error = null;
+        try {
+            JSON.writeJSONString(bytesOut, new Model() {
+
+                public String getName() {
+                    throw new IllegalStateException();
+                }
+            });
+        } catch (Exception ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public void test_utf8_writer() throws IOException {
+        ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+        UTF8Writer writer = new UTF8Writer(bytesOut);
+        writer.write("a\ud83d");
+        writer.write("\ude00b\ud83d");
+        writer.close();
+        Assert.assertEquals("a😀b?", new String(bytesOut.toByteArray(), "UTF-8"));
+        Assert.assertEquals(7, writer.getSize());
+    }
+
+    public void test_utf8_writer_flush() throws IOException {
+        ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+        UTF8Writer writer = new UTF8Writer(bytesOut);
+        writer.write("a\ud83d");
+        writer.flush();
+        Assert.assertEquals("a?", new String(bytesOut.toByteArray(), "UTF-8"));
+        writer.write("b");
+        writer.close();
+        Assert.assertEquals("a?b", new String(bytesOut.toByteArray(), "UTF-8"));
+        Assert.assertEquals(3, writer.getSize());
+    }
+
+    public static class Model {
+
+        public int    id;
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.alibaba.json.bvt.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.fastjson.util.IOUtils;
+
+public class SerializeWriterTest_22 extends TestCase {
+
+    public void test_segments() throws Exception {
+        List<Model> list = new ArrayList<Model>();
+        for (int i = 0; i < 20000; ++i) {
+            Model model = new Model();
+            model.id = i;
+            model.value = i * 31L;
+            model.flag = (i & 1) == 0;
+            model.price = new BigDecimal(i).movePointLeft(2);
+            model.ratio = i / 7D;
+            model.name = "名字\"\n😀" + i;
+            model.tags = Arrays.asList("a" + i, "b");
+            model.data = new byte[] { (byte) i, 1, 2 };
+            list.add(model);
+        }
+
+        SerializerFeature[][] featuresList = { {}, { SerializerFeature.PrettyFormat },
+                { SerializerFeature.UseSingleQuotes }, { SerializerFeature.BrowserCompatible },
+                { SerializerFeature.BeanToArray }, { SerializerFeature.WriteClassName } };
+        SerializeConfig config = new SerializeConfig();
+        for (SerializerFeature[] features : featuresList) {
+            // 写到Writer时不会分段，作为对照
+            StringWriter writer = new StringWriter();
+            SerializeWriter writerOut = new SerializeWriter(writer, JSON.DEFAULT_GENERATE_FEATURE, features);
+            try {
+                new JSONSerializer(writerOut, config).write(list);
+                writerOut.flush();
+            } finally {
+                writerOut.close();
+            }
+            String expected = writer.toString();
+            Assert.assertTrue(expected.length() > 1024 * 1024);
+
+            SerializeWriter out = new SerializeWriter(null, JSON.DEFAULT_GENERATE_FEATURE, features);
+            try {
+                new JSONSerializer(out, config).write(list);
+                Assert.assertEquals(expected.length(), out.size());
+                Assert.assertEquals(expected, out.toString());
+                Assert.assertEquals(expected, new String(out.toCharArray()));
+                Assert.assertArrayEquals(expected.getBytes("UTF-8"), out.toBytes(IOUtils.UTF8));
+                Assert.assertArrayEquals(expected.getBytes("GB18030"), out.toBytes("GB18030"));
+
+                ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+                out.writeToEx(bytesOut, IOUtils.UTF8);
+                Assert.assertArrayEquals(expected.getBytes("UTF-8"), bytesOut.toByteArray());
+
+                StringWriter copy = new StringWriter();
+                out.writeTo(copy);
+                Assert.assertEquals(expected, copy.toString());
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    public void test_surrogate() throws Exception {
+        SerializeWriter out = new SerializeWriter();
+        try {
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < 100000; ++i) {
+                out.write('\ud83d');
+                out.write('\ude00');
+                expected.append("😀");
+            }
+            Assert.assertArrayEquals(expected.toString().getBytes("UTF-8"), out.toBytes(IOUtils.UTF8));
+        } finally {
+            out.close();
+        }
+    }
+
+    public void test_max_buf_size() throws Exception {
+        SerializeWriter out = new SerializeWriter();
+        out.setMaxBufSize(1024 * 200);
+        Exception error = null;
+        try {
+            for (int i = 0; i < 100000; ++i) {
+                out.writeString("abcdefghij");
+            }
+        } catch (JSONException ex) {
+            error = ex;
+        } finally {
+            out.close();
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public static class Model {
+
+        public int          id;
+        public long         value;
+        public boolean      flag;
+        public BigDecimal   price;
+        public double       ratio;
+        public String       name;
+        public List<String> tags;
+        public byte[]       data;
+    }
+}
@@ -0,0 +1,127 @@
+package com.alibaba.json.bvt.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.util.BufferPool;
+import com.alibaba.fastjson.util.StripedBufferPool;
+import com.alibaba.fastjson.util.ThreadLocalBufferPool;
+
+public class BufferPoolTest extends TestCase {
+
+    public void test_striped() throws Exception {
+        StripedBufferPool pool = new StripedBufferPool(1024 * 1024, 1);
+
+        char[] chars = pool.allocChars(1000);
+        Assert.assertEquals(1024, chars.length);
+        pool.freeChars(chars);
+        Assert.assertEquals(2048, pool.getPooledBytes());
+
+        // 只返回所请求尺寸档的缓冲区
+        Assert.assertEquals(512, pool.allocChars(10).length);
+        Assert.assertEquals(2048, pool.getPooledBytes());
+        Assert.assertSame(chars, pool.allocChars(1000));
+        Assert.assertEquals(0, pool.getPooledBytes());
+        Assert.assertNotSame(chars, pool.allocChars(1000));
+
+        // 超过最大尺寸的直接分配，不放回
+        byte[] bytes = pool.allocBytes(BufferPool.MAX_SIZE + 1);
+        Assert.assertEquals(BufferPool.MAX_SIZE + 1, bytes.length);
+        pool.freeBytes(bytes);
+        Assert.assertEquals(0, pool.getPooledBytes());
+        pool.freeBytes(null);
+
+        // 长度不是尺寸档的不放回
+        pool.freeChars(new char[3000]);
+        Assert.assertEquals(0, pool.getPooledBytes());
+        Assert.assertEquals(2048, pool.allocChars(1500).length);
+
+        // 优先取更大尺寸档的空闲缓冲区
+        chars = pool.allocChars(1024 * 16);
+        pool.freeChars(chars);
+        Assert.assertEquals(2048, pool.allocChars(2048, 1024 * 8).length);
+        Assert.assertSame(chars, pool.allocChars(2048, BufferPool.MAX_SIZE));
+    }
+
+    public void test_writer_grow() throws Exception {
+        BufferPool origin = BufferPool.getDefault();
+        try {
+            StripedBufferPool pool = new StripedBufferPool(1024 * 1024, 1);
+            BufferPool.setDefault(pool);
+
+            SerializeWriter out = new SerializeWriter();
+            for (int i = 0; i < 1000; ++i) {
+                out.write("0123456789");
+            }
+            int length = out.getBufferLength();
+            Assert.assertEquals(16384, length);
+            out.close();
+
+            // 扩容后的buf回到池中，下一个writer直接使用
+            out = new SerializeWriter();
+            Assert.assertEquals(length, out.getBufferLength());
+            out.close();
+        } finally {
+            BufferPool.setDefault(origin);
+        }
+    }
+
+    public void test_budget() throws Exception {
+        StripedBufferPool pool = new StripedBufferPool(4096, 1);
+        pool.freeBytes(new byte[2048]);
+        pool.freeBytes(new byte[2048]);
+        pool.freeBytes(new byte[2048]);
+        Assert.assertEquals(4096, pool.getPooledBytes());
+
+        pool.allocBytes(2048);
+        pool.allocBytes(2048);
+        Assert.assertEquals(0, pool.getPooledBytes());
+    }
+
+    public void test_thread_local() throws Exception {
+        final ThreadLocalBufferPool pool = new ThreadLocalBufferPool();
+        final char[] chars = pool.allocChars(BufferPool.MAX_SIZE);
+        pool.freeChars(chars);
+
+        final AtomicReference<char[]> other = new AtomicReference<char[]>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        new Thread() {
+
+            public void run() {
+                other.set(pool.allocChars(512));
+                latch.countDown();
+            }
+        }.start();
+        latch.await();
+
+        Assert.assertNotSame(chars, other.get());
+        Assert.assertSame(chars, pool.allocChars(BufferPool.MAX_SIZE));
+    }
+
+    public void test_json() throws Exception {
+        BufferPool origin = BufferPool.getDefault();
+        try {
+            BufferPool[] pools = { new ThreadLocalBufferPool(), new StripedBufferPool(0) };
+            for (BufferPool pool : pools) {
+                BufferPool.setDefault(pool);
+
+                JSONObject object = new JSONObject();
+                object.put("id", 123);
+                object.put("name", "中文");
+                byte[] bytes = JSON.toJSONBytes(object);
+                Assert.assertEquals(object, JSON.parseObject(bytes, JSONObject.class));
+                Assert.assertEquals(object, JSON.parse(bytes));
+                Assert.assertEquals(object, JSON.parseObject(new String(bytes, "UTF-8")));
+            }
+        } finally {
+            BufferPool.setDefault(origin);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.alibaba.json.bvt.util;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.util.ClassCache;
+import com.alibaba.fastjson.util.TypeUtils;
+
+public class ClassCacheTest extends TestCase {
+
+    public void test_get_put() throws Exception {
+        ClassCache cache = new ClassCache();
+        ClassLoader loader = ClassCacheTest.class.getClassLoader();
+        String name = Model.class.getName();
+
+        Assert.assertNull(cache.get(loader, name, false));
+        cache.put(loader, name, Model.class, false);
+        Assert.assertSame(Model.class, cache.get(loader, name, false));
+        Assert.assertNull(cache.get(loader, name, true));
+        Assert.assertNull(cache.get(null, name, false));
+
+        cache.put(loader, name, Model.class, true);
+        Assert.assertSame(Model.class, cache.get(loader, name, true));
+
+        cache.put(loader, "xxx.NotExists", null, false);
+        Assert.assertSame(ClassCache.NOT_FOUND, cache.get(loader, "xxx.NotExists", true));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(3, cache.getHitCount());
+        Assert.assertEquals(3, cache.getMissCount());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    public void test_class_loader() throws Exception {
+        ClassCache cache = new ClassCache();
+        ClassLoader loader = new URLClassLoader(new URL[0], null);
+        ClassLoader other = new URLClassLoader(new URL[0], null);
+        String name = Model.class.getName();
+
+        cache.put(loader, name, Model.class, true);
+        cache.put(other, name, null, false);
+        Assert.assertSame(Model.class, cache.get(loader, name, true));
+        Assert.assertSame(ClassCache.NOT_FOUND, cache.get(other, name, true));
+        Assert.assertNull(cache.get(null, name, true));
+    }
+
+    public void test_lru() throws Exception {
+        ClassCache cache = new ClassCache(16);
+        for (int i = 0; i < 1000; ++i) {
+            cache.put(null, "xxx.NotExists" + i, null, false);
+        }
+        Assert.assertTrue(cache.size() <= 16);
+        Assert.assertEquals(1000 - cache.size(), cache.getEvictionCount());
+        Assert.assertSame(ClassCache.NOT_FOUND, cache.get(null, "xxx.NotExists999", false));
+        Assert.assertNull(cache.get(null, "xxx.NotExists0", false));
+    }
+
+    public void test_type_utils() throws Exception {
+        ClassCache cache = TypeUtils.getClassCache();
+        String name = "com.alibaba.json.bvt.util.ClassCacheTest$NotExists";
+
+        Assert.assertNull(TypeUtils.loadClass(name));
+        long hits = cache.getHitCount();
+        Assert.assertNull(TypeUtils.loadClass(name));
+        Assert.assertEquals(hits + 1, cache.getHitCount());
+
+        String modelName = Model.class.getName();
+        Assert.assertSame(Model.class, TypeUtils.loadClass(modelName, null, false));
+        Assert.assertNull(TypeUtils.getClassFromMapping(modelName));
+        Assert.assertSame(Model.class, TypeUtils.loadClass(modelName));
+        Assert.assertSame(Model.class, TypeUtils.getClassFromMapping(modelName));
+
+        TypeUtils.clearClassMapping();
+        Assert.assertNull(TypeUtils.getClassFromMapping(modelName));
+        Assert.assertSame(int.class, TypeUtils.getClassFromMapping("int"));
+    }
+
+    public static class Model {
+
+    }
+}
@@ -0,0 +1,140 @@
+package com.alibaba.json.bvt.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.util.IdentityHashMap;
+
+public class IdentityHashMapTest extends TestCase {
+
+    public void test_resize() throws Exception {
+        IdentityHashMap<Object, Integer> map = new IdentityHashMap<Object, Integer>(2);
+        List<Object> keys = new ArrayList<Object>();
+        for (int i = 0; i < 100000; ++i) {
+            Object key = new Object();
+            keys.add(key);
+            Assert.assertFalse(map.put(key, i));
+        }
+        Assert.assertEquals(keys.size(), map.size());
+
+        for (int i = 0; i < keys.size(); ++i) {
+            Assert.assertEquals(Integer.valueOf(i), map.get(keys.get(i)));
+        }
+        Assert.assertNull(map.get(new Object()));
+
+        Assert.assertTrue(map.put(keys.get(5), -5));
+        Assert.assertEquals(Integer.valueOf(-5), map.get(keys.get(5)));
+        Assert.assertEquals(keys.size(), map.size());
+
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        Assert.assertNull(map.get(keys.get(5)));
+    }
+
+    public void test_identity() throws Exception {
+        IdentityHashMap<String, String> map = new IdentityHashMap<String, String>();
+        String key = new String("k");
+        map.put(key, "v");
+        Assert.assertEquals("v", map.get(key));
+        Assert.assertNull(map.get(new String("k")));
+    }
+
+    public void test_findClass() throws Exception {
+        IdentityHashMap<Object, Object> map = new IdentityHashMap<Object, Object>(4);
+        for (int i = 0; i < 1000; ++i) {
+            map.put(new Object(), "");
+        }
+        map.put(IdentityHashMapTest.class, "");
+        map.put(String.class, "");
+
+        Assert.assertSame(IdentityHashMapTest.class, map.findClass(IdentityHashMapTest.class.getName()));
+        Assert.assertSame(String.class, map.findClass("java.lang.String"));
+        Assert.assertNull(map.findClass("java.lang.Integer"));
+    }
+
+    public void test_findClass_concurrent() throws Exception {
+        final IdentityHashMap<Object, Object> map = new IdentityHashMap<Object, Object>(2);
+        final Class<?>[] classes = { String.class, Integer.class, Long.class, Double.class, Object.class,
+                IdentityHashMapTest.class, List.class, ArrayList.class };
+        for (Class<?> clazz : classes) {
+            map.put(clazz, "");
+        }
+
+        final AtomicInteger errors = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread reader = new Thread() {
+
+            public void run() {
+                while (done.getCount() != 0) {
+                    for (Class<?> clazz : classes) {
+                        if (map.findClass(clazz.getName()) != clazz) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            }
+        };
+        reader.start();
+
+        // 不停扩容，findClass要看到还没迁移完的桶
+        for (int round = 0; round < 20; ++round) {
+            for (int i = 0; i < 20000; ++i) {
+                map.put(new Object(), "");
+            }
+        }
+        done.countDown();
+        reader.join();
+
+        Assert.assertEquals(0, errors.get());
+    }
+
+    public void test_concurrent() throws Exception {
+        final IdentityHashMap<Object, Object> map = new IdentityHashMap<Object, Object>(2);
+        final int threadCount = 8, keyCount = 20000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger errors = new AtomicInteger();
+        final Object[][] keys = new Object[threadCount][keyCount];
+
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; ++t) {
+            final Object[] threadKeys = keys[t];
+            threads[t] = new Thread() {
+
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < threadKeys.length; ++i) {
+                        Object key = threadKeys[i] = new Object();
+                        map.put(key, key);
+                        map.put(key, threadKeys);
+                        if (map.get(key) != threadKeys) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        start.countDown();
+        for (int t = 0; t < threadCount; ++t) {
+            threads[t].join();
+        }
+
+        Assert.assertEquals(0, errors.get());
+        Assert.assertEquals(threadCount * keyCount, map.size());
+        for (int t = 0; t < threadCount; ++t) {
+            for (int i = 0; i < keyCount; ++i) {
+                Assert.assertSame(keys[t], map.get(keys[t][i]));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.alibaba.json.bvt.util;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.util.ThreadLocalBufferPool;
+
+import junit.framework.TestCase;
+
+public class ThreadLocalBufferPoolTest extends TestCase {
+
+    public void test() throws Exception {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool();
+
+        Assert.assertEquals(pool.allocChars(0).length, 512);
+        Assert.assertEquals(pool.allocChars(1024).length, 1024);
+        Assert.assertEquals(pool.allocChars(2048).length, 2048);
+        Assert.assertEquals(pool.allocChars(1024 * 128).length, 1024 * 128);
+
+        char[] chars = pool.allocChars(1024 * 64);
+        pool.freeChars(chars);
+        Assert.assertEquals(pool.allocChars(0).length, 512);
+        Assert.assertSame(chars, pool.allocChars(1024 * 40));
+
+        chars = pool.allocChars(1024 * 256);
+        Assert.assertEquals(chars.length, 1024 * 256);
+        pool.freeChars(chars);
+        Assert.assertEquals(pool.allocChars(0).length, 512);
+    }
+
+    public void test_alloc_max() throws Exception {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool();
+
+        char[] chars = pool.allocChars(1024 * 16);
+        pool.freeChars(chars);
+        Assert.assertEquals(2048, pool.allocChars(2048, 1024 * 8).length);
+        Assert.assertSame(chars, pool.allocChars(2048, 1024 * 128));
+        Assert.assertEquals(2048, pool.allocChars(2048, 1024 * 128).length);
+    }
+
+    public void testBytes() throws Exception {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool();
+
+        byte[] bytes = pool.allocBytes(8192);
+        Assert.assertEquals(bytes.length, 8192);
+        pool.freeBytes(bytes);
+        Assert.assertEquals(pool.allocBytes(1204).length, 2048);
+        Assert.assertSame(bytes, pool.allocBytes(5000));
+        Assert.assertNotSame(bytes, pool.allocBytes(5000));
+        pool.freeBytes(bytes);
+        Assert.assertEquals(pool.allocBytes(8192 * 2).length, 8192 * 2);
+        Assert.assertSame(bytes, pool.allocBytes(8192));
+
+        bytes = pool.allocBytes(1024 * 256);
+        Assert.assertEquals(bytes.length, 1024 * 256);
+        pool.freeBytes(bytes);
+        Assert.assertEquals(pool.allocBytes(0).length, 512);
+    }
+}
@@ -0,0 +1,98 @@
+package com.alibaba.json.bvt.util;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.deserializer.ObjectDeserializer;
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.StringCodec;
+import com.alibaba.fastjson.util.ParameterizedTypeImpl;
+import com.alibaba.fastjson.util.TypeInterner;
+
+public class TypeInternerTest extends TestCase {
+
+    public void test_intern() throws Exception {
+        Type type = new TypeReference<Map<String, List<Model<Integer>>>>() {}.getType();
+        Type type2 = new TypeReference<Map<String, List<Model<Integer>>>>() {}.getType();
+        Assert.assertSame(type, type2);
+
+        Type model = new ParameterizedTypeImpl(new Type[] { Integer.class }, null, Model.class);
+        Type list = new ParameterizedTypeImpl(new Type[] { model }, null, List.class);
+        Type map = new ParameterizedTypeImpl(new Type[] { String.class, list }, null, Map.class);
+        Assert.assertSame(type, TypeInterner.intern(map));
+
+        Type other = new ParameterizedTypeImpl(new Type[] { String.class, model }, null, Map.class);
+        Assert.assertNotSame(type, TypeInterner.intern(other));
+
+        Assert.assertSame(String.class, TypeInterner.intern(String.class));
+        Assert.assertNull(TypeInterner.intern(null));
+    }
+
+    public void test_wildcard_array() throws Exception {
+        Type wildcard = new TypeReference<List<? extends Number>>() {}.getType();
+        Assert.assertSame(wildcard, new TypeReference<List<? extends Number>>() {}.getType());
+        Assert.assertNotSame(wildcard, new TypeReference<List<? super Number>>() {}.getType());
+
+        Type array = new TypeReference<List<Model<String>[]>>() {}.getType();
+        Assert.assertSame(array, new TypeReference<List<Model<String>[]>>() {}.getType());
+    }
+
+    public void test_parserConfig() throws Exception {
+        ParserConfig config = new ParserConfig();
+        String text = "{\"value\":123}";
+
+        Model<Long> model = JSON.parseObject(text, newModelType(), config);
+        Assert.assertEquals(Long.valueOf(123), model.value);
+        ObjectDeserializer deserializer = config.getDeserializer(newModelType());
+        int size = config.getDeserializers().size();
+
+        for (int i = 0; i < 100; ++i) {
+            model = JSON.parseObject(text, newModelType(), config);
+            Assert.assertEquals(Long.valueOf(123), model.value);
+            Assert.assertSame(deserializer, config.getDeserializer(newModelType()));
+        }
+        Assert.assertEquals(size, config.getDeserializers().size());
+    }
+
+    public void test_serializeConfig() throws Exception {
+        SerializeConfig config = new SerializeConfig();
+        ObjectSerializer serializer = StringCodec.instance;
+        config.put(newModelType(), serializer);
+        Assert.assertSame(serializer, config.get(newModelType()));
+        Assert.assertSame(serializer, config.get(new TypeReference<Model<Long>>() {}.getType()));
+    }
+
+    public void test_weak() throws Exception {
+        Type type = TypeInterner.intern(new ParameterizedTypeImpl(new Type[] { Short.class }, null, Model.class));
+        WeakReference<Type> ref = new WeakReference<Type>(type);
+        type = null;
+
+        for (int i = 0; i < 50 && ref.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(ref.get());
+
+        Type type2 = new ParameterizedTypeImpl(new Type[] { Short.class }, null, Model.class);
+        Assert.assertSame(type2, TypeInterner.intern(type2));
+    }
+
+    private static Type newModelType() {
+        return new ParameterizedTypeImpl(new Type[] { Long.class }, null, Model.class);
+    }
+
+    public static class Model<T> {
+
+        public T value;
+    }
+}
@@ -0,0 +1,23 @@
+package com.alibaba.json.test.benchmark.corpus;
+
+import java.util.List;
+import java.util.Map;
+
+public class Canada {
+
+    public String        type;
+    public List<Feature> features;
+
+    public static class Feature {
+
+        public String              type;
+        public Map<String, String> properties;
+        public Geometry            geometry;
+    }
+
+    public static class Geometry {
+
+        public String       type;
+        public double[][][] coordinates;
+    }
+}
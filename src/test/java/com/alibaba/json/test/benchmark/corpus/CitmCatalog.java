@@ -0,0 +1,63 @@
+package com.alibaba.json.test.benchmark.corpus;
+
+import java.util.List;
+import java.util.Map;
+
+public class CitmCatalog {
+
+    public Map<String, String>     areaNames;
+    public Map<String, String>     audienceSubCategoryNames;
+    public Map<String, String>     blockNames;
+    public Map<String, Event>      events;
+    public List<Performance>       performances;
+    public Map<String, String>     seatCategoryNames;
+    public Map<String, String>     subTopicNames;
+    public Map<String, String>     subjectNames;
+    public Map<String, String>     topicNames;
+    public Map<String, List<Long>> topicSubTopics;
+    public Map<String, String>     venueNames;
+
+    public static class Event {
+
+        public String     description;
+        public long       id;
+        public String     logo;
+        public String     name;
+        public List<Long> subTopicIds;
+        public String     subjectCode;
+        public String     subtitle;
+        public List<Long> topicIds;
+    }
+
+    public static class Performance {
+
+        public long               eventId;
+        public long               id;
+        public String             logo;
+        public String             name;
+        public List<Price>        prices;
+        public List<SeatCategory> seatCategories;
+        public String             seatMapImage;
+        public long               start;
+        public String             venueCode;
+    }
+
+    public static class Price {
+
+        public int  amount;
+        public long audienceSubCategoryId;
+        public long seatCategoryId;
+    }
+
+    public static class SeatCategory {
+
+        public List<Area> areas;
+        public long       seatCategoryId;
+    }
+
+    public static class Area {
+
+        public long       areaId;
+        public List<Long> blockIds;
+    }
+}
@@ -0,0 +1,13 @@
+package com.alibaba.json.test.benchmark.corpus;
+
+import java.util.List;
+import java.util.Map;
+
+public class ConfigNode {
+
+    public String              name;
+    public boolean             enabled;
+    public int                 priority;
+    public Map<String, String> settings;
+    public List<ConfigNode>    children;
+}
@@ -0,0 +1,201 @@
+package com.alibaba.json.test.benchmark.corpus;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONPath;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.fastjson.util.IOUtils;
+
+/**
+ * Runs every {@link CorpusDocument} through the main parse and serialize paths, reports MB/s and compares it with
+ * the committed baseline (benchmark/corpus/baseline.properties).
+ * <p>
+ * System properties:
+ * <ul>
+ * <li>corpus.baseline : baseline file, defaults to the classpath resource</li>
+ * <li>corpus.threshold : tolerated regression ratio, default 0.15</li>
+ * <li>corpus.seconds : measured seconds per path, default 3</li>
+ * <li>corpus.record : write the measured numbers to this file, to be committed as the new baseline</li>
+ * </ul>
+ * The process exits with status 1 if any path is slower than baseline * (1 - threshold), or if a path has no
+ * baseline and nothing is being recorded. Baselines are machine dependent, record them on the host that runs the
+ * gate.
+ */
+public class CorpusBenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        double threshold = Double.parseDouble(System.getProperty("corpus.threshold", "0.15"));
+        int seconds = Integer.parseInt(System.getProperty("corpus.seconds", "3"));
+        String record = System.getProperty("corpus.record");
+
+        Properties baseline = loadBaseline(System.getProperty("corpus.baseline"));
+        TreeMap<String, String> results = new TreeMap<String, String>();
+        List<String> regressions = new ArrayList<String>();
+        List<String> missing = new ArrayList<String>();
+
+        System.out.println(System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version"));
+
+        for (CorpusDocument doc : CorpusDocument.values()) {
+            for (CorpusOperation op : CorpusOperation.values()) {
+                op.init(doc);
+                double mbps = measure(op, doc.getBytes().length, seconds);
+
+                String key = doc.name().toLowerCase() + "." + op.name().toLowerCase();
+                results.put(key, String.format("%.2f", mbps));
+
+                String expectText = baseline.getProperty(key);
+                String status = "";
+                if (expectText != null) {
+                    double expect = Double.parseDouble(expectText);
+                    double ratio = mbps / expect;
+                    status = String.format("baseline %.2f (%+.1f%%)", expect, (ratio - 1) * 100);
+                    if (ratio < 1 - threshold) {
+                        status += " REGRESSION";
+                        regressions.add(key);
+                    }
+                } else if (record == null) {
+                    // 新加的路径没有基线时不能悄悄跳过
+                    status = "NO BASELINE";
+                    missing.add(key);
+                }
+                System.out.println(String.format("%-40s %10.2f MB/s  %s", key, mbps, status));
+            }
+        }
+
+        if (record != null) {
+            Writer out = new OutputStreamWriter(new FileOutputStream(record), IOUtils.UTF8);
+            try {
+                out.write("# fastjson corpus baseline, MB/s, " + System.getProperty("java.vm.name") + " "
+                          + System.getProperty("java.runtime.version") + "\n");
+                for (Map.Entry<String, String> entry : results.entrySet()) {
+                    out.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            } finally {
+                out.close();
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            System.err.println("no baseline, record one with -Dcorpus.record : " + missing);
+        }
+        if (!regressions.isEmpty()) {
+            System.err.println("regression beyond " + (int) (threshold * 100) + "% : " + regressions);
+        }
+        if (!missing.isEmpty() || !regressions.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    static double measure(CorpusOperation op, int docLength, int seconds) throws Exception {
+        // warmup, let the hot paths get compiled before measuring
+        long warmupEnd = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < warmupEnd) {
+            op.execute();
+        }
+
+        double best = 0;
+        for (int round = 0; round < seconds; ++round) {
+            long count = 0;
+            long start = System.nanoTime();
+            long end = start + 1000L * 1000L * 1000L;
+            long now;
+            do {
+                op.execute();
+                count++;
+                now = System.nanoTime();
+            } while (now < end);
+
+            double mbps = (double) count * docLength / (1024 * 1024) / ((now - start) / 1e9);
+            if (mbps > best) {
+                best = mbps;
+            }
+        }
+        return best;
+    }
+
+    static Properties loadBaseline(String file) throws Exception {
+        Properties props = new Properties();
+        InputStream is = file != null //
+            ? new FileInputStream(file) //
+            : CorpusBenchmarkMain.class.getClassLoader().getResourceAsStream("benchmark/corpus/baseline.properties");
+        if (is != null) {
+            try {
+                props.load(is);
+            } finally {
+                is.close();
+            }
+        }
+        return props;
+    }
+
+    public static enum CorpusOperation {
+        PARSE {
+
+            Object execute() {
+                return JSON.parse(text);
+            }
+        },
+        PARSE_BYTES {
+
+            Object execute() {
+                return JSON.parse(bytes);
+            }
+        },
+        PARSE_BEAN {
+
+            Object execute() {
+                return JSON.parseObject(text, doc.beanType);
+            }
+        },
+        JSONPATH {
+
+            Object execute() {
+                return JSONPath.read(text, doc.path);
+            }
+        },
+        TO_JSON_STRING {
+
+            Object execute() {
+                return JSON.toJSONString(tree, SerializerFeature.DisableCircularReferenceDetect);
+            }
+        },
+        TO_JSON_STRING_BEAN {
+
+            Object execute() {
+                return JSON.toJSONString(bean, SerializerFeature.DisableCircularReferenceDetect);
+            }
+        },
+        TO_JSON_BYTES_BEAN {
+
+            Object execute() {
+                return JSON.toJSONBytes(bean, SerializerFeature.DisableCircularReferenceDetect);
+            }
+        };
+
+        CorpusDocument doc;
+        String         text;
+        byte[]         bytes;
+        Object         tree;
+        Object         bean;
+
+        void init(CorpusDocument doc) throws Exception {
+            this.doc = doc;
+            this.bytes = doc.getBytes();
+            this.text = doc.getText();
+            this.tree = JSON.parse(text);
+            this.bean = JSON.parseObject(text, doc.beanType);
+        }
+
+        abstract Object execute();
+    }
+}
@@ -0,0 +1,62 @@
+package com.alibaba.json.test.benchmark.corpus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.util.IOUtils;
+
+/**
+ * Documents of the offline benchmark corpus, stored under benchmark/corpus in the test resources.
+ */
+public enum CorpusDocument {
+    /** status list with unicode, emoji and \\u escapes */
+    TWITTER("twitter.json", Twitter.class, "$.statuses.user.screen_name"),
+    /** pretty printed catalog, integer keyed maps */
+    CITM_CATALOG("citm_catalog.json", CitmCatalog.class, "$.performances.prices.amount"),
+    /** geo polygons, number heavy */
+    CANADA("canada.json", Canada.class, "$.features[0].geometry.type"),
+    /** log events, escape heavy messages and stack traces */
+    LOG_LINES("log_lines.json", new TypeReference<List<LogEvent>>() {}.getType(), "$[level = 'ERROR'].exception"),
+    /** recursive config tree with a deep single chain */
+    NESTED_CONFIG("nested_config.json", ConfigNode.class, "$.children[0].children[0].settings");
+
+    public final String resource;
+    public final Type   beanType;
+    public final String path;
+
+    private byte[]      bytes;
+
+    CorpusDocument(String resource, Type beanType, String path){
+        this.resource = resource;
+        this.beanType = beanType;
+        this.path = path;
+    }
+
+    public synchronized byte[] getBytes() throws IOException {
+        if (bytes == null) {
+            InputStream is = CorpusDocument.class.getClassLoader().getResourceAsStream("benchmark/corpus/" + resource);
+            if (is == null) {
+                throw new IOException("corpus resource not found : " + resource);
+            }
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buf = new byte[1024 * 64];
+                for (int len; (len = is.read(buf)) != -1;) {
+                    out.write(buf, 0, len);
+                }
+                bytes = out.toByteArray();
+            } finally {
+                is.close();
+            }
+        }
+        return bytes;
+    }
+
+    public String getText() throws IOException {
+        return new String(getBytes(), IOUtils.UTF8);
+    }
+}
@@ -0,0 +1,14 @@
+package com.alibaba.json.test.benchmark.corpus;
+
+import java.util.Map;
+
+public class LogEvent {
+
+    public long                timestamp;
+    public String              level;
+    public String              logger;
+    public String              thread;
+    public String              message;
+    public String              exception;
+    public Map<String, String> mdc;
+}
@@ -0,0 +1,115 @@
+package com.alibaba.json.test.benchmark.corpus;
+
+import java.util.List;
+
+import com.alibaba.fastjson.annotation.JSONField;
+
+public class Twitter {
+
+    public List<Status>   statuses;
+    public SearchMetadata search_metadata;
+
+    public static class Status {
+
+        public Metadata metadata;
+        public String   created_at;
+        public long     id;
+        public String   id_str;
+        public String   text;
+        public String   source;
+        public boolean  truncated;
+        public Long     in_reply_to_status_id;
+        public Long     in_reply_to_user_id;
+        public User     user;
+        public Object   geo;
+        public Object   coordinates;
+        public Object   place;
+        public Object   contributors;
+        public int      retweet_count;
+        public int      favorite_count;
+        public Entities entities;
+        public boolean  favorited;
+        public boolean  retweeted;
+        public String   lang;
+    }
+
+    public static class Metadata {
+
+        public String result_type;
+        public String iso_language_code;
+    }
+
+    public static class User {
+
+        public long    id;
+        public String  id_str;
+        public String  name;
+        public String  screen_name;
+        public String  location;
+        public String  description;
+        public String  url;
+        @JSONField(name = "protected")
+        public boolean protected_;
+        public int     followers_count;
+        public int     friends_count;
+        public int     listed_count;
+        public String  created_at;
+        public int     favourites_count;
+        public Integer utc_offset;
+        public String  time_zone;
+        public boolean geo_enabled;
+        public boolean verified;
+        public int     statuses_count;
+        public String  lang;
+        public String  profile_background_color;
+        public String  profile_image_url;
+        public String  profile_image_url_https;
+        public boolean default_profile;
+        public boolean following;
+        public boolean notifications;
+    }
+
+    public static class Entities {
+
+        public List<Hashtag>     hashtags;
+        public List<Object>      symbols;
+        public List<Url>         urls;
+        public List<UserMention> user_mentions;
+    }
+
+    public static class Hashtag {
+
+        public String text;
+        public int[]  indices;
+    }
+
+    public static class Url {
+
+        public String url;
+        public String expanded_url;
+        public String display_url;
+        public int[]  indices;
+    }
+
+    public static class UserMention {
+
+        public String screen_name;
+        public String name;
+        public long   id;
+        public String id_str;
+        public int[]  indices;
+    }
+
+    public static class SearchMetadata {
+
+        public double completed_in;
+        public long   max_id;
+        public String max_id_str;
+        public String next_results;
+        public String query;
+        public String refresh_url;
+        public int    count;
+        public long   since_id;
+        public String since_id_str;
+    }
+}
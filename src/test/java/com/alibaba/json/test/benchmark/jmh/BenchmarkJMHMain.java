@@ -0,0 +1,31 @@
+package com.alibaba.json.test.benchmark.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the jmh profile, replaces BenchmarkMain for regression runs.
+ * <p>
+ * Accepts the standard JMH command line, e.g. <code>EishayDecode -f 2 -wi 10</code>. Without an include pattern every
+ * benchmark of this package is executed. The gc profiler is always attached so that gc.alloc.rate.norm is reported
+ * next to throughput and average time.
+ */
+public class BenchmarkJMHMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+
+        ChainedOptionsBuilder builder = new OptionsBuilder() //
+                .parent(cmdOptions) //
+                .addProfiler(GCProfiler.class);
+
+        if (cmdOptions.getIncludes().isEmpty()) {
+            builder.include(BenchmarkJMHMain.class.getPackage().getName() + ".*");
+        }
+
+        new Runner(builder.build()).run();
+    }
+}
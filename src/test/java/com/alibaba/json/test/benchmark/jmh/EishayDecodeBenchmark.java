@@ -0,0 +1,83 @@
+package com.alibaba.json.test.benchmark.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.IOUtils;
+import com.alibaba.json.test.benchmark.decode.EishayDecodeBytes;
+
+import data.media.MediaContent;
+
+/**
+ * JMH port of EishayDecode, EishayDecodeBytes and EishayTreeDecode.
+ * <p>
+ * Every parameter combination runs in its own fork, so toggling asm on the global ParserConfig does not leak between
+ * runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class EishayDecodeBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean asm;
+
+    private String text;
+    private char[] chars;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ParserConfig.getGlobalInstance().setAsmEnable(asm);
+
+        text = EishayDecodeBytes.instance.getText();
+        chars = text.toCharArray();
+        bytes = EishayDecodeBytes.instance.getBytes();
+    }
+
+    @Benchmark
+    public MediaContent parseObject_string() {
+        return JSON.parseObject(text, MediaContent.class, Feature.DisableCircularReferenceDetect);
+    }
+
+    @Benchmark
+    public MediaContent parseObject_chars() {
+        return JSON.parseObject(chars, chars.length, MediaContent.class, Feature.DisableCircularReferenceDetect);
+    }
+
+    @Benchmark
+    public MediaContent parseObject_bytes() {
+        return JSON.parseObject(bytes, MediaContent.class, Feature.DisableCircularReferenceDetect);
+    }
+
+    @Benchmark
+    public MediaContent parseObject_inputStream() throws Exception {
+        return JSON.parseObject(new ByteArrayInputStream(bytes), IOUtils.UTF8, MediaContent.class,
+                                Feature.DisableCircularReferenceDetect);
+    }
+
+    @Benchmark
+    public JSONObject parseObject_tree() {
+        return JSON.parseObject(text, Feature.DisableCircularReferenceDetect);
+    }
+}
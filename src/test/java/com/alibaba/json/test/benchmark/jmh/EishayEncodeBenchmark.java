@@ -0,0 +1,88 @@
+package com.alibaba.json.test.benchmark.jmh;
+
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.json.test.benchmark.encode.EishayEncode;
+
+import data.media.MediaContent;
+
+/**
+ * JMH port of EishayEncode, EishayEncodeToBytes and EishayEncodeOutputStream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class EishayEncodeBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean              asm;
+
+    private MediaContent        content;
+    private CountingOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SerializeConfig.getGlobalInstance().setAsmEnable(asm);
+
+        content = EishayEncode.mediaContent;
+        out = new CountingOutputStream();
+    }
+
+    @Benchmark
+    public String toJSONString() {
+        return JSON.toJSONString(content, SerializerFeature.DisableCircularReferenceDetect);
+    }
+
+    @Benchmark
+    public byte[] toJSONBytes() {
+        return JSON.toJSONBytes(content, SerializerFeature.DisableCircularReferenceDetect);
+    }
+
+    @Benchmark
+    public int writeJSONString_outputStream() throws Exception {
+        return JSON.writeJSONString(out, content, SerializerFeature.DisableCircularReferenceDetect);
+    }
+
+    @Benchmark
+    public StringWriter writeJSONString_writer() {
+        StringWriter writer = new StringWriter(512);
+        JSON.writeJSONString(writer, content, SerializerFeature.DisableCircularReferenceDetect);
+        return writer;
+    }
+
+    static class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
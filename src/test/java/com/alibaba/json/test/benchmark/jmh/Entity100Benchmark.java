@@ -0,0 +1,85 @@
+package com.alibaba.json.test.benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.json.test.benchmark.entity.Entity100Int;
+import com.alibaba.json.test.benchmark.entity.Entity100String;
+
+/**
+ * JMH port of Entity100IntEncode, Entity100IntDecode and Entity100StringDecode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class Entity100Benchmark {
+
+    @Param({ "true", "false" })
+    public boolean          asm;
+
+    private Entity100Int    intEntity;
+    private Entity100String stringEntity;
+    private String          intText;
+    private byte[]          intBytes;
+    private String          stringText;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ParserConfig.getGlobalInstance().setAsmEnable(asm);
+        SerializeConfig.getGlobalInstance().setAsmEnable(asm);
+
+        intEntity = new Entity100Int();
+        stringEntity = new Entity100String();
+        intText = JSON.toJSONString(intEntity);
+        intBytes = JSON.toJSONBytes(intEntity);
+        stringText = JSON.toJSONString(stringEntity);
+    }
+
+    @Benchmark
+    public String encode_int() {
+        return JSON.toJSONString(intEntity);
+    }
+
+    @Benchmark
+    public byte[] encode_int_bytes() {
+        return JSON.toJSONBytes(intEntity);
+    }
+
+    @Benchmark
+    public String encode_string() {
+        return JSON.toJSONString(stringEntity);
+    }
+
+    @Benchmark
+    public Entity100Int decode_int() {
+        return JSON.parseObject(intText, Entity100Int.class);
+    }
+
+    @Benchmark
+    public Entity100Int decode_int_bytes() {
+        return JSON.parseObject(intBytes, Entity100Int.class);
+    }
+
+    @Benchmark
+    public Entity100String decode_string() {
+        return JSON.parseObject(stringText, Entity100String.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.alibaba.json.test.benchmark.jmh;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alibaba.fastjson.util.IdentityHashMap;
+
+/**
+ * Concurrent get/put on the codec map, with ConcurrentHashMap as the baseline. Run it with different thread counts to
+ * see the scaling, e.g. <code>IdentityHashMap -t 1</code>, <code>-t 4</code>, <code>-t 16</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class IdentityHashMapBenchmark {
+
+    @Param({ "1000", "50000" })
+    public int                              keyCount;
+
+    private Object[]                        keys;
+    private IdentityHashMap<Object, Object> identityMap;
+    private Map<Object, Object>             concurrentMap;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        keys = new Object[keyCount];
+        identityMap = new IdentityHashMap<Object, Object>();
+        concurrentMap = new ConcurrentHashMap<Object, Object>();
+        for (int i = 0; i < keyCount; ++i) {
+            Object key = keys[i] = new Object();
+            identityMap.put(key, key);
+            concurrentMap.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Object identity_get() {
+        return identityMap.get(keys[ThreadLocalRandom.current().nextInt(keyCount)]);
+    }
+
+    @Benchmark
+    public Object concurrent_get() {
+        return concurrentMap.get(keys[ThreadLocalRandom.current().nextInt(keyCount)]);
+    }
+
+    /**
+     * 九成读一成写新key，相当于一直有新类型注册codec
+     */
+    @Benchmark
+    public Object identity_mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            Object key = new Object();
+            identityMap.put(key, key);
+            return key;
+        }
+        return identityMap.get(keys[random.nextInt(keyCount)]);
+    }
+
+    @Benchmark
+    public Object concurrent_mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            Object key = new Object();
+            concurrentMap.put(key, key);
+            return key;
+        }
+        return concurrentMap.get(keys[random.nextInt(keyCount)]);
+    }
+}